@@ -0,0 +1,28 @@
+package com.financetracker;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+
+// The whole application in the benchmark's fork, for benchmarks that measure a request end to end. It runs on the
+// test configuration against its own in-memory database; requests go through MockMvc with the security filters.
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String database) {
+        // Command-line arguments, so they win over the shared test application.properties
+        return new SpringApplicationBuilder(FinanceTrackerApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--server.port=0");
+    }
+
+    public static MockMvc mockMvc(ConfigurableApplicationContext context) {
+        return MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).apply(springSecurity()).build();
+    }
+}
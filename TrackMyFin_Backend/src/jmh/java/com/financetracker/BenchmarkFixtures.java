@@ -0,0 +1,110 @@
+package com.financetracker;
+
+import com.financetracker.entity.Budget;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Synthetic data shared by the benchmarks. Every fixture comes from a fixed seed, so two runs (or two versions of
+// the code) measure the same rows. Dates are relative to now because the dashboard code buckets by the current date.
+public final class BenchmarkFixtures {
+
+    public static final long SEED = 42;
+
+    private static final String[] EXPENSE_CATEGORIES = {
+            "Food", "Transportation", "Shopping", "Entertainment", "Bills", "Healthcare", "Travel", "Education"};
+    private static final String[] INCOME_CATEGORIES = {"Salary", "Freelance", "Investment", "Business"};
+    private static final String[] DESCRIPTIONS = {
+            "Groceries", "Coffee", "Monthly rent", "Electricity bill", "Taxi", "Cinema", "Pharmacy", "Flight",
+            "Online course", "Payroll", "Consulting invoice", "Dividend"};
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("benchmark@example.com");
+        user.setPassword("secret");
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        return user;
+    }
+
+    public static List<Category> categories() {
+        List<Category> categories = new ArrayList<>();
+        long id = 1;
+        for (String name : EXPENSE_CATEGORIES) {
+            categories.add(category(id++, name, Category.CategoryType.EXPENSE));
+        }
+        for (String name : INCOME_CATEGORIES) {
+            categories.add(category(id++, name, Category.CategoryType.INCOME));
+        }
+        return categories;
+    }
+
+    // Three in four rows are expenses; one in ten is uncategorized; dates fall within the last year
+    public static List<Transaction> transactions(int count) {
+        Random random = new Random(SEED);
+        User user = user();
+        List<Category> categories = categories();
+        List<Category> expenseCategories = categories.subList(0, EXPENSE_CATEGORIES.length);
+        List<Category> incomeCategories = categories.subList(EXPENSE_CATEGORIES.length, categories.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean expense = random.nextInt(4) != 0;
+            List<Category> pool = expense ? expenseCategories : incomeCategories;
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i + 1);
+            transaction.setUser(user);
+            transaction.setType(expense ? Transaction.TransactionType.EXPENSE : Transaction.TransactionType.INCOME);
+            transaction.setAmount(BigDecimal.valueOf(100 + random.nextInt(500_000), 2));
+            transaction.setDescription(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)]);
+            transaction.setCategory(random.nextInt(10) == 0 ? null : pool.get(random.nextInt(pool.size())));
+            transaction.setTransactionDate(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+            transaction.setCreatedAt(transaction.getTransactionDate());
+            transaction.setUpdatedAt(transaction.getTransactionDate());
+            transaction.setNotes(random.nextInt(5) == 0 ? "Note " + random.nextInt(100) : null);
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    public static List<Budget> budgets(int count) {
+        Random random = new Random(SEED);
+        LocalDate start = LocalDate.now().withDayOfMonth(1);
+        List<Budget> budgets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Budget budget = new Budget();
+            budget.setId((long) i + 1);
+            budget.setName("Budget " + i);
+            // Every tenth budget has a zero amount to cover the early return
+            budget.setAmount(i % 10 == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(10_000 + random.nextInt(500_000), 2));
+            budget.setSpentAmount(BigDecimal.valueOf(random.nextInt(600_000), 2));
+            budget.setPeriod(Budget.BudgetPeriod.MONTHLY);
+            budget.setStartDate(start);
+            budget.setEndDate(start.plusMonths(1).minusDays(1));
+            budgets.add(budget);
+        }
+        return budgets;
+    }
+
+    private static Category category(long id, String name, Category.CategoryType type) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        category.setColor("#000000");
+        category.setIcon("x");
+        category.setType(type);
+        category.setDefault(true);
+        return category;
+    }
+}
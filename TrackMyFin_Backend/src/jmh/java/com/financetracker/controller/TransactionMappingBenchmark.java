@@ -0,0 +1,70 @@
+package com.financetracker.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.BenchmarkFixtures;
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.dto.TransactionDTO;
+import com.financetracker.entity.Transaction;
+import com.financetracker.repository.CategoryRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// What GET /api/transactions does after the query: entity to DTO, then the DTO list to JSON
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionMappingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int transactionCount;
+
+    private TransactionController controller;
+    private ObjectMapper objectMapper;
+    private List<Transaction> transactions;
+    private List<TransactionDTO> dtos;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot configures
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        when(categoryRepository.findAll()).thenReturn(BenchmarkFixtures.categories());
+        CategoryCache categoryCache = new CategoryCache(categoryRepository, objectMapper);
+        controller = new TransactionController(null, null, objectMapper, categoryCache);
+        transactions = BenchmarkFixtures.transactions(transactionCount);
+        dtos = mapAll();
+    }
+
+    @Benchmark
+    public List<TransactionDTO> mapToDTO() {
+        return mapAll();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(mapAll());
+    }
+
+    private List<TransactionDTO> mapAll() {
+        List<TransactionDTO> mapped = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            mapped.add(controller.mapToDTO(transaction));
+        }
+        return mapped;
+    }
+}
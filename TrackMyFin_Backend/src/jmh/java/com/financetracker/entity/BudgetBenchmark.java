@@ -0,0 +1,36 @@
+package com.financetracker.entity;
+
+import com.financetracker.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// getSpentPercentage runs once per budget on every budget listing
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BudgetBenchmark {
+
+    private static final int BUDGETS = 1024;
+
+    private List<Budget> budgets;
+
+    @Setup
+    public void setUp() {
+        budgets = BenchmarkFixtures.budgets(BUDGETS);
+    }
+
+    // Reported per budget
+    @Benchmark
+    @OperationsPerInvocation(BUDGETS)
+    public void getSpentPercentage(Blackhole blackhole) {
+        for (Budget budget : budgets) {
+            blackhole.consume(budget.getSpentPercentage());
+        }
+    }
+}
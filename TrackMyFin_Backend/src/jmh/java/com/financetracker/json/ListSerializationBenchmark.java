@@ -0,0 +1,142 @@
+package com.financetracker.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financetracker.BenchmarkFixtures;
+import com.financetracker.dto.SalaryResponse;
+import com.financetracker.dto.TransactionDTO;
+import com.financetracker.entity.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Writing a 50k-row GET /api/transactions or /api/salaries body: reflective Jackson against the hand-written
+// serializers, the compact CBOR form sent for Accept: application/cbor, and what gzip adds on top. Payload sizes are
+// printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ListSerializationBenchmark {
+
+    @Param({"50000"})
+    private int rows;
+
+    private ObjectMapper reflective;
+    private ObjectMapper handWritten;
+    private List<TransactionDTO> transactions;
+    private List<SalaryResponse> salaries;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Spring Boot's defaults, with and without the serializers it picks up from ResponseSerializers
+        reflective = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        handWritten = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializers(new ResponseSerializers.TransactionSerializer(), new ResponseSerializers.SalarySerializer())
+                .build();
+
+        transactions = new ArrayList<>(rows);
+        salaries = new ArrayList<>(rows);
+        for (Transaction transaction : BenchmarkFixtures.transactions(rows)) {
+            TransactionDTO dto = new TransactionDTO();
+            dto.setId(transaction.getId());
+            dto.setAmount(transaction.getAmount());
+            dto.setDescription(transaction.getDescription());
+            dto.setNotes(transaction.getNotes());
+            dto.setTransactionDate(transaction.getTransactionDate());
+            dto.setType(transaction.getType().name());
+            dto.setCategoryId(transaction.getCategory() != null ? transaction.getCategory().getId() : null);
+            dto.setCategoryName(transaction.getCategory() != null ? transaction.getCategory().getName() : null);
+            dto.setUserId(transaction.getUser().getId());
+            dto.setCreatedAt(transaction.getCreatedAt());
+            dto.setUpdatedAt(transaction.getUpdatedAt());
+            transactions.add(dto);
+            salaries.add(SalaryResponse.builder()
+                    .id(String.valueOf(transaction.getId()))
+                    .amount(transaction.getAmount())
+                    .description(transaction.getDescription())
+                    .date(transaction.getTransactionDate())
+                    .build());
+        }
+
+        byte[] json = handWritten.writeValueAsBytes(transactions);
+        System.out.printf("%n%d transactions: %,d bytes JSON, %,d bytes gzipped; %d salaries: %,d bytes JSON, "
+                        + "%,d bytes gzipped%n", rows, json.length, gzip(json).length, rows,
+                handWritten.writeValueAsBytes(salaries).length, gzip(handWritten.writeValueAsBytes(salaries)).length);
+        byte[] compact = transactionsCompact();
+        System.out.printf("%d transactions: %,d bytes compact, %,d bytes gzipped; %d salaries: %,d bytes compact, "
+                        + "%,d bytes gzipped%n", rows, compact.length, gzip(compact).length, rows,
+                salariesCompact().length, gzip(salariesCompact()).length);
+    }
+
+    @Benchmark
+    public byte[] transactionsReflective() throws IOException {
+        return reflective.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] transactionsHandWritten() throws IOException {
+        return handWritten.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] transactionsHandWrittenGzip() throws IOException {
+        return gzip(handWritten.writeValueAsBytes(transactions));
+    }
+
+    @Benchmark
+    public byte[] transactionsCompact() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CompactListWriter writer = CompactListWriter.transactions(out)) {
+            for (TransactionDTO transaction : transactions) {
+                writer.write(transaction);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] transactionsCompactGzip() throws IOException {
+        return gzip(transactionsCompact());
+    }
+
+    @Benchmark
+    public byte[] salariesReflective() throws IOException {
+        return reflective.writeValueAsBytes(salaries);
+    }
+
+    @Benchmark
+    public byte[] salariesHandWritten() throws IOException {
+        return handWritten.writeValueAsBytes(salaries);
+    }
+
+    @Benchmark
+    public byte[] salariesCompact() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CompactListWriter writer = CompactListWriter.salaries(out)) {
+            for (SalaryResponse salary : salaries) {
+                writer.write(salary);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+}
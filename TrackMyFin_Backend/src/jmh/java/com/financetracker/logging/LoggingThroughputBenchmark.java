@@ -0,0 +1,85 @@
+package com.financetracker.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.financetracker.BenchmarkApplication;
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.support.TestUsers;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Dashboard stats requests (which also log from SalaryService) with the hot-path loggers off, through the async
+// rate-limited pipeline, async without the rate limit, and written synchronously to the console as before. Every
+// setting runs in its own fork, so each starts from the logback configuration the application ships with.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoggingThroughputBenchmark {
+
+    private static final List<String> HOT_LOGGERS = List.of("com.financetracker.service.DashboardService",
+            "com.financetracker.service.SalaryService", "com.financetracker.controller.DashboardController");
+
+    public enum Logging {
+        HOT_PATH_OFF, ASYNC_RATE_LIMITED, ASYNC, SYNCHRONOUS
+    }
+
+    @Param
+    private Logging logging;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private User user;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start("logging-benchmark");
+        mockMvc = BenchmarkApplication.mockMvc(context);
+        user = TestUsers.newUser(context.getBean(UserRepository.class), "logging-benchmark@example.com");
+
+        LoggerContext loggers = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger root = loggers.getLogger(Logger.ROOT_LOGGER_NAME);
+        switch (logging) {
+            case HOT_PATH_OFF -> HOT_LOGGERS.forEach(name -> loggers.getLogger(name).setLevel(Level.OFF));
+            case ASYNC_RATE_LIMITED -> {
+            }
+            case ASYNC -> loggers.getTurboFilterList().removeIf(filter -> filter instanceof RateLimitingTurboFilter);
+            case SYNCHRONOUS -> {
+                loggers.getTurboFilterList().removeIf(filter -> filter instanceof RateLimitingTurboFilter);
+                AsyncAppender async = (AsyncAppender) root.getAppender("ASYNC");
+                Appender<ILoggingEvent> console = async.getAppender("CONSOLE");
+                root.detachAppender(async);
+                root.addAppender(console);
+            }
+        }
+        int status = dashboardStats();
+        if (status != 200) {
+            throw new IllegalStateException("GET /api/dashboard/stats answered " + status);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int dashboardStats() throws Exception {
+        return mockMvc.perform(get("/api/dashboard/stats").with(user(user))).andReturn().getResponse().getStatus();
+    }
+}
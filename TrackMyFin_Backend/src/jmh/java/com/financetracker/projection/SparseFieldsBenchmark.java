@@ -0,0 +1,98 @@
+package com.financetracker.projection;
+
+import com.financetracker.BenchmarkApplication;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.support.TestUsers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// GET /api/transactions for a 20,000-row account, the full TransactionDTO against the fields the UI table shows.
+// Payload sizes are printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SparseFieldsBenchmark {
+
+    private static final int ROWS = 20_000;
+    private static final String TABLE_FIELDS = "id,transactionDate,amount,type,categoryName";
+
+    public enum Fields {
+        ALL, TABLE
+    }
+
+    @Param
+    private Fields fields;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private MockHttpServletRequestBuilder request;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start("sparse-fields-benchmark");
+        mockMvc = BenchmarkApplication.mockMvc(context);
+        User user = seed();
+        request = get("/api/transactions").with(user(user));
+        if (fields == Fields.TABLE) {
+            request.param("fields", TABLE_FIELDS);
+        }
+        System.out.printf("%n%s: %d rows, %,d bytes%n", fields, ROWS, listTransactions().length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] listTransactions() throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private User seed() {
+        User user = TestUsers.newUser(context.getBean(UserRepository.class), "sparse-bench@example.com");
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Category category = new Category();
+            category.setName("Bench category " + i);
+            category.setColor("#000000");
+            category.setIcon("x");
+            category.setType(Category.CategoryType.EXPENSE);
+            categories.add(categoryRepository.save(category));
+        }
+        List<Transaction> transactions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setAmount(BigDecimal.valueOf(1000 + i * 7L, 2));
+            transaction.setDescription("Card payment " + i + " at a merchant with a realistic description");
+            transaction.setNotes(i % 3 == 0 ? "Split with a friend, reimbursement pending" : null);
+            transaction.setType(i % 10 == 0 ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE);
+            transaction.setCategory(categories.get(i % categories.size()));
+            transaction.setTransactionDate(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(37L * i));
+            transactions.add(transaction);
+        }
+        context.getBean(TransactionRepository.class).saveAll(transactions);
+        return user;
+    }
+}
@@ -0,0 +1,43 @@
+package com.financetracker.service;
+
+import com.financetracker.BenchmarkFixtures;
+import com.financetracker.dto.CategoryExpenseData;
+import com.financetracker.dto.MonthlyData;
+import com.financetracker.entity.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Chart aggregation over a user's transactions, from a typical account up to a million rows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class DashboardChartBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int transactionCount;
+
+    private DashboardService dashboardService;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        // The chart helpers use none of the repositories
+        dashboardService = new DashboardService(null, null, null);
+        transactions = BenchmarkFixtures.transactions(transactionCount);
+    }
+
+    @Benchmark
+    public List<MonthlyData> generateMonthlyData() {
+        return dashboardService.generateMonthlyData(transactions, "12m");
+    }
+
+    @Benchmark
+    public List<CategoryExpenseData> generateCategoryData() {
+        return dashboardService.generateCategoryData(transactions);
+    }
+}
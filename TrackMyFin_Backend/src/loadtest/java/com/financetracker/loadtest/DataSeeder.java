@@ -0,0 +1,454 @@
+package com.financetracker.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bulk-inserts load test users with their transactions and salaries over plain JDBC batches. Every value is drawn
+// from a seeded generator per user, so the same options always produce the same data whatever the thread count.
+// Ids are reserved from the entity sequences first, so a running application keeps allocating past them.
+final class DataSeeder {
+
+    static final String DEFAULT_EMAIL_PREFIX = "loadtest";
+    static final String DEFAULT_PASSWORD = "loadtest123";
+
+    // Matches allocationSize on the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+    private static final double INCOME_SHARE = 0.08;
+    private static final double UNCATEGORIZED_SHARE = 0.03;
+    private static final double NOTES_SHARE = 0.10;
+
+    // Weight among expense rows, median amount and spread of one purchase, keyed by default category name
+    private static final Map<String, Spend> EXPENSES = Map.of(
+            "Food", new Spend(35, 18, 0.7),
+            "Transportation", new Spend(20, 12, 0.6),
+            "Shopping", new Spend(15, 45, 0.9),
+            "Entertainment", new Spend(10, 30, 0.7),
+            "Bills", new Spend(10, 90, 0.4),
+            "Healthcare", new Spend(5, 60, 0.8));
+    private static final Spend OTHER_EXPENSE = new Spend(5, 40, 0.8);
+    private static final Map<String, Spend> INCOMES = Map.of(
+            "Freelance", new Spend(5, 400, 0.7),
+            "Investment", new Spend(3, 120, 1.0),
+            "Business", new Spend(2, 800, 0.8));
+    private static final Spend OTHER_INCOME = new Spend(2, 250, 0.8);
+
+    private static final Map<String, String[]> DESCRIPTIONS = Map.of(
+            "Food", new String[]{"Groceries", "Coffee", "Lunch", "Dinner out", "Bakery", "Food delivery"},
+            "Transportation", new String[]{"Fuel", "Taxi", "Bus pass", "Parking", "Train ticket"},
+            "Shopping", new String[]{"Clothes", "Electronics", "Online order", "Home supplies", "Gift"},
+            "Entertainment", new String[]{"Cinema", "Concert", "Streaming subscription", "Books", "Games"},
+            "Bills", new String[]{"Electricity bill", "Water bill", "Internet", "Phone plan", "Rent"},
+            "Healthcare", new String[]{"Pharmacy", "Doctor visit", "Dentist", "Gym membership"},
+            "Freelance", new String[]{"Consulting invoice", "Design project", "Freelance payment"},
+            "Investment", new String[]{"Dividend", "Interest", "Fund payout"},
+            "Business", new String[]{"Client payment", "Business revenue"});
+    private static final String[] OTHER_DESCRIPTIONS = {"Payment", "Transfer", "Miscellaneous"};
+    private static final String[] NOTES = {"Split with friends", "Reimbursable", "Paid in cash", "Monthly"};
+    private static final String[] FIRST_NAMES = {"Alex", "Sam", "Jordan", "Taylor", "Morgan", "Casey", "Riley"};
+    private static final String[] LAST_NAMES = {"Smith", "Garcia", "Khan", "Nguyen", "Müller", "Rossi", "Sato"};
+
+    private final String jdbcUrl;
+    private final String dbUser;
+    private final String dbPassword;
+    private final int users;
+    private final long transactions;
+    private final int months;
+    private final long seed;
+    private final int threads;
+    private final int batchSize;
+    private final String emailPrefix;
+    private final String password;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong nextProgress = new AtomicLong();
+    private long totalRows;
+    private long started;
+
+    DataSeeder(LoadTestOptions options) {
+        jdbcUrl = withBatchRewrite(options.required("jdbc-url"));
+        dbUser = options.string("db-user", "root");
+        dbPassword = options.string("db-password", "");
+        users = options.integer("users", 1_000);
+        transactions = options.longValue("transactions", 1_000_000);
+        months = options.integer("months", 24);
+        seed = options.longValue("seed", 42);
+        threads = options.integer("seed-threads", 4);
+        batchSize = options.integer("batch-size", 1_000);
+        emailPrefix = options.string("email-prefix", DEFAULT_EMAIL_PREFIX);
+        password = options.string("password", DEFAULT_PASSWORD);
+    }
+
+    void seed() throws Exception {
+        started = System.nanoTime();
+        int[] counts = transactionCounts();
+        long transactionTotal = 0;
+        for (int count : counts) {
+            transactionTotal += count;
+        }
+        long salaryTotal = (long) users * months;
+        totalRows = users + transactionTotal + salaryTotal;
+        System.out.printf("Seeding %,d users, %,d transactions and %,d salaries over %d months%n",
+                users, transactionTotal, salaryTotal, months);
+
+        List<CategoryRef> categories;
+        long userStart;
+        long transactionStart;
+        long salaryStart;
+        try (Connection connection = connect()) {
+            categories = loadCategories(connection);
+            requireNotSeeded(connection);
+            userStart = reserve(connection, "users", users);
+            transactionStart = reserve(connection, "transactions", transactionTotal);
+            salaryStart = reserve(connection, "salaries", salaryTotal);
+            insertUsers(connection, userStart);
+        }
+
+        // Each user's rows take a contiguous id block, so the ids do not depend on which thread inserts them
+        long[] firstTransactionIds = new long[users];
+        long nextId = transactionStart;
+        for (int i = 0; i < users; i++) {
+            firstTransactionIds[i] = nextId;
+            nextId += counts[i];
+        }
+        Generator generator = new Generator(categories);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> slices = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int slice = t;
+                slices.add(pool.submit(() -> {
+                    try (Connection connection = connect()) {
+                        insertSlice(connection, generator, slice, counts, firstTransactionIds, userStart, salaryStart);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> slice : slices) {
+                slice.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Seeded %,d rows in %.1fs (%,.0f rows/s). Log in as %s-0@example.com .. %s-%d@example.com "
+                        + "with password %s%n", totalRows, seconds, totalRows / seconds, emailPrefix, emailPrefix,
+                users - 1, password);
+    }
+
+    private void insertSlice(Connection connection, Generator generator, int slice, int[] counts,
+                             long[] firstTransactionIds, long userStart, long salaryStart) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement transactionInsert = connection.prepareStatement(
+                "INSERT INTO transactions (id, amount, description, type, category_id, user_id, transaction_date, "
+                        + "created_at, updated_at, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement salaryInsert = connection.prepareStatement(
+                     "INSERT INTO salaries (id, amount, description, salary_date, user_id, created_at, updated_at) "
+                             + "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            int pending = 0;
+            for (int index = slice; index < users; index += threads) {
+                Random random = new Random(seed * 1_000_003 + index);
+                long userId = userStart + index;
+                for (int i = 0; i < counts[index]; i++) {
+                    generator.transaction(random, transactionInsert, firstTransactionIds[index] + i, userId);
+                    transactionInsert.addBatch();
+                    if (++pending == batchSize) {
+                        pending = flush(connection, transactionInsert, salaryInsert, pending);
+                    }
+                }
+                long salaryId = salaryStart + (long) index * months;
+                BigDecimal base = generator.salaryBase(random);
+                int payday = 1 + random.nextInt(28);
+                for (int m = months; m >= 1; m--) {
+                    generator.salary(random, salaryInsert, salaryId++, userId, base, payday, m);
+                    salaryInsert.addBatch();
+                    if (++pending == batchSize) {
+                        pending = flush(connection, transactionInsert, salaryInsert, pending);
+                    }
+                }
+            }
+            flush(connection, transactionInsert, salaryInsert, pending);
+        }
+    }
+
+    private int flush(Connection connection, PreparedStatement transactionInsert, PreparedStatement salaryInsert,
+                      int pending) throws SQLException {
+        transactionInsert.executeBatch();
+        salaryInsert.executeBatch();
+        connection.commit();
+        progress(pending);
+        return 0;
+    }
+
+    private void insertUsers(Connection connection, long userStart) throws SQLException {
+        // One hash for everyone: BCrypt is deliberately slow and every user shares the password anyway
+        String hash = new BCryptPasswordEncoder().encode(password);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (id, email, password, first_name, last_name, role, is_enabled, created_at, "
+                        + "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            LocalDateTime createdAt = now.minusMonths(months);
+            for (int i = 0; i < users; i++) {
+                insert.setLong(1, userStart + i);
+                insert.setString(2, emailPrefix + "-" + i + "@example.com");
+                insert.setString(3, hash);
+                insert.setString(4, FIRST_NAMES[i % FIRST_NAMES.length]);
+                insert.setString(5, LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length]);
+                insert.setString(6, "USER");
+                insert.setBoolean(7, true);
+                insert.setObject(8, createdAt);
+                insert.setObject(9, createdAt);
+                insert.addBatch();
+                if ((i + 1) % batchSize == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        progress(users);
+    }
+
+    // Heavy-tailed split of the total: most users have a few hundred rows, a handful have many thousands
+    private int[] transactionCounts() {
+        Random random = new Random(seed);
+        double[] weights = new double[users];
+        double sum = 0;
+        for (int i = 0; i < users; i++) {
+            weights[i] = Math.exp(random.nextGaussian() * 0.9);
+            sum += weights[i];
+        }
+        int[] counts = new int[users];
+        long assigned = 0;
+        for (int i = 0; i < users; i++) {
+            counts[i] = (int) (transactions * weights[i] / sum);
+            assigned += counts[i];
+        }
+        for (int i = 0; assigned < transactions; i = (i + 1) % users, assigned++) {
+            counts[i]++;
+        }
+        return counts;
+    }
+
+    // Reserves count ids past both the highest existing id and every block the application may already hold
+    private long reserve(Connection connection, String table, long count) throws SQLException {
+        String sequence = table + "_seq";
+        connection.setAutoCommit(false);
+        long maxId = queryLong(connection, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+        long start;
+        if (isMySql(connection)) {
+            // Hibernate emulates sequences on MySQL with a single-row table
+            long next = queryLong(connection, "SELECT next_val FROM " + sequence + " FOR UPDATE");
+            start = Math.max(next, maxId + 1);
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE " + sequence + " SET next_val = ?")) {
+                update.setLong(1, start + count + ALLOCATION_SIZE);
+                update.executeUpdate();
+            }
+        } else {
+            long next = queryLong(connection, "SELECT NEXT VALUE FOR " + sequence);
+            start = Math.max(next, maxId + 1);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (start + count + ALLOCATION_SIZE));
+            }
+        }
+        connection.commit();
+        return start;
+    }
+
+    private List<CategoryRef> loadCategories(Connection connection) throws SQLException {
+        List<CategoryRef> categories = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id, name, type FROM categories ORDER BY id")) {
+            while (rows.next()) {
+                categories.add(new CategoryRef(rows.getLong(1), rows.getString(2),
+                        "INCOME".equals(rows.getString(3))));
+            }
+        }
+        if (categories.stream().noneMatch(category -> !category.income())) {
+            throw new IllegalStateException(
+                    "No expense categories found; start the application once so it creates the default categories");
+        }
+        return categories;
+    }
+
+    private void requireNotSeeded(Connection connection) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement("SELECT COUNT(*) FROM users WHERE email LIKE ?")) {
+            query.setString(1, emailPrefix + "-%@example.com");
+            try (ResultSet rows = query.executeQuery()) {
+                rows.next();
+                if (rows.getLong(1) > 0) {
+                    throw new IllegalStateException("Users " + emailPrefix + "-*@example.com already exist; "
+                            + "seed into a fresh database or choose another --email-prefix");
+                }
+            }
+        }
+    }
+
+    private void progress(long rows) {
+        long done = inserted.addAndGet(rows);
+        long step = Math.max(1, totalRows / 20);
+        long next = nextProgress.get();
+        if (done >= next && nextProgress.compareAndSet(next, (done / step + 1) * step)) {
+            double seconds = (System.nanoTime() - started) / 1e9;
+            System.out.printf("  %,d / %,d rows (%.0f%%), %,.0f rows/s%n",
+                    done, totalRows, 100.0 * done / totalRows, done / Math.max(seconds, 1e-3));
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, dbUser, dbPassword);
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    // Without this Connector/J sends a batch as one round trip per row
+    private static String withBatchRewrite(String url) {
+        if (!url.startsWith("jdbc:mysql:") || url.contains("rewriteBatchedStatements")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+    }
+
+    private record CategoryRef(long id, String name, boolean income) {
+    }
+
+    private record Spend(int weight, double median, double sigma) {
+    }
+
+    // Draws rows; holds no per-user state, so one instance serves every thread
+    private final class Generator {
+
+        private final List<CategoryRef> expenseCategories = new ArrayList<>();
+        private final List<CategoryRef> incomeCategories = new ArrayList<>();
+        private final int expenseWeight;
+        private final int incomeWeight;
+
+        Generator(List<CategoryRef> categories) {
+            for (CategoryRef category : categories) {
+                // Salaries get their own rows below
+                if (category.income() && !"Salary".equals(category.name())) {
+                    incomeCategories.add(category);
+                } else if (!category.income()) {
+                    expenseCategories.add(category);
+                }
+            }
+            expenseWeight = expenseCategories.stream().mapToInt(c -> spend(c).weight()).sum();
+            incomeWeight = incomeCategories.stream().mapToInt(c -> spend(c).weight()).sum();
+        }
+
+        void transaction(Random random, PreparedStatement insert, long id, long userId) throws SQLException {
+            boolean income = !incomeCategories.isEmpty() && random.nextDouble() < INCOME_SHARE;
+            CategoryRef category = income
+                    ? pick(random, incomeCategories, incomeWeight)
+                    : pick(random, expenseCategories, expenseWeight);
+            Spend spend = spend(category);
+            String[] descriptions = DESCRIPTIONS.getOrDefault(category.name(), OTHER_DESCRIPTIONS);
+            LocalDateTime date = transactionDate(random);
+
+            insert.setLong(1, id);
+            insert.setBigDecimal(2, amount(random, spend.median(), spend.sigma()));
+            insert.setString(3, descriptions[random.nextInt(descriptions.length)]);
+            insert.setString(4, income ? "INCOME" : "EXPENSE");
+            if (random.nextDouble() < UNCATEGORIZED_SHARE) {
+                insert.setNull(5, Types.BIGINT);
+            } else {
+                insert.setLong(5, category.id());
+            }
+            insert.setLong(6, userId);
+            insert.setObject(7, date);
+            insert.setObject(8, date);
+            insert.setObject(9, date);
+            insert.setString(10, random.nextDouble() < NOTES_SHARE ? NOTES[random.nextInt(NOTES.length)] : null);
+        }
+
+        BigDecimal salaryBase(Random random) {
+            return amount(random, 4_200, 0.45).setScale(-2, RoundingMode.HALF_UP).max(BigDecimal.valueOf(1_000));
+        }
+
+        // A 3% raise every year, a little noise every month (overtime, deductions)
+        void salary(Random random, PreparedStatement insert, long id, long userId, BigDecimal base, int payday,
+                    int monthsAgo) throws SQLException {
+            int raises = (months - monthsAgo) / 12;
+            double factor = Math.pow(1.03, raises) * (1 + random.nextGaussian() * 0.02);
+            LocalDateTime date = now.minusMonths(monthsAgo).withDayOfMonth(payday).withHour(9).withMinute(0);
+            insert.setLong(1, id);
+            insert.setBigDecimal(2, base.multiply(BigDecimal.valueOf(factor)).setScale(2, RoundingMode.HALF_UP));
+            insert.setString(3, "Monthly salary");
+            insert.setObject(4, date);
+            insert.setLong(5, userId);
+            insert.setObject(6, date);
+            insert.setObject(7, date);
+        }
+
+        // Any day in the window, weekends more likely, mostly daytime hours
+        private LocalDateTime transactionDate(Random random) {
+            LocalDateTime from = now.minusMonths(months);
+            long days = ChronoUnit.DAYS.between(from, now);
+            while (true) {
+                LocalDateTime day = from.plusDays(random.nextLong(days + 1)).truncatedTo(ChronoUnit.DAYS);
+                DayOfWeek dayOfWeek = day.getDayOfWeek();
+                boolean weekend = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+                if (!weekend && random.nextDouble() > 0.75) {
+                    continue;
+                }
+                int hour = (int) Math.min(22, Math.max(7, Math.round(13 + random.nextGaussian() * 3.5)));
+                LocalDateTime date = day.withHour(hour).withMinute(random.nextInt(60)).withSecond(random.nextInt(60));
+                if (!date.isAfter(now)) {
+                    return date;
+                }
+            }
+        }
+
+        private BigDecimal amount(Random random, double median, double sigma) {
+            double value = median * Math.exp(random.nextGaussian() * sigma);
+            return BigDecimal.valueOf(Math.max(0.5, value)).setScale(2, RoundingMode.HALF_UP);
+        }
+
+        private CategoryRef pick(Random random, List<CategoryRef> categories, int totalWeight) {
+            int target = random.nextInt(totalWeight);
+            for (CategoryRef category : categories) {
+                target -= spend(category).weight();
+                if (target < 0) {
+                    return category;
+                }
+            }
+            return categories.get(categories.size() - 1);
+        }
+
+        private Spend spend(CategoryRef category) {
+            return category.income()
+                    ? INCOMES.getOrDefault(category.name(), OTHER_INCOME)
+                    : EXPENSES.getOrDefault(category.name(), OTHER_EXPENSE);
+        }
+    }
+}
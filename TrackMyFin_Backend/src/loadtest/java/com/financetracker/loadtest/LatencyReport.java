@@ -0,0 +1,95 @@
+package com.financetracker.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Latency histograms per endpoint (and per UI action), in microseconds up to one hour at three significant digits.
+// Samples that started before the measurement window are dropped, so warmup traffic never shows up in the report.
+final class LatencyReport {
+
+    private static final long HIGHEST_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private volatile long measureFrom = Long.MAX_VALUE;
+    private volatile long measureUntil = Long.MAX_VALUE;
+
+    void startMeasuring(long nanos) {
+        measureFrom = nanos;
+    }
+
+    void stopMeasuring(long nanos) {
+        measureUntil = nanos;
+    }
+
+    void record(String name, long startNanos, long endNanos, boolean ok) {
+        if (startNanos < measureFrom || startNanos >= measureUntil) {
+            return;
+        }
+        Series target = series.computeIfAbsent(name, key -> new Series());
+        long micros = TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos);
+        target.histogram.recordValue(Math.min(Math.max(micros, 0), HIGHEST_MICROS));
+        if (!ok) {
+            target.errors.incrementAndGet();
+        }
+    }
+
+    long totalCount() {
+        return series.entrySet().stream()
+                .filter(entry -> !entry.getKey().startsWith("action "))
+                .mapToLong(entry -> entry.getValue().histogram.getTotalCount())
+                .sum();
+    }
+
+    long totalErrors() {
+        return series.entrySet().stream()
+                .filter(entry -> !entry.getKey().startsWith("action "))
+                .mapToLong(entry -> entry.getValue().errors.get())
+                .sum();
+    }
+
+    void print(PrintStream out, double seconds) {
+        out.printf("%-40s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, Series> entry : new TreeMap<>(series).entrySet()) {
+            Histogram histogram = entry.getValue().histogram;
+            out.printf("%-40s %9d %7d %9.1f", entry.getKey(), histogram.getTotalCount(),
+                    entry.getValue().errors.get(), histogram.getTotalCount() / seconds);
+            for (double percentile : PERCENTILES) {
+                out.printf(" %9.1f", histogram.getValueAtPercentile(percentile) / 1000.0);
+            }
+            out.printf(" %9.1f%n", histogram.getMaxValue() / 1000.0);
+        }
+        out.printf("%-40s %9d %7d %9.1f%n", "total (requests)", totalCount(), totalErrors(), totalCount() / seconds);
+    }
+
+    // One .hgrm percentile file per series, in milliseconds, for HdrHistogram's plotter or a plain diff
+    void write(Path directory, double seconds) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            String file = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(file)))) {
+                entry.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")))) {
+            print(out, seconds);
+        }
+    }
+
+    private static final class Series {
+
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
@@ -0,0 +1,26 @@
+package com.financetracker.loadtest;
+
+// Entry point of the load test, run through the loadtest profile:
+//   mvn test -Ploadtest -Dloadtest.args="seed --jdbc-url=jdbc:mysql://localhost:3306/financeTrackerDB --db-user=..."
+//   mvn test -Ploadtest -Dloadtest.args="run --base-url=http://localhost:8080 --sessions=300 --duration=5m"
+// "seed" bulk-inserts users, transactions and salaries straight into the database of a stopped or running
+// application; "run" replays the UI's traffic against the running application and reports latencies.
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        switch (options.command()) {
+            case "seed" -> new DataSeeder(options).seed();
+            case "run" -> new TrafficGenerator(options).run();
+            case "all" -> {
+                new DataSeeder(options).seed();
+                new TrafficGenerator(options).run();
+            }
+            default -> throw new IllegalArgumentException(
+                    "Unknown command " + options.command() + "; expected seed, run or all");
+        }
+    }
+}
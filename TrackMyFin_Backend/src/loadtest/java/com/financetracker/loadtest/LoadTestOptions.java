@@ -0,0 +1,95 @@
+package com.financetracker.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Command line of the load test: a command followed by --name=value options
+final class LoadTestOptions {
+
+    private final String command;
+    private final Map<String, String> values = new HashMap<>();
+
+    private LoadTestOptions(String command) {
+        this.command = command;
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        String command = null;
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--")) {
+                if (command != null) {
+                    throw new IllegalArgumentException("Unexpected argument: " + arg);
+                }
+                command = arg;
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        LoadTestOptions options = new LoadTestOptions(command == null ? "run" : command);
+        options.values.putAll(values);
+        return options;
+    }
+
+    String command() {
+        return command;
+    }
+
+    String string(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    String required(String name) {
+        String value = values.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing required option --" + name);
+        }
+        return value;
+    }
+
+    int integer(String name, int defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value.replace("_", ""));
+    }
+
+    long longValue(String name, long defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    double decimal(String name, double defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    boolean has(String name) {
+        return values.containsKey(name);
+    }
+
+    // Accepts ISO-8601 (PT5M) or a number with an s, m or h suffix (90s, 5m)
+    Duration duration(String name, Duration defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration for --" + name + ": " + value);
+        };
+    }
+}
@@ -0,0 +1,430 @@
+package com.financetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Replays the UI's traffic (see TrackMyFin_UI/src/services/apiService.ts and DataContext.tsx) as an open model:
+// UI actions arrive as a Poisson process at a fixed rate whether or not earlier ones have finished, so a slow
+// server builds up a queue instead of slowing the load down. Latency is measured from the moment an action was
+// due, not from when a thread got around to sending it, so queueing in the generator counts too.
+final class TrafficGenerator {
+
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration STATUS_INTERVAL = Duration.ofSeconds(10);
+    private static final String[] CHART_RANGES = {"6m", "12m", "ytd"};
+    private static final int LOGIN_CONCURRENCY = 32;
+    private static final int KNOWN_IDS = 200;
+
+    // A logged-in user's actions, weighted by how often the UI triggers them. REFRESH is DataContext's poll
+    // (health, then dashboard stats, transactions with categories, categories and salaries in parallel).
+    enum Action {
+        REFRESH(85),
+        CHART(4),
+        ADD_TRANSACTION(5),
+        EDIT_TRANSACTION(2),
+        DELETE_TRANSACTION(1),
+        ADD_SALARY(1),
+        LOGIN(2);
+
+        private final int weight;
+
+        Action(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final String baseUrl;
+    private final int sessionCount;
+    private final int users;
+    private final String emailPrefix;
+    private final String password;
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final long seed;
+    private final Duration timeout;
+    private final Path reportDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyReport report = new LatencyReport();
+    private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final List<Long> expenseCategoryIds = new ArrayList<>();
+    private final List<Long> incomeCategoryIds = new ArrayList<>();
+    private HttpClient client;
+
+    TrafficGenerator(LoadTestOptions options) {
+        baseUrl = options.string("base-url", "http://localhost:8080");
+        sessionCount = options.integer("sessions", 300);
+        users = options.integer("users", 1_000);
+        emailPrefix = options.string("email-prefix", DataSeeder.DEFAULT_EMAIL_PREFIX);
+        password = options.string("password", DataSeeder.DEFAULT_PASSWORD);
+        warmup = options.duration("warmup", Duration.ofSeconds(30));
+        duration = options.duration("duration", Duration.ofMinutes(5));
+        maxInFlight = options.integer("max-in-flight", 10_000);
+        seed = options.longValue("seed", 42);
+        timeout = options.duration("request-timeout", Duration.ofSeconds(30));
+        reportDirectory = Path.of(options.string("report-dir", "target/loadtest"));
+        // By default every session refreshes once per poll interval, the rest of the mix scaled around that
+        int totalWeight = 0;
+        for (Action action : Action.values()) {
+            totalWeight += action.weight;
+        }
+        double refreshRate = sessionCount / (double) POLL_INTERVAL.toSeconds();
+        rate = options.has("rate") ? options.decimal("rate", 0) : refreshRate * totalWeight / Action.REFRESH.weight;
+    }
+
+    void run() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(executor)
+                    .build();
+            loadCategories();
+            List<Session> sessions = login(executor);
+            System.out.printf("Replaying UI traffic against %s: %d sessions, %.1f actions/s, warmup %ds, "
+                    + "measuring %ds%n", baseUrl, sessions.size(), rate, warmup.toSeconds(), duration.toSeconds());
+            drive(executor, sessions);
+        }
+        double seconds = duration.toNanos() / 1e9;
+        System.out.println();
+        report.print(System.out, seconds);
+        if (!failures.isEmpty()) {
+            System.out.println("Failures:");
+            new TreeMap<>(failures).forEach((key, count) -> System.out.printf("  %-60s %d%n", key, count.get()));
+        }
+        if (dropped.get() > 0) {
+            System.out.printf("%d actions were dropped because %d were already in flight%n",
+                    dropped.get(), maxInFlight);
+        }
+        report.write(reportDirectory, seconds);
+        System.out.println("Histograms written to " + reportDirectory.toAbsolutePath());
+    }
+
+    private void drive(ExecutorService executor, List<Session> sessions) {
+        Random random = new Random(seed);
+        int totalWeight = 0;
+        for (Action action : Action.values()) {
+            totalWeight += action.weight;
+        }
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        report.startMeasuring(measureFrom);
+        report.stopMeasuring(end);
+
+        long next = start;
+        long nextStatus = start + STATUS_INTERVAL.toNanos();
+        long lastCompleted = 0;
+        while (next < end) {
+            long now;
+            while ((now = System.nanoTime()) < next) {
+                LockSupport.parkNanos(next - now);
+            }
+            if (now >= nextStatus) {
+                long done = completed.get();
+                System.out.printf("  %4ds %s: %.0f req/s, %d in flight, %d failed%n",
+                        (now - start) / 1_000_000_000, now < measureFrom ? "warmup" : "measuring",
+                        (done - lastCompleted) / (double) STATUS_INTERVAL.toSeconds(), inFlight.get(), failed.get());
+                lastCompleted = done;
+                nextStatus += STATUS_INTERVAL.toNanos();
+            }
+
+            Action action = pick(random, totalWeight);
+            Session session = sessions.get(random.nextInt(sessions.size()));
+            long due = next;
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                dropped.incrementAndGet();
+            } else {
+                executor.submit(() -> {
+                    try {
+                        session.perform(action, due);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+            next += (long) (-Math.log(1 - random.nextDouble()) / rate * 1e9);
+        }
+    }
+
+    private Action pick(Random random, int totalWeight) {
+        int target = random.nextInt(totalWeight);
+        for (Action action : Action.values()) {
+            target -= action.weight;
+            if (target < 0) {
+                return action;
+            }
+        }
+        return Action.REFRESH;
+    }
+
+    private void loadCategories() throws Exception {
+        HttpResponse<String> response = client.send(request("/api/categories", null).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/categories answered " + response.statusCode()
+                    + "; is the application running at " + baseUrl + "?");
+        }
+        for (JsonNode category : objectMapper.readTree(response.body())) {
+            ("INCOME".equals(category.path("type").asText()) ? incomeCategoryIds : expenseCategoryIds)
+                    .add(category.path("id").asLong());
+        }
+        if (expenseCategoryIds.isEmpty() || incomeCategoryIds.isEmpty()) {
+            throw new IllegalStateException("The application has no default categories yet");
+        }
+    }
+
+    // Logs every session in before the clock starts; these logins are not part of the report
+    private List<Session> login(ExecutorService executor) throws Exception {
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < sessionCount; i++) {
+            sessions.add(new Session(emailPrefix + "-" + (i % users) + "@example.com"));
+        }
+        Semaphore permits = new Semaphore(LOGIN_CONCURRENCY);
+        List<CompletableFuture<Boolean>> logins = new ArrayList<>();
+        for (Session session : sessions) {
+            permits.acquire();
+            logins.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return session.login(System.nanoTime());
+                } finally {
+                    permits.release();
+                }
+            }, executor));
+        }
+        long failedLogins = logins.stream().filter(login -> !login.join()).count();
+        if (failedLogins > 0) {
+            throw new IllegalStateException(failedLogins + " of " + sessions.size() + " sessions could not log in; "
+                    + "seed the users first or pass the same --users, --email-prefix and --password as the seed");
+        }
+        return sessions;
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private record Result(boolean ok, String body) {
+    }
+
+    // One logged-in user, as the browser would hold it: a token and the transactions it last saw
+    private final class Session {
+
+        private final String email;
+        private final List<Long> transactionIds = new ArrayList<>();
+        private final Set<Long> deletedIds = new HashSet<>();
+        private volatile String token;
+
+        Session(String email) {
+            this.email = email;
+        }
+
+        void perform(Action action, long due) {
+            boolean ok = switch (action) {
+                case REFRESH -> refresh(due);
+                case CHART -> chart(due);
+                case ADD_TRANSACTION -> addTransaction(due);
+                case EDIT_TRANSACTION -> editTransaction(due);
+                case DELETE_TRANSACTION -> deleteTransaction(due);
+                case ADD_SALARY -> addSalary(due);
+                case LOGIN -> login(due);
+            };
+            report.record("action " + action.name().toLowerCase(), due, System.nanoTime(), ok);
+        }
+
+        boolean login(long due) {
+            Result result = send("POST /api/auth/login", request("/api/auth/login", null)
+                    .POST(json(Map.of("email", email, "password", password))), due).join();
+            if (!result.ok()) {
+                return false;
+            }
+            token = read(result.body()).path("token").asText();
+            return true;
+        }
+
+        // The health check first, then the four refreshes of DataContext.refreshData in parallel; loading
+        // transactions also fetches categories, so the UI asks for them twice
+        private boolean refresh(long due) {
+            boolean ok = send("GET /api/health", request("/api/health", null).GET(), due).join().ok();
+            long dispatched = System.nanoTime();
+            CompletableFuture<Result> stats = send("GET /api/dashboard/stats",
+                    request("/api/dashboard/stats", token).GET(), dispatched);
+            CompletableFuture<Result> transactions = send("GET /api/transactions",
+                    request("/api/transactions", token).GET(), dispatched);
+            CompletableFuture<Result> categoriesForTransactions = send("GET /api/categories",
+                    request("/api/categories", null).GET(), dispatched);
+            CompletableFuture<Result> categories = send("GET /api/categories",
+                    request("/api/categories", null).GET(), dispatched);
+            CompletableFuture<Result> salaries = send("GET /api/salaries",
+                    request("/api/salaries", token).GET(), dispatched);
+            ok &= stats.join().ok() & categoriesForTransactions.join().ok() & categories.join().ok()
+                    & salaries.join().ok();
+            Result loaded = transactions.join();
+            if (loaded.ok()) {
+                remember(read(loaded.body()));
+            }
+            return ok && loaded.ok();
+        }
+
+        private boolean chart(long due) {
+            String range = CHART_RANGES[ThreadLocalRandom.current().nextInt(CHART_RANGES.length)];
+            return send("GET /api/dashboard/expenses-chart",
+                    request("/api/dashboard/expenses-chart?range=" + range, token).GET(), due).join().ok();
+        }
+
+        private boolean addTransaction(long due) {
+            Result result = send("POST /api/transactions",
+                    request("/api/transactions", token).POST(json(transactionBody())), due).join();
+            if (result.ok()) {
+                long id = read(result.body()).path("id").asLong();
+                synchronized (this) {
+                    transactionIds.add(id);
+                }
+            }
+            return result.ok();
+        }
+
+        private boolean editTransaction(long due) {
+            Long id = pickTransaction(false);
+            if (id == null) {
+                return addTransaction(due);
+            }
+            return send("PUT /api/transactions/{id}",
+                    request("/api/transactions/" + id, token).PUT(json(transactionBody())), due).join().ok();
+        }
+
+        private boolean deleteTransaction(long due) {
+            Long id = pickTransaction(true);
+            if (id == null) {
+                return addTransaction(due);
+            }
+            return send("DELETE /api/transactions/{id}",
+                    request("/api/transactions/" + id, token).DELETE(), due).join().ok();
+        }
+
+        private boolean addSalary(long due) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Map<String, Object> body = Map.of(
+                    "amount", 3_000 + random.nextInt(3_000),
+                    "description", "Monthly salary",
+                    "date", LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).toString());
+            return send("POST /api/salaries", request("/api/salaries", token).POST(json(body)), due).join().ok();
+        }
+
+        // Shaped like the form in the Transactions page: a date without a time and no notes
+        private Map<String, Object> transactionBody() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            boolean income = random.nextInt(10) == 0;
+            List<Long> categories = income ? incomeCategoryIds : expenseCategoryIds;
+            Map<String, Object> body = new HashMap<>();
+            body.put("description", income ? "Side income" : "Load test purchase");
+            body.put("amount", Math.round((income ? 200 : 5) * Math.exp(random.nextGaussian() * 0.7) * 100) / 100.0);
+            body.put("type", income ? "INCOME" : "EXPENSE");
+            body.put("categoryId", categories.get(random.nextInt(categories.size())));
+            body.put("transactionDate", LocalDate.now().minusDays(random.nextInt(30)) + "T00:00:00");
+            body.put("notes", null);
+            return body;
+        }
+
+        private synchronized void remember(JsonNode transactions) {
+            transactionIds.clear();
+            for (JsonNode transaction : transactions) {
+                long id = transaction.path("id").asLong();
+                if (!deletedIds.contains(id)) {
+                    transactionIds.add(id);
+                }
+                if (transactionIds.size() == KNOWN_IDS) {
+                    break;
+                }
+            }
+        }
+
+        private synchronized Long pickTransaction(boolean remove) {
+            if (transactionIds.isEmpty()) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(transactionIds.size());
+            if (!remove) {
+                return transactionIds.get(index);
+            }
+            Long id = transactionIds.remove(index);
+            deletedIds.add(id);
+            return id;
+        }
+    }
+
+    private CompletableFuture<Result> send(String endpoint, HttpRequest.Builder request, long startNanos) {
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    long end = System.nanoTime();
+                    boolean ok = error == null && response.statusCode() / 100 == 2;
+                    completed.incrementAndGet();
+                    if (!ok) {
+                        failed.incrementAndGet();
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        String reason = cause != null ? cause.getClass().getSimpleName() : "HTTP " + response.statusCode();
+                        failures.computeIfAbsent(endpoint + " -> " + reason, key -> new AtomicLong()).incrementAndGet();
+                    }
+                    report.record(endpoint, startNanos, end, ok);
+                    return new Result(ok, ok ? response.body() : null);
+                });
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode read(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable response: " + e.getMessage(), e);
+        }
+    }
+}
@@ -2,10 +2,16 @@ package com.financetracker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaRepositories
+@EnableAsync
+@EnableScheduling
+@PropertySource("classpath:financetracker-defaults.properties")
 public class FinanceTrackerApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,281 @@
+package com.financetracker.archive;
+
+import com.financetracker.entity.Transaction;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Column-oriented encoding of a batch of transactions. Rows are sorted by date and written one column at a time:
+// dates as deltas from the previous row, amounts as zig-zag varints of the unscaled value at one shared scale,
+// and all strings (descriptions, notes, category names, occurrence keys) through a single dictionary, so a
+// month of "Coffee" rows costs a byte or two per row instead of a full database row plus its index entries.
+public final class ArchiveSegmentCodec {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int NANOS_PER_MICRO = 1_000;
+
+    private ArchiveSegmentCodec() {
+    }
+
+    public static byte[] encode(List<ArchivedTransaction> transactions) {
+        List<ArchivedTransaction> rows = new ArrayList<>(transactions);
+        rows.sort(Comparator.comparing(ArchivedTransaction::transactionDate).thenComparing(ArchivedTransaction::id));
+
+        Dictionary strings = new Dictionary();
+        Map<CategoryKey, Integer> categoryIndex = new HashMap<>();
+        List<CategoryKey> categories = new ArrayList<>();
+        int scale = 0;
+        for (ArchivedTransaction row : rows) {
+            scale = Math.max(scale, Math.max(0, row.amount().stripTrailingZeros().scale()));
+            strings.add(row.description());
+            strings.add(row.notes());
+            strings.add(row.occurrenceKey());
+            if (row.categoryId() != null || row.categoryName() != null) {
+                CategoryKey key = new CategoryKey(row.categoryId(), row.categoryName());
+                if (categoryIndex.putIfAbsent(key, categories.size()) == null) {
+                    categories.add(key);
+                    strings.add(row.categoryName());
+                }
+            }
+        }
+
+        Writer out = new Writer();
+        out.varint(FORMAT_VERSION);
+        out.varint(rows.size());
+        out.varint(scale);
+
+        out.varint(strings.values.size());
+        for (String value : strings.values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.varint(bytes.length);
+            out.bytes(bytes);
+        }
+        out.varint(categories.size());
+        for (CategoryKey category : categories) {
+            out.varint(category.id() == null ? 0 : category.id() + 1);
+            out.varint(strings.ref(category.name()));
+        }
+
+        long previousId = 0;
+        for (ArchivedTransaction row : rows) {
+            out.signed(row.id() - previousId);
+            previousId = row.id();
+        }
+        long previousSecond = 0;
+        for (ArchivedTransaction row : rows) {
+            long second = row.transactionDate().toEpochSecond(ZoneOffset.UTC);
+            out.signed(second - previousSecond);
+            out.varint(row.transactionDate().getNano() / NANOS_PER_MICRO);
+            previousSecond = second;
+        }
+        for (ArchivedTransaction row : rows) {
+            out.timestamp(row.createdAt(), row.transactionDate());
+            out.timestamp(row.updatedAt(), row.createdAt() != null ? row.createdAt() : row.transactionDate());
+        }
+        for (ArchivedTransaction row : rows) {
+            BigInteger unscaled = row.amount().setScale(scale).unscaledValue();
+            if (unscaled.bitLength() > 62) {
+                throw new IllegalArgumentException("Amount too large to archive: " + row.amount());
+            }
+            out.signed(unscaled.longValue());
+        }
+        byte[] types = new byte[(rows.size() + 7) / 8];
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).type() == Transaction.TransactionType.EXPENSE) {
+                types[i / 8] |= (byte) (1 << (i % 8));
+            }
+        }
+        out.bytes(types);
+        for (ArchivedTransaction row : rows) {
+            out.varint(row.categoryId() == null && row.categoryName() == null
+                    ? 0 : categoryIndex.get(new CategoryKey(row.categoryId(), row.categoryName())) + 1);
+            out.varint(strings.ref(row.description()));
+            out.varint(strings.ref(row.notes()));
+            out.varint(strings.ref(row.occurrenceKey()));
+        }
+        return out.toByteArray();
+    }
+
+    public static List<ArchivedTransaction> decode(byte[] data) {
+        Reader in = new Reader(data);
+        int version = in.varintInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported archive segment format " + version);
+        }
+        int rowCount = in.varintInt();
+        int scale = in.varintInt();
+
+        String[] strings = new String[in.varintInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.string(in.varintInt());
+        }
+        CategoryKey[] categories = new CategoryKey[in.varintInt()];
+        for (int i = 0; i < categories.length; i++) {
+            long id = in.varint();
+            categories[i] = new CategoryKey(id == 0 ? null : id - 1, lookup(strings, in.varintInt()));
+        }
+
+        long[] ids = new long[rowCount];
+        long previousId = 0;
+        for (int i = 0; i < rowCount; i++) {
+            previousId += in.signed();
+            ids[i] = previousId;
+        }
+        LocalDateTime[] dates = new LocalDateTime[rowCount];
+        long previousSecond = 0;
+        for (int i = 0; i < rowCount; i++) {
+            previousSecond += in.signed();
+            dates[i] = LocalDateTime.ofEpochSecond(previousSecond, in.varintInt() * NANOS_PER_MICRO, ZoneOffset.UTC);
+        }
+        LocalDateTime[] created = new LocalDateTime[rowCount];
+        LocalDateTime[] updated = new LocalDateTime[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            created[i] = in.timestamp(dates[i]);
+            updated[i] = in.timestamp(created[i] != null ? created[i] : dates[i]);
+        }
+        BigDecimal[] amounts = new BigDecimal[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            amounts[i] = BigDecimal.valueOf(in.signed(), scale);
+        }
+        byte[] types = in.bytes((rowCount + 7) / 8);
+
+        List<ArchivedTransaction> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            int categoryRef = in.varintInt();
+            CategoryKey category = categoryRef == 0 ? null : categories[categoryRef - 1];
+            String description = lookup(strings, in.varintInt());
+            String notes = lookup(strings, in.varintInt());
+            String occurrenceKey = lookup(strings, in.varintInt());
+            Transaction.TransactionType type = (types[i / 8] & (1 << (i % 8))) != 0
+                    ? Transaction.TransactionType.EXPENSE : Transaction.TransactionType.INCOME;
+            rows.add(new ArchivedTransaction(ids[i], amounts[i], description, type,
+                    category != null ? category.id() : null, category != null ? category.name() : null,
+                    dates[i], created[i], updated[i], notes, occurrenceKey));
+        }
+        if (in.buffer.hasRemaining()) {
+            throw new IllegalStateException("Archive segment has " + in.buffer.remaining() + " trailing bytes");
+        }
+        return rows;
+    }
+
+    private static String lookup(String[] strings, int ref) {
+        return ref == 0 ? null : strings[ref - 1];
+    }
+
+    private record CategoryKey(Long id, String name) {
+    }
+
+    // Distinct strings in first-seen order; reference 0 stands for null
+    private static final class Dictionary {
+
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        void add(String value) {
+            if (value != null && !refs.containsKey(value)) {
+                values.add(value);
+                refs.put(value, values.size());
+            }
+        }
+
+        int ref(String value) {
+            return value == null ? 0 : Objects.requireNonNull(refs.get(value));
+        }
+    }
+
+    private static final class Writer {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        void signed(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        // Micros of second plus one (zero marks null), then whole seconds relative to the reference
+        void timestamp(LocalDateTime value, LocalDateTime reference) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            varint(value.getNano() / NANOS_PER_MICRO + 1);
+            signed(value.toEpochSecond(ZoneOffset.UTC) - reference.toEpochSecond(ZoneOffset.UTC));
+        }
+
+        void bytes(byte[] bytes) {
+            out.writeBytes(bytes);
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+
+    private static final class Reader {
+
+        private final ByteBuffer buffer;
+
+        Reader(byte[] data) {
+            buffer = ByteBuffer.wrap(data);
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint in archive segment");
+        }
+
+        int varintInt() {
+            return Math.toIntExact(varint());
+        }
+
+        long signed() {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        LocalDateTime timestamp(LocalDateTime reference) {
+            int micros = varintInt();
+            if (micros == 0) {
+                return null;
+            }
+            long second = reference.toEpochSecond(ZoneOffset.UTC) + signed();
+            return LocalDateTime.ofEpochSecond(second, (micros - 1) * NANOS_PER_MICRO, ZoneOffset.UTC);
+        }
+
+        String string(int length) {
+            return new String(bytes(length), StandardCharsets.UTF_8);
+        }
+
+        byte[] bytes(int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.financetracker.archive;
+
+import com.financetracker.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One transaction row as stored in an archive segment. The category name is kept next to its id so rows still
+// render after the category has been deleted or merged away.
+public record ArchivedTransaction(Long id,
+                                  BigDecimal amount,
+                                  String description,
+                                  Transaction.TransactionType type,
+                                  Long categoryId,
+                                  String categoryName,
+                                  LocalDateTime transactionDate,
+                                  LocalDateTime createdAt,
+                                  LocalDateTime updatedAt,
+                                  String notes,
+                                  String occurrenceKey) {
+}
@@ -0,0 +1,354 @@
+package com.financetracker.archive;
+
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.MonthlySummary;
+import com.financetracker.entity.SyncTombstone;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.TransactionArchiveSegment;
+import com.financetracker.entity.User;
+import com.financetracker.repository.InChunks;
+import com.financetracker.repository.MonthlySummaryRepository;
+import com.financetracker.repository.TransactionArchiveSegmentRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.SchedulerLockService;
+import com.financetracker.sync.SyncService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+
+// Moves transactions older than the archive horizon out of the transactions table into one compact segment per
+// user and month, and leaves a MonthlySummary per month and type so all-time and per-month sums stay exact.
+// Archived rows are read-only; they come back through the history stream and date-range listings.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionArchiveService {
+
+    static final String LOCK_NAME = "transaction-archival";
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchiveSegmentRepository segmentRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final UserRepository userRepository;
+    private final CategoryCache categoryCache;
+    private final SchedulerLockService schedulerLockService;
+    private final SyncService syncService;
+    private final PlatformTransactionManager transactionManager;
+
+    // Whole months older than this are archived
+    @Value("${app.archive.horizon-months:36}")
+    private int horizonMonths;
+
+    @Value("${app.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.archive.lock-lease:PT1H}")
+    private Duration lockLease;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 1 * * *}")
+    public void scheduledArchival() {
+        if (!schedulerLockService.tryLock(LOCK_NAME, lockLease)) {
+            return;
+        }
+        try {
+            int archived = archiveTransactions(LocalDate.now());
+            log.info("Transaction archival finished: {} transactions archived", archived);
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    public LocalDateTime archiveCutoff(LocalDate today) {
+        return YearMonth.from(today).minusMonths(horizonMonths).atDay(1).atStartOfDay();
+    }
+
+    // Every user-month commits on its own, so an interrupted run resumes with whatever is still in the table
+    public int archiveTransactions(LocalDate today) {
+        LocalDateTime cutoff = archiveCutoff(today);
+        int total = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Long> userIds = transactionRepository.findUserIdsWithTransactionsBefore(
+                    cutoff, afterId, PageRequest.of(0, batchSize));
+            if (userIds.isEmpty()) {
+                return total;
+            }
+            for (Long userId : userIds) {
+                total += archiveUser(userId, cutoff);
+            }
+            afterId = userIds.get(userIds.size() - 1);
+        }
+    }
+
+    private int archiveUser(Long userId, LocalDateTime cutoff) {
+        int archived = 0;
+        LocalDateTime oldest;
+        while ((oldest = transactionRepository.findOldestTransactionDateBefore(userId, cutoff)) != null) {
+            YearMonth month = YearMonth.from(oldest);
+            Integer moved = transactionTemplate.execute(status -> archiveMonth(userId, month));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+        }
+        return archived;
+    }
+
+    private int archiveMonth(Long userId, YearMonth month) {
+        // Taken before findForArchival locks the rows, like every other writer; unused if the month is empty
+        long sequence = syncService.nextSequence(userId);
+        List<Transaction> transactions = transactionRepository.findForArchival(
+                userId, month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        User user = userRepository.getReferenceById(userId);
+        LocalDate monthStart = month.atDay(1);
+
+        // Rows dated into a month that was archived earlier are merged into its existing segment
+        TransactionArchiveSegment segment = segmentRepository.findByUserAndMonthStart(user, monthStart)
+                .orElseGet(() -> {
+                    TransactionArchiveSegment created = new TransactionArchiveSegment();
+                    created.setUser(user);
+                    created.setMonthStart(monthStart);
+                    return created;
+                });
+        List<ArchivedTransaction> rows = segment.getData() != null ? new ArrayList<>(decode(segment)) : new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            rows.add(toArchived(transaction));
+        }
+        byte[] data = ArchiveSegmentCodec.encode(rows);
+        segment.setData(data);
+        segment.setRowCount(rows.size());
+        segment.setFormatVersion(ArchiveSegmentCodec.FORMAT_VERSION);
+        segment.setChecksum(checksum(data));
+        segmentRepository.save(segment);
+
+        Map<Transaction.TransactionType, MonthlySummary> summaries = new EnumMap<>(Transaction.TransactionType.class);
+        for (MonthlySummary summary : monthlySummaryRepository.findByUserAndMonthStart(user, monthStart)) {
+            summaries.put(summary.getType(), summary);
+        }
+        for (Transaction transaction : transactions) {
+            MonthlySummary summary = summaries.computeIfAbsent(transaction.getType(), type -> {
+                MonthlySummary created = new MonthlySummary();
+                created.setUser(user);
+                created.setMonthStart(monthStart);
+                created.setType(type);
+                return created;
+            });
+            summary.setTotal(summary.getTotal().add(transaction.getAmount()));
+            summary.setTransactionCount(summary.getTransactionCount() + 1);
+        }
+        monthlySummaryRepository.saveAll(summaries.values());
+
+        List<Long> ids = transactions.stream().map(Transaction::getId).toList();
+        // Archived rows leave the live lists, so clients holding them are told to drop them
+        syncService.recordDeleted(userId, SyncTombstone.EntityType.TRANSACTION, ids, sequence);
+        transactionRepository.flush();
+        InChunks.forEach(ids, transactionRepository::deleteAllByIds);
+        log.debug("Archived {} transactions of user {} for {}", transactions.size(), userId, month);
+        return transactions.size();
+    }
+
+    // Archived rows of the user dated within [startDate, endDate], oldest first; segments are loaded and decoded
+    // one at a time as the stream is consumed
+    public Stream<Transaction> streamArchived(User user, LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            return Stream.empty();
+        }
+        List<Long> segmentIds = segmentRepository.findIdsByUserAndMonthBetween(
+                user, YearMonth.from(startDate).atDay(1), YearMonth.from(endDate).atDay(1));
+        return segmentIds.stream()
+                .flatMap(id -> segmentRepository.findById(id).stream())
+                .flatMap(segment -> decode(segment).stream())
+                .filter(row -> !row.transactionDate().isBefore(startDate) && !row.transactionDate().isAfter(endDate))
+                .map(row -> toTransaction(row, user));
+    }
+
+    // Every archived row of the user, oldest first
+    public Stream<Transaction> streamArchived(User user) {
+        return segmentRepository.findIdsByUser(user).stream()
+                .flatMap(id -> segmentRepository.findById(id).stream())
+                .flatMap(segment -> decode(segment).stream())
+                .map(row -> toTransaction(row, user));
+    }
+
+    // Live and archived rows of the user within [startDate, endDate] as one stream ordered by date
+    public Stream<Transaction> streamHistory(User user, LocalDateTime startDate, LocalDateTime endDate) {
+        List<Transaction> live = new ArrayList<>(transactionRepository
+                .findByUserAndTransactionDateBetweenOrderByTransactionDateDesc(user, startDate, endDate));
+        live.sort(Comparator.comparing(Transaction::getTransactionDate));
+        Iterator<Transaction> merged = new MergingIterator(
+                streamArchived(user, startDate, endDate).iterator(), live.iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false);
+    }
+
+    public BigDecimal getArchivedTotal(User user, Transaction.TransactionType type) {
+        BigDecimal total = monthlySummaryRepository.sumTotalByUserAndType(user, type);
+        return total != null ? total : BigDecimal.ZERO;
+    }
+
+    // Whole months come from the summaries. Summaries cannot be split, so the segments of a first or last month the
+    // range covers only in part are decoded and their rows in range summed; the total then matches the listing.
+    public BigDecimal getArchivedTotal(User user, Transaction.TransactionType type,
+                                       LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            return BigDecimal.ZERO;
+        }
+        YearMonth first = YearMonth.from(startDate);
+        YearMonth last = YearMonth.from(endDate);
+        Set<LocalDate> partialMonths = new HashSet<>();
+        if (startDate.isAfter(first.atDay(1).atStartOfDay())) {
+            partialMonths.add(first.atDay(1));
+            first = first.plusMonths(1);
+        }
+        if (endDate.isBefore(last.atEndOfMonth().atTime(LocalTime.MAX))) {
+            partialMonths.add(last.atDay(1));
+            last = last.minusMonths(1);
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        if (!first.isAfter(last)) {
+            BigDecimal months = monthlySummaryRepository.sumTotalByUserAndTypeAndMonthBetween(
+                    user, type, first.atDay(1), last.atDay(1));
+            if (months != null) {
+                total = total.add(months);
+            }
+        }
+        if (!partialMonths.isEmpty()) {
+            for (TransactionArchiveSegment segment : segmentRepository.findByUserAndMonthStartIn(user, partialMonths)) {
+                for (ArchivedTransaction row : decode(segment)) {
+                    if (row.type() == type && !row.transactionDate().isBefore(startDate)
+                            && !row.transactionDate().isAfter(endDate)) {
+                        total = total.add(row.amount());
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private List<ArchivedTransaction> decode(TransactionArchiveSegment segment) {
+        if (checksum(segment.getData()) != segment.getChecksum()) {
+            throw new IllegalStateException("Archive segment " + segment.getId() + " is corrupt (checksum mismatch)");
+        }
+        return ArchiveSegmentCodec.decode(segment.getData());
+    }
+
+    private static long checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+
+    private ArchivedTransaction toArchived(Transaction transaction) {
+        Long categoryId = transaction.getCategory() != null ? transaction.getCategory().getId() : null;
+        String categoryName = categoryId != null
+                ? categoryCache.findById(categoryId).map(Category::getName)
+                        .orElseGet(() -> transaction.getCategory().getName())
+                : null;
+        return new ArchivedTransaction(transaction.getId(), transaction.getAmount(), transaction.getDescription(),
+                transaction.getType(), categoryId, categoryName, transaction.getTransactionDate(),
+                transaction.getCreatedAt(), transaction.getUpdatedAt(), transaction.getNotes(),
+                transaction.getOccurrenceKey());
+    }
+
+    private Transaction toTransaction(ArchivedTransaction row, User user) {
+        Transaction transaction = new Transaction();
+        transaction.setId(row.id());
+        transaction.setAmount(row.amount());
+        transaction.setDescription(row.description());
+        transaction.setType(row.type());
+        transaction.setUser(user);
+        transaction.setTransactionDate(row.transactionDate());
+        transaction.setCreatedAt(row.createdAt());
+        transaction.setUpdatedAt(row.updatedAt());
+        transaction.setNotes(row.notes());
+        transaction.setOccurrenceKey(row.occurrenceKey());
+        if (row.categoryId() != null || row.categoryName() != null) {
+            // A category deleted or merged away since archiving keeps its archived name
+            Optional<Category> current = row.categoryId() != null
+                    ? categoryCache.findById(row.categoryId()) : Optional.empty();
+            transaction.setCategory(current.orElseGet(() -> {
+                Category category = new Category();
+                category.setName(row.categoryName());
+                return category;
+            }));
+        }
+        return transaction;
+    }
+
+    private static final class MergingIterator implements Iterator<Transaction> {
+
+        private final Iterator<Transaction> first;
+        private final Iterator<Transaction> second;
+        private Transaction nextFirst;
+        private Transaction nextSecond;
+
+        MergingIterator(Iterator<Transaction> first, Iterator<Transaction> second) {
+            this.first = first;
+            this.second = second;
+            nextFirst = first.hasNext() ? first.next() : null;
+            nextSecond = second.hasNext() ? second.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextFirst != null || nextSecond != null;
+        }
+
+        @Override
+        public Transaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Transaction next;
+            if (nextSecond == null || (nextFirst != null
+                    && !nextFirst.getTransactionDate().isAfter(nextSecond.getTransactionDate()))) {
+                next = nextFirst;
+                nextFirst = first.hasNext() ? first.next() : null;
+            } else {
+                next = nextSecond;
+                nextSecond = second.hasNext() ? second.next() : null;
+            }
+            return next;
+        }
+    }
+}
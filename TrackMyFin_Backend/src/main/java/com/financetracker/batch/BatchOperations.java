@@ -0,0 +1,81 @@
+package com.financetracker.batch;
+
+import com.financetracker.controller.BudgetController;
+import com.financetracker.controller.CategoryController;
+import com.financetracker.controller.DashboardController;
+import com.financetracker.controller.SalaryController;
+import com.financetracker.controller.TransactionController;
+import com.financetracker.dto.BatchRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// The read endpoints a batch may call, by path. They go straight to the controller methods, so a sub-request
+// returns exactly what the endpoint would, without another trip through the filter chain.
+@Component
+public class BatchOperations {
+
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+
+    public BatchOperations(DashboardController dashboardController, TransactionController transactionController,
+                           SalaryController salaryController, BudgetController budgetController,
+                           CategoryController categoryController) {
+        operations.put("/api/dashboard/stats", (params, auth) -> dashboardController.getDashboardStats(auth));
+        operations.put("/api/dashboard/expenses-chart", (params, auth) ->
+                dashboardController.getExpenseChart(params.getOrDefault("range", "6m"), auth));
+        operations.put("/api/transactions", (params, auth) -> params.containsKey("fields")
+                ? transactionController.getUserTransactionFields(params.get("fields"), auth)
+                : transactionController.getUserTransactions(auth));
+        operations.put("/api/salaries", (params, auth) -> params.containsKey("fields")
+                ? salaryController.getUserSalaryFields(params.get("fields"), auth)
+                : salaryController.getUserSalaries(auth));
+        operations.put("/api/budgets", (params, auth) -> params.containsKey("fields")
+                ? budgetController.getUserBudgetFields(params.get("fields"), auth)
+                : budgetController.getUserBudgets(auth));
+        operations.put("/api/budgets/status", (params, auth) -> budgetController.getBudgetStatus(auth));
+        operations.put("/api/categories", (params, auth) -> categoryController.getAllCategories());
+    }
+
+    public ResponseEntity<?> dispatch(BatchRequest.Item request, Authentication authentication) {
+        if (request.getMethod() != null && !"GET".equalsIgnoreCase(request.getMethod())) {
+            return error(HttpStatus.METHOD_NOT_ALLOWED, "Only GET requests can be batched");
+        }
+        UriComponents uri = UriComponentsBuilder.fromUriString(request.getPath()).build();
+        Operation operation = operations.get(uri.getPath());
+        if (operation == null) {
+            return error(HttpStatus.NOT_FOUND, "Not batchable: " + uri.getPath() + "; choose from " + operations.keySet());
+        }
+        return operation.handle(decode(uri.getQueryParams()), authentication);
+    }
+
+    private static Map<String, String> decode(MultiValueMap<String, String> query) {
+        Map<String, String> params = new HashMap<>();
+        query.forEach((name, values) -> {
+            String value = values.get(0);
+            params.put(UriUtils.decode(name, StandardCharsets.UTF_8),
+                    value != null ? UriUtils.decode(value, StandardCharsets.UTF_8) : "");
+        });
+        return params;
+    }
+
+    private static ResponseEntity<Map<String, String>> error(HttpStatus status, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.status(status).body(error);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        ResponseEntity<?> handle(Map<String, String> params, Authentication authentication);
+    }
+}
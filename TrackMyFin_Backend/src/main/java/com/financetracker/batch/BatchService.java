@@ -0,0 +1,160 @@
+package com.financetracker.batch;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.financetracker.dto.BatchRequest;
+import com.financetracker.dto.BatchResponse;
+import com.financetracker.exception.GlobalExceptionHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs the sub-requests of a batch for one authenticated caller. A transaction is tied to one connection and one
+// thread, so there are two modes. By default (app.batch.parallelism 1) they run one after another in a single
+// read-only transaction on one connection, like any other request. Above 1 up to that many run at once, each
+// worker holding its own connection; every worker takes a permit from app.batch.max-connections, shared by all
+// batches, so concurrent batches cannot drain the pool, and a batch that gets fewer than two runs sequentially.
+// Either way the JWT was checked and the user loaded once, for the whole batch.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchService {
+
+    private final BatchOperations operations;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.batch.parallelism:1}")
+    private int parallelism;
+
+    // Half the pool unless set
+    @Value("${app.batch.max-connections:#{${spring.datasource.hikari.maximum-pool-size:10} / 2}}")
+    private int maxConnections;
+
+    @Value("${app.batch.max-requests:20}")
+    private int maxRequests;
+
+    private TransactionTemplate readOnly;
+    private Semaphore connections;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    void init() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        connections = new Semaphore(Math.max(0, maxConnections));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public List<BatchResponse.Item> execute(List<BatchRequest.Item> requests, Authentication authentication) {
+        if (requests.size() > maxRequests) {
+            throw new IllegalArgumentException("A batch takes at most " + maxRequests + " requests");
+        }
+        BatchResponse.Item[] results = new BatchResponse.Item[requests.size()];
+        int granted = parallelism > 1 && requests.size() > 1 ? acquire(Math.min(parallelism, requests.size())) : 0;
+        if (granted < 2) {
+            connections.release(granted);
+            readOnly.executeWithoutResult(status -> {
+                for (int i = 0; i < requests.size(); i++) {
+                    results[i] = run(requests.get(i), authentication);
+                }
+                // Nothing to commit; also keeps a failed sub-request from turning the commit into an error
+                status.setRollbackOnly();
+            });
+            return Arrays.asList(results);
+        }
+
+        // Replica routing and the request id both live in thread-bound context, so the workers carry them over
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int w = 0; w < granted; w++) {
+            workers.add(executor.submit(() -> {
+                SecurityContextHolder.setContext(securityContext);
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    for (int i = next.getAndIncrement(); i < requests.size(); i = next.getAndIncrement()) {
+                        BatchRequest.Item request = requests.get(i);
+                        results[i] = readOnly.execute(status -> {
+                            status.setRollbackOnly();
+                            return run(request, authentication);
+                        });
+                    }
+                } finally {
+                    SecurityContextHolder.clearContext();
+                    MDC.clear();
+                }
+            }));
+        }
+        try {
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.forEach(pending -> pending.cancel(true));
+            throw new RuntimeException("Interrupted while running the batch", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Batch worker failed", e.getCause());
+        } finally {
+            connections.release(granted);
+        }
+        return Arrays.asList(results);
+    }
+
+    // Takes up to wanted permits without waiting; a batch never queues behind another one for connections
+    private int acquire(int wanted) {
+        int granted = 0;
+        while (granted < wanted && connections.tryAcquire()) {
+            granted++;
+        }
+        return granted;
+    }
+
+    private BatchResponse.Item run(BatchRequest.Item request, Authentication authentication) {
+        ResponseEntity<?> response;
+        try {
+            response = operations.dispatch(request, authentication);
+        } catch (RuntimeException e) {
+            log.debug("Batch request {} {} failed: {}", request.getId(), request.getPath(), e.getMessage());
+            response = exceptionHandler.handleRuntimeException(e);
+        }
+        return new BatchResponse.Item(request.getId(), response.getStatusCode().value(), body(response.getBody()));
+    }
+
+    // Category lists come pre-serialized; embed them as they are instead of as a base64 string
+    private static Object body(Object body) {
+        if (body instanceof byte[] json) {
+            return new RawValue(new String(json, StandardCharsets.UTF_8));
+        }
+        return body;
+    }
+}
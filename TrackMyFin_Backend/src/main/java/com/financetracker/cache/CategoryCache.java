@@ -0,0 +1,195 @@
+package com.financetracker.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.entity.CacheInvalidation;
+import com.financetracker.entity.Category;
+import com.financetracker.invalidation.EntityChangedEvent;
+import com.financetracker.metrics.CacheStatistics;
+import com.financetracker.repository.CategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Categories are global and tiny, so the whole table is kept in memory as an immutable snapshot.
+// Any write invalidates the snapshot and the next read rebuilds it.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryCache implements MeterBinder {
+
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final CacheStatistics statistics = new CacheStatistics("categories");
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Snapshot loaded = currentSnapshot();
+        log.info("Category cache loaded with {} categories", loaded.all().size());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        statistics.bindTo(registry);
+    }
+
+    public Optional<Category> findById(Long id) {
+        return Optional.ofNullable(currentSnapshot().byId().get(id));
+    }
+
+    public Optional<Category> findByNameAndType(String name, Category.CategoryType type) {
+        return Optional.ofNullable(currentSnapshot().byNameAndType().get(nameKey(name, type)));
+    }
+
+    public List<Category> getAll() {
+        return currentSnapshot().all();
+    }
+
+    public List<Category> getByType(Category.CategoryType type) {
+        return currentSnapshot().byType().getOrDefault(type, List.of());
+    }
+
+    public List<Category> getDefaults() {
+        return currentSnapshot().defaults();
+    }
+
+    public CachedJson getAllJson() {
+        return currentSnapshot().allJson();
+    }
+
+    public CachedJson getByTypeJson(Category.CategoryType type) {
+        return currentSnapshot().byTypeJson().get(type);
+    }
+
+    public CachedJson getDefaultsJson() {
+        return currentSnapshot().defaultsJson();
+    }
+
+    public void invalidate() {
+        evict();
+        // Evict again once the surrounding transaction commits so a concurrent reload cannot pin pre-commit data
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict();
+                }
+            });
+        }
+    }
+
+    // Another instance changed categories; the write is already committed there
+    @EventListener
+    public void onPeerChange(EntityChangedEvent event) {
+        if (event.type() == CacheInvalidation.EntityType.CATEGORY) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            statistics.hit();
+            return current;
+        }
+        statistics.miss();
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            long loadedGeneration = generation.get();
+            Snapshot loaded = load();
+            if (generation.get() == loadedGeneration) {
+                snapshot = loaded;
+            }
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        List<Category> all = categoryRepository.findAll().stream()
+                .sorted(Comparator.comparing(Category::getId))
+                .toList();
+
+        Map<Long, Category> byId = new HashMap<>();
+        Map<String, Category> byNameAndType = new HashMap<>();
+        for (Category category : all) {
+            byId.put(category.getId(), category);
+            byNameAndType.put(nameKey(category.getName(), category.getType()), category);
+        }
+
+        Map<Category.CategoryType, List<Category>> byType = new EnumMap<>(Category.CategoryType.class);
+        Map<Category.CategoryType, CachedJson> byTypeJson = new EnumMap<>(Category.CategoryType.class);
+        for (Category.CategoryType type : Category.CategoryType.values()) {
+            List<Category> ofType = all.stream()
+                    .filter(category -> category.getType() == type)
+                    .sorted(Comparator.comparing(Category::getName))
+                    .toList();
+            byType.put(type, ofType);
+            byTypeJson.put(type, serialize(ofType));
+        }
+
+        List<Category> defaults = all.stream()
+                .filter(Category::isDefault)
+                .sorted(Comparator.comparing(Category::getName))
+                .toList();
+
+        return new Snapshot(all, Map.copyOf(byId), Map.copyOf(byNameAndType), byType, defaults,
+                serialize(all), byTypeJson, serialize(defaults));
+    }
+
+    private CachedJson serialize(List<Category> categories) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(categories);
+            return new CachedJson(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize categories", e);
+        }
+    }
+
+    private static String nameKey(String name, Category.CategoryType type) {
+        return type + ":" + name.toLowerCase();
+    }
+
+    public record CachedJson(byte[] body, String etag) {
+    }
+
+    private record Snapshot(List<Category> all,
+                            Map<Long, Category> byId,
+                            Map<String, Category> byNameAndType,
+                            Map<Category.CategoryType, List<Category>> byType,
+                            List<Category> defaults,
+                            CachedJson allJson,
+                            Map<Category.CategoryType, CachedJson> byTypeJson,
+                            CachedJson defaultsJson) {
+    }
+}
@@ -0,0 +1,390 @@
+package com.financetracker.categorization;
+
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.entity.CacheInvalidation;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.CategoryRule;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.invalidation.EntityChangedEvent;
+import com.financetracker.invalidation.InvalidationBus;
+import com.financetracker.ledger.LedgerService;
+import com.financetracker.metrics.CacheStatistics;
+import com.financetracker.repository.CategoryRuleRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.service.SchedulerLockService;
+import com.financetracker.sync.SyncService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutoCategorizationService implements MeterBinder {
+
+    static final String BACKFILL_LOCK = "category-backfill";
+
+    private static final RuleSet EMPTY = new RuleSet(Map.of());
+
+    private final CategoryRuleRepository categoryRuleRepository;
+    private final TransactionRepository transactionRepository;
+    private final CategoryCache categoryCache;
+    private final SchedulerLockService schedulerLockService;
+    private final LedgerService ledgerService;
+    private final SyncService syncService;
+    private final InvalidationBus invalidationBus;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.categorization.backfill.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.categorization.backfill.lock-lease:PT30M}")
+    private Duration lockLease;
+
+    // Users whose compiled rules are kept; the least recently used are dropped beyond it
+    @Value("${app.categorization.user-rule-sets:10000}")
+    private int maxUserRuleSets;
+
+    // Compiled automata are immutable and replaced wholesale, so matching never sees a half-built rule set.
+    // Every invalidation bumps the generation under the rulesLock, and a rule set is only installed if the
+    // generation has not moved since its rules were read, so a set compiled before an invalidation never sticks.
+    private final Object rulesLock = new Object();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile RuleSet defaultRules;
+    private Map<Long, RuleSet> userRules;
+    private final CacheStatistics ruleStatistics = new CacheStatistics("category-rules");
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        userRules = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RuleSet> eldest) {
+                return size() > maxUserRuleSets;
+            }
+        };
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ruleStatistics.bindTo(registry);
+    }
+
+    public void apply(Transaction transaction) {
+        if (transaction.getCategory() == null) {
+            findCategory(transaction).ifPresent(transaction::setCategory);
+        }
+    }
+
+    public Optional<Category> findCategory(Transaction transaction) {
+        if (transaction.getType() == null) {
+            return Optional.empty();
+        }
+        Long categoryId = null;
+        if (transaction.getUser() != null && transaction.getUser().getId() != null) {
+            categoryId = rulesForUser(transaction.getUser().getId())
+                    .match(transaction.getType(), transaction.getDescription(), transaction.getNotes());
+        }
+        if (categoryId == null) {
+            categoryId = defaultRuleSet()
+                    .match(transaction.getType(), transaction.getDescription(), transaction.getNotes());
+        }
+        return categoryId == null ? Optional.empty() : categoryCache.findById(categoryId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryRule> getRules(User user) {
+        return categoryRuleRepository.findByUserOrderByPriorityDescKeywordAsc(user);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryRule> getDefaultRules() {
+        return categoryRuleRepository.findDefaultRules();
+    }
+
+    @Transactional
+    public CategoryRule createRule(User user, String keyword, Long categoryId, int priority) {
+        Category category = categoryCache.findById(categoryId)
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+        CategoryRule rule = new CategoryRule();
+        rule.setUser(user);
+        rule.setKeyword(keyword.trim().toLowerCase(Locale.ROOT));
+        rule.setCategory(category);
+        rule.setPriority(priority);
+        CategoryRule saved = categoryRuleRepository.save(rule);
+        afterCommit(() -> recompileUser(user.getId()));
+        invalidationBus.publish(CacheInvalidation.EntityType.CATEGORY_RULE, user.getId(), saved.getId());
+        return saved;
+    }
+
+    @Transactional
+    public boolean deleteRule(User user, Long ruleId) {
+        return categoryRuleRepository.findById(ruleId)
+                .filter(rule -> rule.getUser() != null && rule.getUser().getId().equals(user.getId()))
+                .map(rule -> {
+                    categoryRuleRepository.delete(rule);
+                    afterCommit(() -> recompileUser(user.getId()));
+                    invalidationBus.publish(CacheInvalidation.EntityType.CATEGORY_RULE, user.getId(), ruleId);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Transactional
+    public void initializeDefaultRules() {
+        if (categoryRuleRepository.existsByUserIsNull()) {
+            return;
+        }
+        Map<String, List<String>> expenseKeywords = Map.of(
+                "Food", List.of("restaurant", "grocery", "groceries", "cafe", "coffee", "pizza", "swiggy", "zomato"),
+                "Transportation", List.of("uber", "ola", "taxi", "fuel", "petrol", "metro", "parking", "train"),
+                "Shopping", List.of("amazon", "flipkart", "mall", "clothing"),
+                "Entertainment", List.of("netflix", "spotify", "movie", "cinema", "concert"),
+                "Bills", List.of("electricity", "water bill", "internet", "broadband", "rent", "insurance"),
+                "Healthcare", List.of("pharmacy", "hospital", "doctor", "clinic", "medicine"));
+        Map<String, List<String>> incomeKeywords = Map.of(
+                "Salary", List.of("salary", "payroll"),
+                "Freelance", List.of("freelance", "invoice"),
+                "Investment", List.of("dividend", "interest"));
+
+        List<CategoryRule> rules = new ArrayList<>();
+        addDefaultRules(rules, expenseKeywords, Category.CategoryType.EXPENSE);
+        addDefaultRules(rules, incomeKeywords, Category.CategoryType.INCOME);
+        categoryRuleRepository.saveAll(rules);
+        recompileDefaults();
+        invalidationBus.publish(CacheInvalidation.EntityType.CATEGORY_RULE, null, null);
+    }
+
+    private void addDefaultRules(List<CategoryRule> rules, Map<String, List<String>> keywords,
+                                 Category.CategoryType type) {
+        keywords.forEach((categoryName, words) -> categoryCache.findByNameAndType(categoryName, type)
+                .ifPresent(category -> words.forEach(word ->
+                        rules.add(new CategoryRule(null, word, category, null, 0, null, null)))));
+    }
+
+    public void recompileDefaults() {
+        invalidateDefaults();
+        loadDefaults();
+    }
+
+    public void recompileUser(Long userId) {
+        invalidateUser(userId);
+        loadUser(userId);
+    }
+
+    // Used when categories themselves change; user rule sets are rebuilt lazily on next use
+    public void invalidateAll() {
+        synchronized (rulesLock) {
+            generation.incrementAndGet();
+            defaultRules = null;
+            userRules.clear();
+        }
+    }
+
+    // Rules another instance changed; rebuilt lazily like after invalidateAll
+    @EventListener
+    public void onPeerChange(EntityChangedEvent event) {
+        if (event.type() == CacheInvalidation.EntityType.CATEGORY) {
+            invalidateAll();
+        } else if (event.type() == CacheInvalidation.EntityType.CATEGORY_RULE) {
+            if (event.userId() == null) {
+                invalidateDefaults();
+            } else {
+                invalidateUser(event.userId());
+            }
+        }
+    }
+
+    private void invalidateDefaults() {
+        synchronized (rulesLock) {
+            generation.incrementAndGet();
+            defaultRules = null;
+        }
+    }
+
+    private void invalidateUser(Long userId) {
+        synchronized (rulesLock) {
+            generation.incrementAndGet();
+            userRules.remove(userId);
+        }
+    }
+
+    int cachedUserRuleSets() {
+        synchronized (rulesLock) {
+            return userRules.size();
+        }
+    }
+
+    private RuleSet defaultRuleSet() {
+        RuleSet rules = defaultRules;
+        if (rules != null) {
+            ruleStatistics.hit();
+            return rules;
+        }
+        ruleStatistics.miss();
+        return loadDefaults();
+    }
+
+    private RuleSet rulesForUser(Long userId) {
+        RuleSet rules;
+        synchronized (rulesLock) {
+            rules = userRules.get(userId);
+        }
+        if (rules != null) {
+            ruleStatistics.hit();
+            return rules;
+        }
+        ruleStatistics.miss();
+        return loadUser(userId);
+    }
+
+    private RuleSet loadDefaults() {
+        long loadedGeneration = generation.get();
+        RuleSet rules = compile(categoryRuleRepository.findDefaultRules());
+        synchronized (rulesLock) {
+            if (generation.get() == loadedGeneration) {
+                defaultRules = rules;
+            }
+        }
+        return rules;
+    }
+
+    private RuleSet loadUser(Long userId) {
+        long loadedGeneration = generation.get();
+        RuleSet rules = compile(categoryRuleRepository.findByUserId(userId));
+        synchronized (rulesLock) {
+            if (generation.get() == loadedGeneration) {
+                userRules.put(userId, rules);
+            }
+        }
+        return rules;
+    }
+
+    private RuleSet compile(List<CategoryRule> rules) {
+        if (rules.isEmpty()) {
+            return EMPTY;
+        }
+        Map<Transaction.TransactionType, KeywordAutomaton.Builder<Long>> builders =
+                new EnumMap<>(Transaction.TransactionType.class);
+        for (CategoryRule rule : rules) {
+            Transaction.TransactionType type = Transaction.TransactionType.valueOf(rule.getCategory().getType().name());
+            builders.computeIfAbsent(type, t -> KeywordAutomaton.builder())
+                    .add(rule.getKeyword(), rule.getPriority(), rule.getCategory().getId());
+        }
+        Map<Transaction.TransactionType, KeywordAutomaton<Long>> automata =
+                new EnumMap<>(Transaction.TransactionType.class);
+        builders.forEach((type, builder) -> automata.put(type, builder.build()));
+        return new RuleSet(automata);
+    }
+
+    @Scheduled(cron = "${app.categorization.backfill.cron:0 30 1 * * *}")
+    public void scheduledBackfill() {
+        if (!schedulerLockService.tryLock(BACKFILL_LOCK, lockLease)) {
+            return;
+        }
+        try {
+            int categorized = backfill(null);
+            log.info("Category backfill finished: {} transactions categorized", categorized);
+        } finally {
+            schedulerLockService.unlock(BACKFILL_LOCK);
+        }
+    }
+
+    // Walks uncategorized transactions (all users when user is null) by id and assigns matches in bulk updates
+    public int backfill(User user) {
+        int categorized = 0;
+        long afterId = 0L;
+        while (true) {
+            long cursor = afterId;
+            BackfillPage page = transactionTemplate.execute(status -> backfillPage(user, cursor));
+            if (page == null || page.scanned() == 0) {
+                return categorized;
+            }
+            categorized += page.categorized();
+            afterId = page.lastId();
+        }
+    }
+
+    private BackfillPage backfillPage(User user, long afterId) {
+        PageRequest page = PageRequest.of(0, batchSize);
+        List<Transaction> uncategorized = user == null
+                ? transactionRepository.findUncategorizedAfter(afterId, page)
+                : transactionRepository.findUncategorizedByUserAfter(user, afterId, page);
+        if (uncategorized.isEmpty()) {
+            return new BackfillPage(0, 0, afterId);
+        }
+
+        Map<Long, List<Long>> assignments = new HashMap<>();
+        for (Transaction transaction : uncategorized) {
+            findCategory(transaction).ifPresent(category -> assignments
+                    .computeIfAbsent(category.getId(), id -> new ArrayList<>()).add(transaction.getId()));
+        }
+        List<Long> assigned = new ArrayList<>();
+        assignments.values().forEach(assigned::addAll);
+        if (!assigned.isEmpty()) {
+            syncService.stampTransactions(assigned);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int categorized = 0;
+        for (Map.Entry<Long, List<Long>> assignment : assignments.entrySet()) {
+            Category category = categoryCache.findById(assignment.getKey()).orElseThrow();
+            categorized += transactionRepository.assignCategory(category, assignment.getValue(), now);
+        }
+        if (!assigned.isEmpty()) {
+            ledgerService.recordAmended(assigned);
+        }
+        return new BackfillPage(uncategorized.size(), categorized,
+                uncategorized.get(uncategorized.size() - 1).getId());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record RuleSet(Map<Transaction.TransactionType, KeywordAutomaton<Long>> automata) {
+
+        Long match(Transaction.TransactionType type, String... texts) {
+            KeywordAutomaton<Long> automaton = automata.get(type);
+            return automaton == null ? null : automaton.findBest(texts);
+        }
+    }
+
+    private record BackfillPage(int scanned, int categorized, long lastId) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.financetracker.categorization;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Aho-Corasick automaton over lower-cased keywords. Matching is a single pass over the text, independent of
+// the number of keywords, and returns the payload of the best keyword found in the text as whole words:
+// highest priority first, then the longest keyword, then the keyword added first. A keyword only counts where it
+// neither starts nor ends inside a word, so "rent" does not match "parent" and "ola" does not match "Coca-Cola".
+public final class KeywordAutomaton<T> {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    // Transitions of node n are edgeChars/edgeTargets[edgeStart[n] .. edgeStart[n + 1]), sorted by char
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    // Keyword ending exactly at a node, and the nearest node on its failure chain (itself included) that ends one
+    private final int[] terminal;
+    private final int[] output;
+
+    private final List<T> payloads;
+    private final int[] priorities;
+    private final int[] lengths;
+
+    private KeywordAutomaton(int[] edgeStart, char[] edgeChars, int[] edgeTargets, int[] fail, int[] terminal,
+                             int[] output, List<T> payloads, int[] priorities, int[] lengths) {
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.terminal = terminal;
+        this.output = output;
+        this.payloads = payloads;
+        this.priorities = priorities;
+        this.lengths = lengths;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public int size() {
+        return payloads.size();
+    }
+
+    public T findBest(CharSequence... texts) {
+        int winner = NONE;
+        for (CharSequence text : texts) {
+            if (text == null) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < text.length(); i++) {
+                state = step(state, Character.toLowerCase(text.charAt(i)));
+                // Every keyword ending here ends at i, so a word continuing past i rules them all out
+                if (output[state] == NONE || !isBoundary(text, i, i + 1)) {
+                    continue;
+                }
+                for (int node = output[state]; node != NONE; node = output[fail[node]]) {
+                    int candidate = terminal[node];
+                    if (isBoundary(text, i + 1 - lengths[candidate] - 1, i + 1 - lengths[candidate])
+                            && better(candidate, winner)) {
+                        winner = candidate;
+                    }
+                }
+            }
+        }
+        return winner == NONE ? null : payloads.get(winner);
+    }
+
+    // No word runs across the gap between before and after; either may lie outside the text
+    private static boolean isBoundary(CharSequence text, int before, int after) {
+        return before < 0 || after >= text.length()
+                || !Character.isLetterOrDigit(text.charAt(before)) || !Character.isLetterOrDigit(text.charAt(after));
+    }
+
+    private int step(int state, char c) {
+        while (true) {
+            int next = transition(state, c);
+            if (next != NONE) {
+                return next;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    private int transition(int node, char c) {
+        int index = Arrays.binarySearch(edgeChars, edgeStart[node], edgeStart[node + 1], c);
+        return index >= 0 ? edgeTargets[index] : NONE;
+    }
+
+    private boolean better(int candidate, int current) {
+        if (current == NONE) {
+            return true;
+        }
+        if (priorities[candidate] != priorities[current]) {
+            return priorities[candidate] > priorities[current];
+        }
+        if (lengths[candidate] != lengths[current]) {
+            return lengths[candidate] > lengths[current];
+        }
+        return candidate < current;
+    }
+
+    public static final class Builder<T> {
+
+        private final List<Map<Character, Integer>> children = new ArrayList<>();
+        private final List<Integer> terminal = new ArrayList<>();
+        private final List<T> payloads = new ArrayList<>();
+        private final List<Integer> priorities = new ArrayList<>();
+        private final List<Integer> lengths = new ArrayList<>();
+
+        private Builder() {
+            newNode();
+        }
+
+        public Builder<T> add(String keyword, int priority, T payload) {
+            String normalized = keyword == null ? "" : keyword.trim().toLowerCase(Locale.ROOT);
+            if (normalized.isEmpty()) {
+                return this;
+            }
+            int node = ROOT;
+            for (int i = 0; i < normalized.length(); i++) {
+                char c = normalized.charAt(i);
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = newNode();
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            int pattern = payloads.size();
+            payloads.add(payload);
+            priorities.add(priority);
+            lengths.add(normalized.length());
+            Integer existing = terminal.get(node);
+            // Duplicate keywords keep whichever rule would win anyway
+            if (existing == NONE || priority > priorities.get(existing)) {
+                terminal.set(node, pattern);
+            }
+            return this;
+        }
+
+        public KeywordAutomaton<T> build() {
+            int nodeCount = children.size();
+            int[] edgeStart = new int[nodeCount + 1];
+            int edgeCount = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                edgeStart[node] = edgeCount;
+                edgeCount += children.get(node).size();
+            }
+            edgeStart[nodeCount] = edgeCount;
+
+            char[] edgeChars = new char[edgeCount];
+            int[] edgeTargets = new int[edgeCount];
+            for (int node = 0; node < nodeCount; node++) {
+                int edge = edgeStart[node];
+                for (Map.Entry<Character, Integer> entry : children.get(node).entrySet()) {
+                    edgeChars[edge] = entry.getKey();
+                    edgeTargets[edge] = entry.getValue();
+                    edge++;
+                }
+            }
+
+            int[] priorityArray = priorities.stream().mapToInt(Integer::intValue).toArray();
+            int[] lengthArray = lengths.stream().mapToInt(Integer::intValue).toArray();
+            int[] fail = new int[nodeCount];
+            int[] terminalArray = terminal.stream().mapToInt(Integer::intValue).toArray();
+            int[] output = new int[nodeCount];
+            KeywordAutomaton<T> automaton = new KeywordAutomaton<>(edgeStart, edgeChars, edgeTargets, fail,
+                    terminalArray, output, List.copyOf(payloads), priorityArray, lengthArray);
+
+            // Breadth-first so every failure target is complete before its dependants
+            Deque<Integer> queue = new ArrayDeque<>();
+            output[ROOT] = NONE;
+            for (int edge = edgeStart[ROOT]; edge < edgeStart[ROOT + 1]; edge++) {
+                int child = edgeTargets[edge];
+                fail[child] = ROOT;
+                output[child] = terminalArray[child] != NONE ? child : NONE;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int edge = edgeStart[node]; edge < edgeStart[node + 1]; edge++) {
+                    char c = edgeChars[edge];
+                    int child = edgeTargets[edge];
+                    int fallback = fail[node];
+                    int target = automaton.transition(fallback, c);
+                    while (target == NONE && fallback != ROOT) {
+                        fallback = fail[fallback];
+                        target = automaton.transition(fallback, c);
+                    }
+                    fail[child] = target == NONE ? ROOT : target;
+                    output[child] = terminalArray[child] != NONE ? child : output[fail[child]];
+                    queue.add(child);
+                }
+            }
+            return automaton;
+        }
+
+        private int newNode() {
+            children.add(new TreeMap<>());
+            terminal.add(NONE);
+            return children.size() - 1;
+        }
+    }
+}
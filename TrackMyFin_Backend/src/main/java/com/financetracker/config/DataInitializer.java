@@ -1,5 +1,6 @@
 package com.financetracker.config;
 
+import com.financetracker.categorization.AutoCategorizationService;
 import com.financetracker.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
@@ -10,10 +11,12 @@ import org.springframework.stereotype.Component;
 public class DataInitializer implements CommandLineRunner {
 
     private final CategoryService categoryService;
+    private final AutoCategorizationService autoCategorizationService;
 
     @Override
     public void run(String... args) throws Exception {
         // Initialize default categories when the application starts
         categoryService.initializeDefaultCategories();
+        autoCategorizationService.initializeDefaultRules();
     }
 }
@@ -0,0 +1,122 @@
+package com.financetracker.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Sends read-only transactions to the replica and everything else to the primary. Must sit behind a
+// LazyConnectionDataSourceProxy so the read-only flag is known before a connection is picked.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Supplier<Long> currentUserId;
+    private final long readYourWritesMillis;
+    private final long retryAfterMillis;
+
+    // Last write per user, only tracked when the read-your-writes window is enabled. Only this instance's writes:
+    // the cluster invalidation outbox is polled about once a second, too late for the user's next request to find
+    // a peer's write there, so the window holds per instance (see README).
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+    private volatile long replicaRetryAt;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Supplier<Long> currentUserId,
+                                    Duration readYourWritesWindow, Duration retryAfter) {
+        this.primary = primary;
+        this.replica = replica;
+        this.currentUserId = currentUserId;
+        this.readYourWritesMillis = readYourWritesWindow.toMillis();
+        this.retryAfterMillis = retryAfter.toMillis();
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        long now = System.currentTimeMillis();
+        Long userId = readYourWritesMillis > 0 ? currentUserId.get() : null;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWrite(userId, now);
+            }
+            return Route.PRIMARY;
+        }
+        if (now < replicaRetryAt) {
+            return Route.PRIMARY;
+        }
+        if (userId != null && wroteRecently(userId, now)) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == replica) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                replicaFailed(e);
+                return primary.getConnection();
+            }
+        }
+        return target.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == replica) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                replicaFailed(e);
+                return primary.getConnection(username, password);
+            }
+        }
+        return target.getConnection(username, password);
+    }
+
+    // Reads go to the primary until the retry delay has passed, then the replica gets another chance
+    private void replicaFailed(SQLException e) {
+        replicaRetryAt = System.currentTimeMillis() + retryAfterMillis;
+        log.warn("Replica unavailable, reading from the primary for the next {} ms: {}", retryAfterMillis,
+                e.getMessage());
+    }
+
+    private void recordWrite(Long userId, long now) {
+        lastWrites.put(userId, now);
+        if (lastWrites.size() > PRUNE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= readYourWritesMillis);
+        }
+    }
+
+    private boolean wroteRecently(Long userId, long now) {
+        Long writtenAt = lastWrites.get(userId);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (now - writtenAt < readYourWritesMillis) {
+            return true;
+        }
+        lastWrites.remove(userId, writtenAt);
+        return false;
+    }
+}
@@ -1,7 +1,9 @@
 package com.financetracker.config;
 
 import com.financetracker.security.JwtAuthenticationFilter;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,6 +30,12 @@ public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -45,8 +53,16 @@ public class SecurityConfig {
                         .requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/health", "/api/dashboard/health").permitAll() // Allow health checks
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Scraped without a login only on a separate management port; the application port needs one
+                        .requestMatchers(this::isManagementPortScrape).permitAll()
+                        // Recordings can contain user ids and request URIs
+                        .requestMatchers("/actuator/jfr", "/actuator/jfr/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/slowqueries", "/actuator/slowqueries/**").hasRole("ADMIN")
                         .requestMatchers("/api/categories/default").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/categories/**").permitAll()
+                        // Rewrites every user's transactions, budgets and rules
+                        .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/categories/*/merge").hasRole("ADMIN")
                         .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/categories/**").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.PUT, "/api/categories/**").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.DELETE, "/api/categories/**").permitAll()
@@ -61,6 +77,11 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private boolean isManagementPortScrape(HttpServletRequest request) {
+        return managementPort > 0 && managementPort != serverPort && request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -0,0 +1,83 @@
+package com.financetracker.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Hibernate's pooled optimizer treats the value it reads from a sequence as the top of an allocationSize block, so
+// every sequence has to stay at least allocationSize past the table's highest id. Databases created before pooled ids,
+// or filled by other tools, are moved forward once at startup, before the application inserts anything.
+// Only the one-row tables Hibernate uses where the database has no sequences (MySQL) are checked.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceAlignment implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        alignAll();
+    }
+
+    // Number of sequence tables moved forward
+    public int alignAll() {
+        int moved = 0;
+        for (EmulatedSequence sequence : emulatedSequences()) {
+            if (align(sequence)) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    private List<EmulatedSequence> emulatedSequences() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .streamEntityDescriptors()
+                .filter(AbstractEntityPersister.class::isInstance)
+                .map(AbstractEntityPersister.class::cast)
+                .filter(persister -> persister.getGenerator() instanceof SequenceStyleGenerator generator
+                        && !generator.getDatabaseStructure().isPhysicalSequence())
+                .map(persister -> {
+                    DatabaseStructure structure = ((SequenceStyleGenerator) persister.getGenerator()).getDatabaseStructure();
+                    return new EmulatedSequence(structure.getPhysicalName().render(), structure.getIncrementSize(),
+                            persister.getTableName(), persister.getIdentifierColumnNames()[0]);
+                })
+                .toList();
+    }
+
+    private boolean align(EmulatedSequence sequence) {
+        Long maxId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(" + sequence.idColumn() + "), 0) FROM " + sequence.table(), Long.class);
+        long floor = (maxId == null ? 0 : maxId) + sequence.incrementSize();
+        List<Long> current = jdbcTemplate.queryForList("SELECT next_val FROM " + sequence.name(), Long.class);
+        if (current.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO " + sequence.name() + " (next_val) VALUES (?)", floor);
+        } else {
+            // An empty table cannot collide; new databases keep Hibernate's initial value
+            if (maxId == null || maxId == 0 || current.get(0) >= floor) {
+                return false;
+            }
+            // Conditional, so instances starting together never move a sequence backwards
+            if (jdbcTemplate.update("UPDATE " + sequence.name() + " SET next_val = ? WHERE next_val < ?",
+                    floor, floor) == 0) {
+                return false;
+            }
+        }
+        log.info("Moved {} to {}, past the highest id in {}", sequence.name(), floor, sequence.table());
+        return true;
+    }
+
+    private record EmulatedSequence(String name, int incrementSize, String table, String idColumn) {
+    }
+}
@@ -4,6 +4,7 @@ import com.financetracker.dto.AuthResponse;
 import com.financetracker.dto.LoginRequest;
 import com.financetracker.dto.RegisterRequest;
 import com.financetracker.entity.User;
+import com.financetracker.exception.GlobalExceptionHandler;
 import com.financetracker.security.JwtUtil;
 import com.financetracker.service.UserService;
 import jakarta.validation.Valid;
@@ -49,6 +50,7 @@ public class AuthController {
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             return ResponseEntity.badRequest()
                 .body(new AuthResponse(null, null, null, null, e.getMessage()));
         }
@@ -83,6 +85,7 @@ public class AuthController {
             return ResponseEntity.status(401)
                 .body(new AuthResponse(null, null, null, null, "Account is disabled"));
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             return ResponseEntity.status(500)
                 .body(new AuthResponse(null, null, null, null, "Login failed: " + e.getMessage()));
         }
@@ -0,0 +1,28 @@
+package com.financetracker.controller;
+
+import com.financetracker.batch.BatchService;
+import com.financetracker.dto.BatchRequest;
+import com.financetracker.dto.BatchResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class BatchController {
+
+    private final BatchService batchService;
+
+    // Several reads in one round trip, e.g. everything a page load needs; responses come back in request order
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResponse> execute(@Valid @RequestBody BatchRequest request,
+                                                 Authentication authentication) {
+        return ResponseEntity.ok(new BatchResponse(batchService.execute(request.getRequests(), authentication)));
+    }
+}
@@ -1,5 +1,6 @@
 package com.financetracker.controller;
 
+import com.financetracker.dto.BudgetStatusResponse;
 import com.financetracker.entity.Budget;
 import com.financetracker.entity.User;
 import com.financetracker.service.BudgetService;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/budgets")
@@ -35,6 +37,13 @@ public class BudgetController {
         return ResponseEntity.ok(budgets);
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getUserBudgetFields(@RequestParam String fields,
+                                                                         Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(budgetService.getUserBudgetFields(user, fields));
+    }
+
     @GetMapping("/active")
     public ResponseEntity<List<Budget>> getActiveBudgets(Authentication authentication) {
         User user = (User) authentication.getPrincipal();
@@ -49,6 +58,13 @@ public class BudgetController {
         return ResponseEntity.ok(budgets);
     }
 
+    @GetMapping("/status")
+    public ResponseEntity<List<BudgetStatusResponse>> getBudgetStatus(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        List<BudgetStatusResponse> statuses = budgetService.getCurrentBudgetStatuses(user);
+        return ResponseEntity.ok(statuses);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Budget> getBudget(@PathVariable Long id) {
         return budgetService.getBudgetById(id)
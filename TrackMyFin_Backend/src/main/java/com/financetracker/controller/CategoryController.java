@@ -1,14 +1,17 @@
 package com.financetracker.controller;
 
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.dto.CategoryMergeResponse;
 import com.financetracker.entity.Category;
+import com.financetracker.exception.GlobalExceptionHandler;
 import com.financetracker.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -41,27 +44,33 @@ public class CategoryController {
             Category savedCategory = categoryService.createCategory(category);
             return ResponseEntity.ok(savedCategory);
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             log.error("Error creating category: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().body("Error creating category: " + e.getMessage());
         }
     }
 
+    // List endpoints are served from pre-serialized JSON; the ETag lets clients revalidate with a 304
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
-        List<Category> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<byte[]> getAllCategories() {
+        return cachedJson(categoryService.getAllCategoriesJson());
     }
 
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<Category>> getCategoriesByType(@PathVariable Category.CategoryType type) {
-        List<Category> categories = categoryService.getCategoriesByType(type);
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<byte[]> getCategoriesByType(@PathVariable Category.CategoryType type) {
+        return cachedJson(categoryService.getCategoriesByTypeJson(type));
     }
 
     @GetMapping("/default")
-    public ResponseEntity<List<Category>> getDefaultCategories() {
-        List<Category> categories = categoryService.getDefaultCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<byte[]> getDefaultCategories() {
+        return cachedJson(categoryService.getDefaultCategoriesJson());
+    }
+
+    private ResponseEntity<byte[]> cachedJson(CategoryCache.CachedJson json) {
+        return ResponseEntity.ok()
+                .eTag(json.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json.body());
     }
 
     @GetMapping("/{id}")
@@ -103,6 +112,7 @@ public class CategoryController {
                         return ResponseEntity.notFound().build();
                     });
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             log.error("Error updating category with id {}: {}", id, e.getMessage(), e);
             return ResponseEntity.badRequest().body("Error updating category: " + e.getMessage());
         }
@@ -125,11 +135,12 @@ public class CategoryController {
                         } catch (org.springframework.dao.DataIntegrityViolationException e) {
                             log.warn("Cannot delete category with id {} due to foreign key constraint: {}", id, e.getMessage());
                             return ResponseEntity.badRequest().body(new java.util.HashMap<String, String>() {{
-                                put("message", "Cannot delete category. It has associated transactions. Please delete all transactions in this category first.");
+                                put("message", "Cannot delete category. It has associated transactions. Merge it into another category or delete its transactions first.");
                                 put("status", "error");
                                 put("errorType", "FOREIGN_KEY_CONSTRAINT");
                             }});
                         } catch (Exception e) {
+                            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
                             log.error("Unexpected error deleting category with id {}: {}", id, e.getMessage(), e);
                             return ResponseEntity.badRequest().body(new java.util.HashMap<String, String>() {{
                                 put("message", "Failed to delete category: " + e.getMessage());
@@ -147,6 +158,7 @@ public class CategoryController {
                         }});
                     });
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             log.error("Error in delete category endpoint for id {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(500).body(new java.util.HashMap<String, String>() {{
                 put("message", "Internal server error: " + e.getMessage());
@@ -156,6 +168,22 @@ public class CategoryController {
         }
     }
 
+    @PostMapping("/{id}/merge")
+    public ResponseEntity<?> mergeCategory(@PathVariable Long id, @RequestParam Long targetId) {
+        try {
+            log.info("Merging category {} into {}", id, targetId);
+            CategoryMergeResponse response = categoryService.mergeCategory(id, targetId);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
+            log.error("Error merging category {} into {}: {}", id, targetId, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(new java.util.HashMap<String, String>() {{
+                put("message", "Failed to merge category: " + e.getMessage());
+                put("status", "error");
+            }});
+        }
+    }
+
     @PostMapping("/initialize-defaults")
     public ResponseEntity<String> initializeDefaultCategories() {
         categoryService.initializeDefaultCategories();
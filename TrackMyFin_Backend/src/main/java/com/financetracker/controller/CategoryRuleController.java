@@ -0,0 +1,76 @@
+package com.financetracker.controller;
+
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.categorization.AutoCategorizationService;
+import com.financetracker.dto.CategoryRuleRequest;
+import com.financetracker.dto.CategoryRuleResponse;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.CategoryRule;
+import com.financetracker.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/api/category-rules")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CategoryRuleController {
+
+    private final AutoCategorizationService autoCategorizationService;
+    private final CategoryCache categoryCache;
+
+    @GetMapping
+    public ResponseEntity<List<CategoryRuleResponse>> getRules(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        List<CategoryRuleResponse> rules = Stream.concat(
+                        autoCategorizationService.getRules(user).stream(),
+                        autoCategorizationService.getDefaultRules().stream())
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(rules);
+    }
+
+    @PostMapping
+    public ResponseEntity<CategoryRuleResponse> createRule(@Valid @RequestBody CategoryRuleRequest request,
+                                                           Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        CategoryRule rule = autoCategorizationService.createRule(user, request.getKeyword(), request.getCategoryId(),
+                request.getPriority() != null ? request.getPriority() : 0);
+        return ResponseEntity.ok(mapToResponse(rule));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return autoCategorizationService.deleteRule(user, id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/backfill")
+    public ResponseEntity<Map<String, Integer>> backfill(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        int categorized = autoCategorizationService.backfill(user);
+        return ResponseEntity.ok(Map.of("categorized", categorized));
+    }
+
+    private CategoryRuleResponse mapToResponse(CategoryRule rule) {
+        Long categoryId = rule.getCategory().getId();
+        return CategoryRuleResponse.builder()
+                .id(rule.getId())
+                .keyword(rule.getKeyword())
+                .categoryId(categoryId)
+                .categoryName(categoryCache.findById(categoryId).map(Category::getName).orElse(null))
+                .priority(rule.getPriority())
+                .defaultRule(rule.getUser() == null)
+                .build();
+    }
+}
@@ -3,6 +3,7 @@ package com.financetracker.controller;
 import com.financetracker.dto.DashboardStatsResponse;
 import com.financetracker.dto.ExpenseChartResponse;
 import com.financetracker.entity.User;
+import com.financetracker.exception.GlobalExceptionHandler;
 import com.financetracker.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,11 +24,12 @@ public class DashboardController {
     public ResponseEntity<DashboardStatsResponse> getDashboardStats(Authentication authentication) {
         try {
             User user = (User) authentication.getPrincipal();
-            log.info("Getting dashboard stats for user: {}", user.getEmail());
+            log.debug("Getting dashboard stats for user: {}", user.getEmail());
             
             DashboardStatsResponse stats = dashboardService.getDashboardStats(user);
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             log.error("Error getting dashboard stats: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
@@ -39,11 +41,12 @@ public class DashboardController {
             Authentication authentication) {
         try {
             User user = (User) authentication.getPrincipal();
-            log.info("Getting expense chart for user: {} with range: {}", user.getEmail(), range);
+            log.debug("Getting expense chart for user: {} with range: {}", user.getEmail(), range);
             
             ExpenseChartResponse chartData = dashboardService.getExpenseChartData(user, range);
             return ResponseEntity.ok(chartData);
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             log.error("Error getting expense chart: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
@@ -16,7 +16,7 @@ public class HealthController {
 
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
-        log.info("Health check requested");
+        log.debug("Health check requested");
         
         Map<String, Object> response = new HashMap<>();
         response.put("status", "UP");
@@ -0,0 +1,44 @@
+package com.financetracker.controller;
+
+import com.financetracker.entity.LedgerEvent;
+import com.financetracker.entity.User;
+import com.financetracker.ledger.LedgerProjection;
+import com.financetracker.ledger.LedgerProjectionService;
+import com.financetracker.ledger.LedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/ledger")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Slf4j
+public class LedgerController {
+
+    private static final int MAX_EVENTS = 1000;
+
+    private final LedgerService ledgerService;
+    private final LedgerProjectionService ledgerProjectionService;
+
+    @GetMapping("/projection")
+    public ResponseEntity<LedgerProjection> getProjection(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ledgerProjectionService.getProjection(user.getId()));
+    }
+
+    // Events after the given sequence number, so clients can follow the log incrementally
+    @GetMapping("/events")
+    public ResponseEntity<List<LedgerEvent>> getEvents(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit,
+            Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        int pageSize = Math.max(1, Math.min(limit, MAX_EVENTS));
+        return ResponseEntity.ok(ledgerService.getEvents(user.getId(), after, pageSize));
+    }
+}
@@ -3,6 +3,7 @@ package com.financetracker.controller;
 import com.financetracker.dto.ProfileRequest;
 import com.financetracker.dto.ProfileResponse;
 import com.financetracker.entity.User;
+import com.financetracker.exception.GlobalExceptionHandler;
 import com.financetracker.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -43,6 +44,7 @@ public class ProfileController {
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             return ResponseEntity.status(500)
                 .body(new ProfileResponse(null, null, null, null, null, null, null, 
                       "Error retrieving profile: " + e.getMessage()));
@@ -112,6 +114,7 @@ public class ProfileController {
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             return ResponseEntity.status(500)
                 .body(new ProfileResponse(null, null, null, null, null, null, null, 
                       "Error updating profile: " + e.getMessage()));
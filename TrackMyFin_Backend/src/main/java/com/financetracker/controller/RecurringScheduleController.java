@@ -0,0 +1,93 @@
+package com.financetracker.controller;
+
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.dto.RecurringScheduleRequest;
+import com.financetracker.dto.RecurringScheduleResponse;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.RecurringSchedule;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.service.RecurringScheduleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/recurring-schedules")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class RecurringScheduleController {
+
+    private final RecurringScheduleService recurringScheduleService;
+    private final CategoryCache categoryCache;
+
+    @GetMapping
+    public ResponseEntity<List<RecurringScheduleResponse>> getSchedules(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        List<RecurringScheduleResponse> schedules = recurringScheduleService.getUserSchedules(user).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(schedules);
+    }
+
+    @PostMapping
+    public ResponseEntity<RecurringScheduleResponse> createSchedule(@Valid @RequestBody RecurringScheduleRequest request,
+                                                                    Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        RecurringSchedule schedule = new RecurringSchedule();
+        schedule.setKind(RecurringSchedule.ScheduleKind.valueOf(request.getKind()));
+        schedule.setAmount(request.getAmount());
+        schedule.setDescription(request.getDescription());
+        if (request.getType() != null) {
+            schedule.setType(Transaction.TransactionType.valueOf(request.getType()));
+        }
+        schedule.setNotes(request.getNotes());
+        schedule.setFrequency(RecurringSchedule.Frequency.valueOf(request.getFrequency()));
+        schedule.setDayOfMonth(request.getDayOfMonth());
+        schedule.setStartDate(request.getStartDate());
+        schedule.setEndDate(request.getEndDate());
+        schedule.setUser(user);
+
+        // Set category if provided
+        if (request.getCategoryId() != null) {
+            Category category = new Category();
+            category.setId(request.getCategoryId());
+            schedule.setCategory(category);
+        }
+        return ResponseEntity.ok(mapToResponse(recurringScheduleService.createSchedule(schedule)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSchedule(@PathVariable Long id, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return recurringScheduleService.deleteSchedule(user, id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    private RecurringScheduleResponse mapToResponse(RecurringSchedule schedule) {
+        Long categoryId = schedule.getCategory() != null ? schedule.getCategory().getId() : null;
+        return RecurringScheduleResponse.builder()
+                .id(schedule.getId())
+                .kind(schedule.getKind().name())
+                .amount(schedule.getAmount())
+                .description(schedule.getDescription())
+                .type(schedule.getType() != null ? schedule.getType().name() : null)
+                .categoryId(categoryId)
+                .categoryName(categoryId != null
+                        ? categoryCache.findById(categoryId).map(Category::getName).orElse(null) : null)
+                .notes(schedule.getNotes())
+                .frequency(schedule.getFrequency().name())
+                .dayOfMonth(schedule.getDayOfMonth())
+                .startDate(schedule.getStartDate())
+                .endDate(schedule.getEndDate())
+                .nextOccurrence(schedule.getNextOccurrence())
+                .active(schedule.isActive())
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.financetracker.dto.SalaryRequest;
 import com.financetracker.dto.SalaryResponse;
 import com.financetracker.entity.Salary;
 import com.financetracker.entity.User;
+import com.financetracker.exception.GlobalExceptionHandler;
 import com.financetracker.service.SalaryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -41,6 +43,7 @@ public class SalaryController {
             Salary savedSalary = salaryService.createSalary(salary);
             return ResponseEntity.ok(mapToResponse(savedSalary));
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             log.error("Error creating salary: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
@@ -59,11 +62,19 @@ public class SalaryController {
 
             return ResponseEntity.ok(responses);
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             log.error("Error getting salaries: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getUserSalaryFields(@RequestParam String fields,
+                                                                         Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(salaryService.getUserSalaryFields(user, fields));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<SalaryResponse> getSalary(@PathVariable Long id, Authentication authentication) {
         try {
@@ -74,6 +85,7 @@ public class SalaryController {
                     .map(salary -> ResponseEntity.ok(mapToResponse(salary)))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             log.error("Error getting salary: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
@@ -100,6 +112,7 @@ public class SalaryController {
                     })
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             log.error("Error updating salary: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
@@ -118,12 +131,13 @@ public class SalaryController {
                     })
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
+            GlobalExceptionHandler.rethrowIfConnectionUnavailable(e);
             log.error("Error deleting salary: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
-    private SalaryResponse mapToResponse(Salary salary) {
+    SalaryResponse mapToResponse(Salary salary) {
         return SalaryResponse.builder()
                 .id(salary.getId().toString())
                 .amount(salary.getAmount())
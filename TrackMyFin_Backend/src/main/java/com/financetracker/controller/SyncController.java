@@ -0,0 +1,51 @@
+package com.financetracker.controller;
+
+import com.financetracker.dto.SyncResponse;
+import com.financetracker.entity.SyncTombstone;
+import com.financetracker.entity.User;
+import com.financetracker.sync.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SyncController {
+
+    private final SyncService syncService;
+    private final TransactionController transactionController;
+    private final SalaryController salaryController;
+
+    // Transactions, salaries and budgets written or deleted after since; since=0 (or a stale one) returns full lists
+    @GetMapping
+    public ResponseEntity<SyncResponse> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                   Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        SyncService.SyncChanges changes = syncService.getChanges(user, since);
+
+        List<Long> deletedTransactions = new ArrayList<>();
+        List<String> deletedSalaries = new ArrayList<>();
+        List<Long> deletedBudgets = new ArrayList<>();
+        for (SyncTombstone tombstone : changes.tombstones()) {
+            switch (tombstone.getEntityType()) {
+                case TRANSACTION -> deletedTransactions.add(tombstone.getEntityId());
+                case SALARY -> deletedSalaries.add(tombstone.getEntityId().toString());
+                case BUDGET -> deletedBudgets.add(tombstone.getEntityId());
+            }
+        }
+
+        return ResponseEntity.ok(new SyncResponse(
+                changes.sequence(),
+                changes.full(),
+                changes.transactions().stream().map(transactionController::mapToDTO).toList(),
+                changes.salaries().stream().map(salaryController::mapToResponse).toList(),
+                changes.budgets(),
+                new SyncResponse.Deleted(deletedTransactions, deletedSalaries, deletedBudgets)));
+    }
+}
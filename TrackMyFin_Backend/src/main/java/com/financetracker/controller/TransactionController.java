@@ -1,24 +1,34 @@
 package com.financetracker.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.archive.TransactionArchiveService;
+import com.financetracker.cache.CategoryCache;
 import com.financetracker.dto.TransactionDTO;
 import com.financetracker.dto.TransactionRequest;
 import com.financetracker.entity.Category;
 import com.financetracker.entity.Transaction;
 import com.financetracker.entity.User;
+import com.financetracker.json.CompactListWriter;
 import com.financetracker.service.TransactionService;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -27,12 +37,33 @@ import java.util.stream.Collectors;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionArchiveService transactionArchiveService;
+    private final ObjectMapper objectMapper;
+    private final CategoryCache categoryCache;
 
     @PostMapping
     public ResponseEntity<TransactionDTO> createTransaction(@Valid @RequestBody TransactionRequest request,
                                                        Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        
+        Transaction savedTransaction = transactionService.createTransaction(toEntity(request, user));
+        TransactionDTO dto = mapToDTO(savedTransaction);
+        return ResponseEntity.ok(dto);
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<TransactionDTO>> createTransactions(@Valid @RequestBody List<TransactionRequest> requests,
+                                                                  Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        List<Transaction> transactions = requests.stream()
+                .map(request -> toEntity(request, user))
+                .collect(Collectors.toList());
+        List<TransactionDTO> dtos = transactionService.createTransactions(transactions).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(dtos);
+    }
+
+    private Transaction toEntity(TransactionRequest request, User user) {
         // Convert TransactionRequest to Transaction entity
         Transaction transaction = new Transaction();
         transaction.setAmount(request.getAmount());
@@ -41,20 +72,18 @@ public class TransactionController {
         transaction.setTransactionDate(request.getTransactionDate());
         transaction.setNotes(request.getNotes());
         transaction.setUser(user);
-        
+
         // Set category if provided
         if (request.getCategoryId() != null) {
             Category category = new Category();
             category.setId(request.getCategoryId());
             transaction.setCategory(category);
         }
-        
-        Transaction savedTransaction = transactionService.createTransaction(transaction);
-        TransactionDTO dto = mapToDTO(savedTransaction);
-        return ResponseEntity.ok(dto);
+        return transaction;
     }
 
-    private TransactionDTO mapToDTO(Transaction transaction) {
+    // Package-private for the JMH benchmarks
+    TransactionDTO mapToDTO(Transaction transaction) {
         TransactionDTO dto = new TransactionDTO();
         dto.setId(transaction.getId());
         dto.setAmount(transaction.getAmount());
@@ -63,15 +92,24 @@ public class TransactionController {
         dto.setTransactionDate(transaction.getTransactionDate());
         dto.setType(transaction.getType() != null ? transaction.getType().name() : null);
         dto.setCategoryId(transaction.getCategory() != null ? transaction.getCategory().getId() : null);
-        dto.setCategoryName(transaction.getCategory() != null ? transaction.getCategory().getName() : null); // Add category name
+        dto.setCategoryName(categoryName(transaction.getCategory()));
         dto.setUserId(transaction.getUser() != null ? transaction.getUser().getId() : null);
         dto.setCreatedAt(transaction.getCreatedAt());
         dto.setUpdatedAt(transaction.getUpdatedAt());
         return dto;
     }
 
+    // Names come from the cache, so mapping never initializes a lazy category proxy outside the session
+    private String categoryName(Category category) {
+        if (category == null) {
+            return null;
+        }
+        Optional<Category> cached = category.getId() != null ? categoryCache.findById(category.getId()) : Optional.empty();
+        return cached.map(Category::getName)
+                .orElseGet(() -> Hibernate.isInitialized(category) ? category.getName() : null);
+    }
+
     @GetMapping
-    @Transactional(readOnly = true)
     public ResponseEntity<List<TransactionDTO>> getUserTransactions(Authentication authentication) {
         User user = (User) authentication.getPrincipal();
         List<Transaction> transactions = transactionService.getUserTransactions(user);
@@ -79,6 +117,14 @@ public class TransactionController {
         return ResponseEntity.ok(dtos);
     }
 
+    // ?fields=id,transactionDate,amount,type,categoryName returns just those, read straight from the query
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getUserTransactionFields(@RequestParam String fields,
+                                                                              Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(transactionService.getUserTransactionFields(user, fields));
+    }
+
     @GetMapping("/date-range")
     public ResponseEntity<List<TransactionDTO>> getTransactionsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
@@ -90,6 +136,38 @@ public class TransactionController {
         return ResponseEntity.ok(dtos);
     }
 
+    // Oldest first, archived and live rows alike; written as it is read so years of history never sit in memory
+    @GetMapping("/history")
+    public ResponseEntity<StreamingResponseBody> streamHistory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        if (CompactListWriter.isPreferred(accept)) {
+            StreamingResponseBody body = outputStream -> {
+                try (Stream<Transaction> history = transactionArchiveService.streamHistory(user, startDate, endDate);
+                     CompactListWriter writer = CompactListWriter.transactions(outputStream)) {
+                    for (Transaction transaction : (Iterable<Transaction>) history::iterator) {
+                        writer.write(mapToDTO(transaction));
+                    }
+                }
+            };
+            return ResponseEntity.ok().contentType(CompactListWriter.MEDIA_TYPE).body(body);
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<Transaction> history = transactionArchiveService.streamHistory(user, startDate, endDate);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                for (Transaction transaction : (Iterable<Transaction>) history::iterator) {
+                    objectMapper.writeValue(generator, mapToDTO(transaction));
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TransactionDTO> getTransaction(@PathVariable Long id) {
         return transactionService.getTransactionById(id)
@@ -144,7 +222,7 @@ public class TransactionController {
         User user = (User) authentication.getPrincipal();
         BigDecimal totalIncome = transactionService.getTotalIncome(user);
         BigDecimal totalExpenses = transactionService.getTotalExpenses(user);
-        BigDecimal netBalance = transactionService.getNetBalance(user);
+        BigDecimal netBalance = totalIncome.subtract(totalExpenses);
 
         Map<String, BigDecimal> summary = Map.of(
                 "totalIncome", totalIncome,
@@ -0,0 +1,31 @@
+package com.financetracker.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+
+    @NotEmpty
+    @Valid
+    private List<Item> requests;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        @NotBlank
+        private String id; // echoed back so the client can match responses
+        private String method = "GET";
+        @NotBlank
+        private String path; // e.g. /api/transactions?fields=id,amount
+    }
+}
@@ -0,0 +1,44 @@
+package com.financetracker.dto;
+
+import com.financetracker.entity.Budget;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+public class BudgetStatusResponse {
+    private Long id;
+    private String name;
+    private BigDecimal amount;
+    private Long categoryId;
+    private String categoryName;
+    private String period;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal spentAmount;
+    private BigDecimal remainingAmount;
+    private double spentPercentage;
+
+    // Used by the JPQL constructor expression in BudgetRepository.findCurrentBudgetStatuses
+    public BudgetStatusResponse(Long id, String name, BigDecimal amount, Long categoryId, String categoryName,
+                                Budget.BudgetPeriod period, LocalDate startDate, LocalDate endDate,
+                                BigDecimal spentAmount) {
+        this.id = id;
+        this.name = name;
+        this.amount = amount;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.period = period != null ? period.name() : null;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.spentAmount = spentAmount != null ? spentAmount : BigDecimal.ZERO;
+        this.remainingAmount = amount.subtract(this.spentAmount);
+        this.spentPercentage = amount.compareTo(BigDecimal.ZERO) == 0
+                ? 0.0
+                : this.spentAmount.divide(amount, 4, RoundingMode.HALF_UP).doubleValue() * 100;
+    }
+}
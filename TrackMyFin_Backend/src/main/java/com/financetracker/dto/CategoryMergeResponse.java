@@ -0,0 +1,19 @@
+package com.financetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMergeResponse {
+    private Long sourceCategoryId;
+    private Long targetCategoryId;
+    private long transactionsMoved;
+    private int budgetsMoved;
+    private int rulesMoved;
+    private int schedulesMoved;
+}
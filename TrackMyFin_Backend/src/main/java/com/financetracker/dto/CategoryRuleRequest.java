@@ -0,0 +1,23 @@
+package com.financetracker.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryRuleRequest {
+
+    @NotBlank(message = "Keyword is required")
+    @Size(max = 100, message = "Keyword must not exceed 100 characters")
+    private String keyword;
+
+    @NotNull(message = "Category is required")
+    private Long categoryId;
+
+    private Integer priority;
+}
@@ -0,0 +1,19 @@
+package com.financetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryRuleResponse {
+    private Long id;
+    private String keyword;
+    private Long categoryId;
+    private String categoryName;
+    private int priority;
+    private boolean defaultRule;
+}
@@ -0,0 +1,40 @@
+package com.financetracker.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringScheduleRequest {
+
+    @NotBlank(message = "Kind is required")
+    private String kind; // TRANSACTION or SALARY
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    @NotBlank(message = "Description is required")
+    private String description;
+
+    private String type; // INCOME or EXPENSE, for transactions
+    private Long categoryId;
+    private String notes;
+
+    @NotBlank(message = "Frequency is required")
+    private String frequency; // DAILY, WEEKLY, MONTHLY or DAY_OF_MONTH
+
+    private Integer dayOfMonth;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
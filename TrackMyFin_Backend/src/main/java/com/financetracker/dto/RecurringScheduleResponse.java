@@ -0,0 +1,30 @@
+package com.financetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringScheduleResponse {
+    private Long id;
+    private String kind;
+    private BigDecimal amount;
+    private String description;
+    private String type;
+    private Long categoryId;
+    private String categoryName;
+    private String notes;
+    private String frequency;
+    private Integer dayOfMonth;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate nextOccurrence;
+    private boolean active;
+}
@@ -0,0 +1,32 @@
+package com.financetracker.dto;
+
+import com.financetracker.entity.Budget;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+
+    // Pass back as since on the next call
+    private long sequence;
+    // The lists are complete and replace whatever the client holds; deleted is empty
+    private boolean full;
+    private List<TransactionDTO> transactions;
+    private List<SalaryResponse> salaries;
+    private List<Budget> budgets;
+    private Deleted deleted;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Deleted {
+        private List<Long> transactions;
+        private List<String> salaries;
+        private List<Long> budgets;
+    }
+}
@@ -1,9 +1,12 @@
 package com.financetracker.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -11,14 +14,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "budgets")
+@Table(name = "budgets",
+        indexes = @Index(name = "idx_budgets_user_change_sequence", columnList = "user_id, change_sequence"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Budget {
+public class Budget implements SyncVersioned {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budgets_seq")
+    @SequenceGenerator(name = "budgets_seq", sequenceName = "budgets_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -30,10 +35,16 @@ public class Budget {
     @Column(name = "spent_amount")
     private BigDecimal spentAmount = BigDecimal.ZERO;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
+    // Always the caller; writing it out would leak the account and walk its lazy collections
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -57,6 +68,11 @@ public class Budget {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Per-user sync sequence of the last write (see SyncService); empty for rows written before sync existed
+    @JsonIgnore
+    @Column(name = "change_sequence")
+    private Long changeSequence;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -80,6 +96,15 @@ public class Budget {
     }
 
     public enum BudgetPeriod {
-        WEEKLY, MONTHLY, QUARTERLY, YEARLY
+        WEEKLY, MONTHLY, QUARTERLY, YEARLY;
+
+        public LocalDate advance(LocalDate date) {
+            return switch (this) {
+                case WEEKLY -> date.plusWeeks(1);
+                case MONTHLY -> date.plusMonths(1);
+                case QUARTERLY -> date.plusMonths(3);
+                case YEARLY -> date.plusYears(1);
+            };
+        }
     }
 }
@@ -0,0 +1,53 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Outbox row telling the other instances that something changed (see OutboxInvalidationTransport). Rows are
+// written just before the change commits and removed after a few minutes.
+@Entity
+@Table(name = "cache_invalidations",
+        indexes = @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cache_invalidations_seq")
+    @SequenceGenerator(name = "cache_invalidations_seq", sequenceName = "cache_invalidations_seq", allocationSize = 50)
+    private Long id;
+
+    // Instance that wrote the change; it skips its own rows
+    @Column(name = "node_id", nullable = false, length = 64)
+    private String nodeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private EntityType entityType;
+
+    // Owner of the changed row; empty for global data such as categories and default rules
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Empty when a bulk change touched many rows
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Only what some instance caches; a new cache adds its type here and publishes it from the writer
+    public enum EntityType {
+        CATEGORY, CATEGORY_RULE
+    }
+}
@@ -0,0 +1,82 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Append-only record of one change to a transaction. Events carry the state before and after the change, so
+// projections are a plain fold over the log. User and transaction are plain ids: the log outlives deleted and
+// archived rows and must not be held up by foreign keys.
+@Entity
+@Table(name = "ledger_events",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ledger_events_user_sequence",
+                columnNames = {"user_id", "sequence_number"}),
+        indexes = @Index(name = "idx_ledger_events_transaction", columnList = "transaction_id, sequence_number"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_events_seq")
+    @SequenceGenerator(name = "ledger_events_seq", sequenceName = "ledger_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Gap-free and in commit order per user, handed out under the user's LedgerHead lock
+    @Column(name = "sequence_number", nullable = false)
+    private long sequenceNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private EventType eventType;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    // State after the change; empty for VOIDED
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType type;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "transaction_date")
+    private LocalDateTime transactionDate;
+
+    // State before the change; empty for CREATED
+    @Column(name = "previous_amount")
+    private BigDecimal previousAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_type")
+    private Transaction.TransactionType previousType;
+
+    @Column(name = "previous_category_id")
+    private Long previousCategoryId;
+
+    @Column(name = "previous_transaction_date")
+    private LocalDateTime previousTransactionDate;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (recordedAt == null) {
+            recordedAt = LocalDateTime.now();
+        }
+    }
+
+    public enum EventType {
+        CREATED, AMENDED, VOIDED
+    }
+}
@@ -0,0 +1,33 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Last sequence number handed out in a user's ledger. Appending locks this row, which serializes a user's
+// appends and keeps sequence numbers in commit order.
+@Entity
+@Table(name = "ledger_heads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerHead {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
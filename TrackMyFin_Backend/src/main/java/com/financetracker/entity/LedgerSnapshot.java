@@ -0,0 +1,38 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Latest stored projection of a user's ledger; only events after sequenceNumber need replaying on top of it
+@Entity
+@Table(name = "ledger_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerSnapshot {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "sequence_number", nullable = false)
+    private long sequenceNumber;
+
+    // LedgerProjection as JSON
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        createdAt = LocalDateTime.now();
+    }
+}
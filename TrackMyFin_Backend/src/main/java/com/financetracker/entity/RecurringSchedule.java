@@ -0,0 +1,130 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "recurring_schedules",
+        indexes = @Index(name = "idx_recurring_schedules_due", columnList = "is_active, next_occurrence, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_schedules_seq")
+    @SequenceGenerator(name = "recurring_schedules_seq", sequenceName = "recurring_schedules_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScheduleKind kind;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private String description;
+
+    // Only used for TRANSACTION schedules
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType type;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    private String notes;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Frequency frequency;
+
+    // Only used for DAY_OF_MONTH; days past the end of a short month fall on its last day
+    @Column(name = "day_of_month")
+    private Integer dayOfMonth;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // First occurrence that has not been materialized yet
+    @Column(name = "next_occurrence")
+    private LocalDate nextOccurrence;
+
+    @Column(name = "is_active")
+    private boolean isActive = true;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public LocalDate firstOccurrence() {
+        if (frequency == Frequency.DAY_OF_MONTH) {
+            LocalDate candidate = onAnchorDay(startDate);
+            return candidate.isBefore(startDate) ? onAnchorDay(startDate.plusMonths(1)) : candidate;
+        }
+        return startDate;
+    }
+
+    public LocalDate occurrenceAfter(LocalDate date) {
+        return switch (frequency) {
+            case DAILY -> date.plusDays(1);
+            case WEEKLY -> date.plusWeeks(1);
+            case MONTHLY, DAY_OF_MONTH -> onAnchorDay(date.plusMonths(1));
+        };
+    }
+
+    public boolean endsBefore(LocalDate date) {
+        return endDate != null && endDate.isBefore(date);
+    }
+
+    // Stored on every materialized row so each occurrence is inserted at most once
+    public String occurrenceKey(LocalDate date) {
+        return "schedule:" + id + ":" + date;
+    }
+
+    private LocalDate onAnchorDay(LocalDate month) {
+        int day = frequency == Frequency.DAY_OF_MONTH ? dayOfMonth : startDate.getDayOfMonth();
+        return month.withDayOfMonth(Math.min(day, month.lengthOfMonth()));
+    }
+
+    public enum ScheduleKind {
+        TRANSACTION, SALARY
+    }
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY, DAY_OF_MONTH
+    }
+}
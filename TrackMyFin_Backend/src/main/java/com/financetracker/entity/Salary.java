@@ -4,19 +4,23 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "salaries")
+@Table(name = "salaries",
+        indexes = @Index(name = "idx_salaries_user_change_sequence", columnList = "user_id, change_sequence"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Salary {
+public class Salary implements SyncVersioned {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "salaries_seq")
+    @SequenceGenerator(name = "salaries_seq", sequenceName = "salaries_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,10 +32,20 @@ public class Salary {
     @Column(name = "salary_date", nullable = false)
     private LocalDateTime salaryDate;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Set when the row was materialized from a recurring schedule
+    @Column(name = "occurrence_key", unique = true, length = 64)
+    private String occurrenceKey;
+
+    // Per-user sync sequence of the last write (see SyncService); empty for rows written before sync existed
+    @Column(name = "change_sequence")
+    private Long changeSequence;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -0,0 +1,37 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Last change sequence handed out to a user's transactions, salaries and budgets. Writers lock this row, so a
+// sequence number is never visible before every smaller one of the same user has committed.
+@Entity
+@Table(name = "sync_heads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncHead {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+
+    // Tombstones up to here were compacted away; clients that synced before it have to start over
+    @Column(name = "compacted_through", nullable = false)
+    private long compactedThrough;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,52 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Marks a deleted (or archived) row for clients that still hold a copy. User and row are plain ids, since the
+// row is gone.
+@Entity
+@Table(name = "sync_tombstones",
+        indexes = {@Index(name = "idx_sync_tombstones_user_sequence", columnList = "user_id, sequence_number"),
+                @Index(name = "idx_sync_tombstones_deleted_at", columnList = "deleted_at")})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sync_tombstones_seq")
+    @SequenceGenerator(name = "sync_tombstones_seq", sequenceName = "sync_tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "sequence_number", nullable = false)
+    private long sequenceNumber;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (deletedAt == null) {
+            deletedAt = LocalDateTime.now();
+        }
+    }
+
+    public enum EntityType {
+        TRANSACTION, SALARY, BUDGET
+    }
+}
@@ -0,0 +1,11 @@
+package com.financetracker.entity;
+
+// A user-owned row that /api/sync hands out; every write stamps it with the user's next change sequence
+public interface SyncVersioned {
+
+    Long getId();
+
+    User getUser();
+
+    void setChangeSequence(Long changeSequence);
+}
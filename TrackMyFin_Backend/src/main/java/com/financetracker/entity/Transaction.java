@@ -4,19 +4,23 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions",
+        indexes = @Index(name = "idx_transactions_user_change_sequence", columnList = "user_id, change_sequence"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Transaction {
+public class Transaction implements SyncVersioned {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -29,10 +33,14 @@ public class Transaction {
     @Column(nullable = false)
     private TransactionType type;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -48,6 +56,14 @@ public class Transaction {
 
     private String notes;
 
+    // Set when the row was materialized from a recurring schedule
+    @Column(name = "occurrence_key", unique = true, length = 64)
+    private String occurrenceKey;
+
+    // Per-user sync sequence of the last write (see SyncService); empty for rows written before sync existed
+    @Column(name = "change_sequence")
+    private Long changeSequence;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
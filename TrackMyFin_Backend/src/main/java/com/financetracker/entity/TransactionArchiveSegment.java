@@ -0,0 +1,68 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One user's archived transactions for one calendar month, encoded by ArchiveSegmentCodec
+@Entity
+@Table(name = "transaction_archive_segments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_archive_segments_user_month",
+                columnNames = {"user_id", "month_start"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionArchiveSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_archive_segments_seq")
+    @SequenceGenerator(name = "transaction_archive_segments_seq", sequenceName = "transaction_archive_segments_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "row_count", nullable = false)
+    private int rowCount;
+
+    @Column(name = "format_version", nullable = false)
+    private int formatVersion;
+
+    // CRC32 of data, checked on every read
+    @Column(nullable = false)
+    private long checksum;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -1,5 +1,6 @@
 package com.financetracker.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -7,12 +8,15 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    public static final String BUSY_MESSAGE = "The service is busy, please try again shortly";
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
@@ -25,13 +29,43 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    // For controllers that turn their own failures into error responses: a pool timeout still has to reach the 503
+    public static void rethrowIfConnectionUnavailable(Exception ex) {
+        if (ex instanceof RuntimeException runtime && isConnectionUnavailable(runtime)) {
+            throw runtime;
+        }
+    }
+
+    public static boolean isConnectionUnavailable(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // A pool that cannot hand out a connection within its timeout is saturated; tell the client to retry. The timeout
+    // arrives wrapped in data access, transaction or persistence exceptions, or Spring Security's when a login loads
+    // the user, so the whole cause chain is checked.
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException ex) {
+        if (isConnectionUnavailable(ex)) {
+            return serviceUnavailable();
+        }
         Map<String, String> error = new HashMap<>();
         error.put("error", ex.getMessage());
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    private static ResponseEntity<Map<String, String>> serviceUnavailable() {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", BUSY_MESSAGE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
         Map<String, String> error = new HashMap<>();
@@ -0,0 +1,8 @@
+package com.financetracker.invalidation;
+
+import com.financetracker.entity.CacheInvalidation;
+
+// A change committed by another instance, published as a Spring event on this one. In-process caches listen for
+// it and evict what they hold; changes made on this instance are evicted by the writer itself, as before.
+public record EntityChangedEvent(CacheInvalidation.EntityType type, Long userId, Long entityId) {
+}
@@ -0,0 +1,51 @@
+package com.financetracker.invalidation;
+
+import com.financetracker.entity.CacheInvalidation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Entry point for writers: changes are collected per transaction, duplicates dropped, and handed to the transport
+// just before the commit, so peers never hear of a change that rolled back. Peers see it as EntityChangedEvent.
+@Component
+@RequiredArgsConstructor
+public class InvalidationBus {
+
+    private final InvalidationTransport transport;
+
+    public void publish(CacheInvalidation.EntityType type, Long userId, Long entityId) {
+        EntityChangedEvent change = new EntityChangedEvent(type, userId, entityId);
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transport.publish(List.of(change));
+            return;
+        }
+        pending().add(change);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<EntityChangedEvent> pending() {
+        Set<EntityChangedEvent> pending = (Set<EntityChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Set<EntityChangedEvent> changes = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, changes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                transport.publish(changes);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(InvalidationBus.this);
+            }
+        });
+        return changes;
+    }
+}
@@ -0,0 +1,11 @@
+package com.financetracker.invalidation;
+
+import java.util.Collection;
+
+// Carries changes to the other instances, which publish them there as EntityChangedEvent. Selected with
+// app.invalidation.transport: outbox (default, a table polled by every instance) or none (single instance).
+public interface InvalidationTransport {
+
+    // Called inside the writing transaction, right before it commits, or on its own when there is none
+    void publish(Collection<EntityChangedEvent> changes);
+}
@@ -0,0 +1,16 @@
+package com.financetracker.invalidation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// For a single instance, where there are no peers to tell
+@Component
+@ConditionalOnProperty(name = "app.invalidation.transport", havingValue = "none")
+public class NoOpInvalidationTransport implements InvalidationTransport {
+
+    @Override
+    public void publish(Collection<EntityChangedEvent> changes) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.financetracker.invalidation;
+
+import com.financetracker.entity.CacheInvalidation;
+import com.financetracker.repository.CacheInvalidationRepository;
+import com.financetracker.service.SchedulerLockService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// Default transport: changes go into the cache_invalidations table in the writer's own transaction, and every
+// instance polls the table for rows written by the others. Rows are stamped right before the commit, so each poll
+// re-reads a short window (app.invalidation.outbox.lookback) to catch commits that landed after the previous poll,
+// and remembers the ids it has already delivered. Peers apply a change within about one poll interval.
+@Component
+@ConditionalOnProperty(name = "app.invalidation.transport", havingValue = "outbox", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxInvalidationTransport implements InvalidationTransport, MeterBinder {
+
+    static final String PURGE_LOCK = "cache-invalidation-purge";
+
+    private static final int PURGE_CHUNK = 1000;
+
+    private final CacheInvalidationRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerLockService schedulerLockService;
+    private final PlatformTransactionManager transactionManager;
+
+    // Defaults to a random id per start, which is what a restarted instance wants anyway
+    @Value("${app.invalidation.node-id:}")
+    private String nodeId;
+
+    // Longest expected commit (flush included) plus clock skew between instances
+    @Value("${app.invalidation.outbox.lookback:PT10S}")
+    private Duration lookback;
+
+    @Value("${app.invalidation.outbox.retention:PT10M}")
+    private Duration retention;
+
+    @Value("${app.invalidation.outbox.purge-lock-lease:PT5M}")
+    private Duration purgeLockLease;
+
+    private final Map<Long, LocalDateTime> delivered = new HashMap<>();
+    private LocalDateTime polledUntil;
+    private TransactionTemplate transactionTemplate;
+    private Timer delay;
+
+    @PostConstruct
+    void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = UUID.randomUUID().toString();
+        }
+        // Caches start empty, so changes from before this instance started are of no interest
+        polledUntil = LocalDateTime.now();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        log.info("Cache invalidation outbox active for node {}", nodeId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        delay = Timer.builder("cache.invalidation.delay")
+                .description("Time from a peer's change to its delivery on this instance")
+                .register(registry);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    @Transactional
+    public void publish(Collection<EntityChangedEvent> changes) {
+        List<CacheInvalidation> rows = new ArrayList<>(changes.size());
+        for (EntityChangedEvent change : changes) {
+            rows.add(new CacheInvalidation(null, nodeId, change.type(), change.userId(), change.entityId(), null));
+        }
+        repository.saveAll(rows);
+    }
+
+    @Scheduled(fixedDelayString = "${app.invalidation.outbox.poll-interval:PT1S}")
+    public void scheduledPoll() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.warn("Polling cache invalidations failed: {}", e.getMessage());
+        }
+    }
+
+    // Delivers the peers' changes not seen yet; returns how many distinct changes were published here
+    public synchronized int poll() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = polledUntil.minus(lookback);
+        List<CacheInvalidation> rows = repository.findFromPeersSince(since, nodeId);
+        // Rows can commit while the query runs, so delays are measured from after it
+        LocalDateTime fetchedAt = LocalDateTime.now();
+        Set<EntityChangedEvent> changes = new LinkedHashSet<>();
+        for (CacheInvalidation row : rows) {
+            if (delivered.putIfAbsent(row.getId(), row.getCreatedAt()) == null) {
+                changes.add(new EntityChangedEvent(row.getEntityType(), row.getUserId(), row.getEntityId()));
+                if (delay != null && row.getCreatedAt().isBefore(fetchedAt)) {
+                    delay.record(Duration.between(row.getCreatedAt(), fetchedAt));
+                }
+            }
+        }
+        for (EntityChangedEvent change : changes) {
+            try {
+                eventPublisher.publishEvent(change);
+            } catch (RuntimeException e) {
+                log.warn("Applying {} failed: {}", change, e.getMessage());
+            }
+        }
+        // Rows older than the window are never read again
+        delivered.values().removeIf(createdAt -> createdAt.isBefore(since));
+        polledUntil = now;
+        return changes.size();
+    }
+
+    @Scheduled(cron = "${app.invalidation.outbox.purge-cron:0 */10 * * * *}")
+    public void scheduledPurge() {
+        if (!schedulerLockService.tryLock(PURGE_LOCK, purgeLockLease)) {
+            return;
+        }
+        try {
+            int removed = purge(LocalDateTime.now().minus(retention));
+            log.debug("Cache invalidation purge removed {} rows", removed);
+        } finally {
+            schedulerLockService.unlock(PURGE_LOCK);
+        }
+    }
+
+    public int purge(LocalDateTime cutoff) {
+        int removed = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = repository.findIdsCreatedBefore(cutoff, PageRequest.of(0, PURGE_CHUNK));
+                return ids.isEmpty() ? 0 : repository.deleteAllByIds(ids);
+            });
+            if (deleted == null || deleted == 0) {
+                return removed;
+            }
+            removed += deleted;
+        }
+    }
+}
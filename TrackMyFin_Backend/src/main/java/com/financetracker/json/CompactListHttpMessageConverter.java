@@ -0,0 +1,88 @@
+package com.financetracker.json;
+
+import com.financetracker.dto.SalaryResponse;
+import com.financetracker.dto.TransactionDTO;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+// Writes List<TransactionDTO> and List<SalaryResponse> bodies in the compact CBOR form when the client asks for
+// application/cbor. Spring Boot puts converter beans ahead of its defaults, so JSON stays the default and other
+// CBOR responses still go through the plain Jackson CBOR converter.
+@Component
+public class CompactListHttpMessageConverter extends AbstractGenericHttpMessageConverter<Collection<?>> {
+
+    public CompactListHttpMessageConverter() {
+        super(CompactListWriter.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return elementType(type) != null && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Collection<?> rows, Type type, HttpOutputMessage outputMessage) throws IOException {
+        boolean transactions = elementType(type) == TransactionDTO.class;
+        try (CompactListWriter writer = transactions ? CompactListWriter.transactions(outputMessage.getBody())
+                : CompactListWriter.salaries(outputMessage.getBody())) {
+            for (Object row : rows) {
+                if (transactions) {
+                    writer.write((TransactionDTO) row);
+                } else {
+                    writer.write((SalaryResponse) row);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Collection<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("The compact list format is only written", inputMessage);
+    }
+
+    @Override
+    protected Collection<?> readInternal(Class<? extends Collection<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("The compact list format is only written", inputMessage);
+    }
+
+    private static Class<?> elementType(Type type) {
+        if (type == null) {
+            return null;
+        }
+        ResolvableType resolved = ResolvableType.forType(type);
+        if (!Collection.class.isAssignableFrom(resolved.toClass())) {
+            return null;
+        }
+        Class<?> element = resolved.asCollection().getGeneric(0).resolve();
+        return element == TransactionDTO.class || element == SalaryResponse.class ? element : null;
+    }
+}
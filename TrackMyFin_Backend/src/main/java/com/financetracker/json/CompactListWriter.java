@@ -0,0 +1,154 @@
+package com.financetracker.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.financetracker.dto.SalaryResponse;
+import com.financetracker.dto.TransactionDTO;
+import org.springframework.http.MediaType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compact binary form of transaction and salary lists, sent for Accept: application/cbor. One CBOR map:
+//   {"version": 1, "kind": "transactions"|"salaries", "amountScale": 2, "columns": [...], "rows": [[...], ...]}
+// Each row is an array in column order. Amounts are integers in minor units (amount * 10^amountScale), dates are
+// epoch milliseconds of the stored local date-time read as UTC, and nulls stay null. The type and categoryName
+// columns are dictionary-encoded per response: a value's first occurrence is written as text and gets the next
+// index of that column, later occurrences are written as the index. Rows can therefore be written as they are
+// read, which the streaming history endpoint relies on.
+public final class CompactListWriter implements Closeable {
+
+    public static final MediaType MEDIA_TYPE = MediaType.valueOf("application/cbor");
+
+    static final int VERSION = 1;
+    static final int AMOUNT_SCALE = 2;
+    static final List<String> TRANSACTION_COLUMNS = List.of("id", "amountMinor", "description", "notes",
+            "transactionDate", "type", "categoryId", "categoryName", "userId", "createdAt", "updatedAt");
+    static final List<String> SALARY_COLUMNS = List.of("id", "amountMinor", "description", "date");
+
+    private static final CBORFactory CBOR = new CBORFactory();
+
+    private final JsonGenerator generator;
+    private final Map<String, Integer> types = new HashMap<>();
+    private final Map<String, Integer> categories = new HashMap<>();
+
+    private CompactListWriter(OutputStream out, String kind, List<String> columns) throws IOException {
+        generator = CBOR.createGenerator(out);
+        generator.writeStartObject();
+        generator.writeNumberField("version", VERSION);
+        generator.writeStringField("kind", kind);
+        generator.writeNumberField("amountScale", AMOUNT_SCALE);
+        generator.writeArrayFieldStart("columns");
+        for (String column : columns) {
+            generator.writeString(column);
+        }
+        generator.writeEndArray();
+        // Indefinite length, so the row count does not have to be known up front
+        generator.writeArrayFieldStart("rows");
+    }
+
+    public static CompactListWriter transactions(OutputStream out) throws IOException {
+        return new CompactListWriter(out, "transactions", TRANSACTION_COLUMNS);
+    }
+
+    public static CompactListWriter salaries(OutputStream out) throws IOException {
+        return new CompactListWriter(out, "salaries", SALARY_COLUMNS);
+    }
+
+    // True when the Accept header asks for CBOR at least as strongly as for JSON
+    public static boolean isPreferred(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        double cbor = 0;
+        double json = 0;
+        for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+            if (mediaType.equalsTypeAndSubtype(MEDIA_TYPE)) {
+                cbor = Math.max(cbor, mediaType.getQualityValue());
+            } else if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                json = Math.max(json, mediaType.getQualityValue());
+            }
+        }
+        return cbor > 0 && cbor >= json;
+    }
+
+    public void write(TransactionDTO dto) throws IOException {
+        generator.writeStartArray(null, TRANSACTION_COLUMNS.size());
+        writeLong(dto.getId());
+        writeMinorUnits(dto.getAmount());
+        generator.writeString(dto.getDescription());
+        generator.writeString(dto.getNotes());
+        writeEpochMillis(dto.getTransactionDate());
+        writeDictionary(types, dto.getType());
+        writeLong(dto.getCategoryId());
+        writeDictionary(categories, dto.getCategoryName());
+        writeLong(dto.getUserId());
+        writeEpochMillis(dto.getCreatedAt());
+        writeEpochMillis(dto.getUpdatedAt());
+        generator.writeEndArray();
+    }
+
+    public void write(SalaryResponse salary) throws IOException {
+        generator.writeStartArray(null, SALARY_COLUMNS.size());
+        writeLong(salary.getId() != null ? Long.valueOf(salary.getId()) : null);
+        writeMinorUnits(salary.getAmount());
+        generator.writeString(salary.getDescription());
+        writeEpochMillis(salary.getDate());
+        generator.writeEndArray();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    private void writeLong(Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    // Amounts are stored with two decimals. A just-created entity still carries the amount as it was sent, so finer
+    // values are rounded the way the database rounds them on insert (half up) rather than failing after the commit.
+    private void writeMinorUnits(BigDecimal amount) throws IOException {
+        if (amount == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+    }
+
+    private void writeEpochMillis(LocalDateTime value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    private void writeDictionary(Map<String, Integer> dictionary, String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            generator.writeNumber(index);
+        } else {
+            dictionary.put(value, dictionary.size());
+            generator.writeString(value);
+        }
+    }
+}
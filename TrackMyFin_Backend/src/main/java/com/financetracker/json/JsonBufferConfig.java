@@ -0,0 +1,25 @@
+package com.financetracker.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Jackson reuses its output buffers through a thread-local pool, which works for Tomcat's pooled threads but not
+// for virtual threads: each request thread is new, so every response would allocate fresh buffers. With virtual
+// threads on, the buffers come from one bounded pool shared by all threads instead.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class JsonBufferConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sharedJsonBufferPool(
+            @Value("${app.json.buffer-pool-size:256}") int poolSize) {
+        return builder -> builder.factory(JsonFactory.builder()
+                .recyclerPool(JsonRecyclerPools.newBoundedPool(poolSize))
+                .build());
+    }
+}
@@ -0,0 +1,120 @@
+package com.financetracker.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.financetracker.dto.SalaryResponse;
+import com.financetracker.dto.TransactionDTO;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Hand-written serializers for the DTOs that make up the large list responses (transactions, salaries, history).
+// They write the same JSON as the reflective default, in the same property order and with nulls included, but with
+// pre-encoded field names, no per-property serializer lookups and dates written without a DateTimeFormatter.
+@JsonComponent
+public class ResponseSerializers {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString NOTES = new SerializedString("notes");
+    private static final SerializableString TRANSACTION_DATE = new SerializedString("transactionDate");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString CATEGORY_ID = new SerializedString("categoryId");
+    private static final SerializableString CATEGORY_NAME = new SerializedString("categoryName");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString DATE = new SerializedString("date");
+
+    public static class TransactionSerializer extends StdSerializer<TransactionDTO> {
+
+        public TransactionSerializer() {
+            super(TransactionDTO.class);
+        }
+
+        @Override
+        public void serialize(TransactionDTO dto, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(dto);
+            writeNumber(generator, ID, dto.getId());
+            writeNumber(generator, AMOUNT, dto.getAmount());
+            writeString(generator, DESCRIPTION, dto.getDescription());
+            writeString(generator, NOTES, dto.getNotes());
+            writeDateTime(generator, provider, TRANSACTION_DATE, dto.getTransactionDate());
+            writeString(generator, TYPE, dto.getType());
+            writeNumber(generator, CATEGORY_ID, dto.getCategoryId());
+            writeString(generator, CATEGORY_NAME, dto.getCategoryName());
+            writeNumber(generator, USER_ID, dto.getUserId());
+            writeDateTime(generator, provider, CREATED_AT, dto.getCreatedAt());
+            writeDateTime(generator, provider, UPDATED_AT, dto.getUpdatedAt());
+            generator.writeEndObject();
+        }
+    }
+
+    public static class SalarySerializer extends StdSerializer<SalaryResponse> {
+
+        public SalarySerializer() {
+            super(SalaryResponse.class);
+        }
+
+        @Override
+        public void serialize(SalaryResponse response, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(response);
+            writeString(generator, ID, response.getId());
+            writeNumber(generator, AMOUNT, response.getAmount());
+            writeString(generator, DESCRIPTION, response.getDescription());
+            writeDateTime(generator, provider, DATE, response.getDate());
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value)
+            throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, SerializableString name, Long value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    // writeNumber(BigDecimal) still honours WRITE_BIGDECIMAL_AS_PLAIN, like the default serializer
+    private static void writeNumber(JsonGenerator generator, SerializableString name, BigDecimal value)
+            throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator generator, SerializerProvider provider, SerializableString name,
+                                      LocalDateTime value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value, generator);
+        } else {
+            IsoDateTimes.write(value, generator);
+        }
+    }
+}
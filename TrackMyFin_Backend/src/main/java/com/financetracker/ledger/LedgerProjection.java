@@ -0,0 +1,96 @@
+package com.financetracker.ledger;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.financetracker.entity.LedgerEvent;
+import com.financetracker.entity.Transaction;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Current state of a user's money folded from the ledger up to sequenceNumber. An amendment takes the previous
+// state out and puts the new one in, so applying the events in order is all a projection ever does.
+@Data
+@NoArgsConstructor
+public class LedgerProjection {
+
+    static final String UNCATEGORIZED = "uncategorized";
+
+    private long sequenceNumber;
+    private BigDecimal totalIncome = BigDecimal.ZERO;
+    private BigDecimal totalExpenses = BigDecimal.ZERO;
+    private long transactionCount;
+
+    // Keyed by yyyy-MM
+    private Map<String, Totals> monthlyTotals = new TreeMap<>();
+
+    // Keyed by category id, or "uncategorized"
+    private Map<String, Totals> categoryTotals = new TreeMap<>();
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public BigDecimal getBalance() {
+        return totalIncome.subtract(totalExpenses);
+    }
+
+    public void apply(LedgerEvent event) {
+        if (event.getSequenceNumber() <= sequenceNumber) {
+            return;
+        }
+        if (event.getEventType() != LedgerEvent.EventType.CREATED) {
+            add(event.getPreviousAmount(), event.getPreviousType(), event.getPreviousCategoryId(),
+                    event.getPreviousTransactionDate(), -1);
+        }
+        if (event.getEventType() != LedgerEvent.EventType.VOIDED) {
+            add(event.getAmount(), event.getType(), event.getCategoryId(), event.getTransactionDate(), 1);
+        }
+        sequenceNumber = event.getSequenceNumber();
+    }
+
+    private void add(BigDecimal amount, Transaction.TransactionType type, Long categoryId,
+                     LocalDateTime transactionDate, int sign) {
+        if (type == Transaction.TransactionType.INCOME) {
+            totalIncome = totalIncome.add(signed(amount, sign));
+        } else {
+            totalExpenses = totalExpenses.add(signed(amount, sign));
+        }
+        transactionCount += sign;
+        addTo(monthlyTotals, YearMonth.from(transactionDate).toString(), amount, type, sign);
+        addTo(categoryTotals, categoryId != null ? categoryId.toString() : UNCATEGORIZED, amount, type, sign);
+    }
+
+    private static void addTo(Map<String, Totals> totals, String key, BigDecimal amount,
+                              Transaction.TransactionType type, int sign) {
+        Totals entry = totals.computeIfAbsent(key, k -> new Totals());
+        entry.add(amount, type, sign);
+        // A bucket whose last transaction moved away disappears instead of lingering at zero
+        if (entry.getCount() == 0) {
+            totals.remove(key);
+        }
+    }
+
+    private static BigDecimal signed(BigDecimal amount, int sign) {
+        return sign < 0 ? amount.negate() : amount;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Totals {
+
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expenses = BigDecimal.ZERO;
+        private long count;
+
+        void add(BigDecimal amount, Transaction.TransactionType type, int sign) {
+            if (type == Transaction.TransactionType.INCOME) {
+                income = income.add(signed(amount, sign));
+            } else {
+                expenses = expenses.add(signed(amount, sign));
+            }
+            count += sign;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.financetracker.ledger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.entity.LedgerEvent;
+import com.financetracker.entity.LedgerSnapshot;
+import com.financetracker.repository.LedgerEventRepository;
+import com.financetracker.repository.LedgerHeadRepository;
+import com.financetracker.repository.LedgerSnapshotRepository;
+import com.financetracker.service.SchedulerLockService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Builds LedgerProjections from the latest snapshot plus the events after it. Reads write nothing once the user's
+// ledger is open; the scheduled job moves snapshots forward for users whose tail has grown past
+// app.ledger.snapshot-interval events, and replayAll rebuilds every snapshot from the first event, for instance
+// after the projection itself changed. A ledger only opens on the user's first write, so reads open it for users
+// who have not written since, and both jobs first open it for every user who has none.
+// Users are independent, so the jobs fan out over a small pool with one database transaction per user.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerProjectionService {
+
+    static final String LOCK_NAME = "ledger-snapshots";
+
+    private final LedgerEventRepository eventRepository;
+    private final LedgerHeadRepository headRepository;
+    private final LedgerService ledgerService;
+    private final LedgerSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final SchedulerLockService schedulerLockService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.ledger.snapshot-interval:500}")
+    private int snapshotInterval;
+
+    @Value("${app.ledger.page-size:1000}")
+    private int pageSize;
+
+    @Value("${app.ledger.replay-parallelism:4}")
+    private int replayParallelism;
+
+    @Value("${app.ledger.lock-lease:PT1H}")
+    private Duration lockLease;
+
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    public LedgerProjection getProjection(Long userId) {
+        ledgerService.ensureOpen(userId);
+        return readOnly.execute(status -> catchUp(loadSnapshot(userId), userId));
+    }
+
+    @Scheduled(cron = "${app.ledger.snapshot-cron:0 */10 * * * *}")
+    public void scheduledSnapshots() {
+        if (!schedulerLockService.tryLock(LOCK_NAME, lockLease)) {
+            return;
+        }
+        try {
+            int written = snapshotLaggingUsers();
+            if (written > 0) {
+                log.info("Ledger snapshots written for {} users", written);
+            }
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    // Moves the snapshot of every user at least snapshot-interval events behind up to the head
+    public int snapshotLaggingUsers() {
+        openMissingLedgers();
+        return forEachUser(afterId -> headRepository.findUserIdsBehindSnapshotAfter(
+                snapshotInterval, afterId, PageRequest.of(0, pageSize)), this::snapshot);
+    }
+
+    // Rebuilds every snapshot from the first event
+    public int replayAll() {
+        openMissingLedgers();
+        return forEachUser(afterId -> headRepository.findUserIdsAfter(afterId, PageRequest.of(0, pageSize)),
+                userId -> transactionTemplate.executeWithoutResult(status ->
+                        saveSnapshot(userId, catchUp(new LedgerProjection(), userId))));
+    }
+
+    // Opens the ledger of every user who has not written since ledgers were introduced. Opened users drop out of
+    // the query, so after the first run this only finds users who registered since.
+    public int openMissingLedgers() {
+        int opened = forEachUser(afterId -> headRepository.findUserIdsWithoutLedgerAfter(
+                afterId, PageRequest.of(0, pageSize)), ledgerService::ensureOpen);
+        if (opened > 0) {
+            log.info("Ledgers opened for {} users", opened);
+        }
+        return opened;
+    }
+
+    public void snapshot(Long userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LedgerProjection snapshot = loadSnapshot(userId);
+            long from = snapshot.getSequenceNumber();
+            LedgerProjection projection = catchUp(snapshot, userId);
+            if (projection.getSequenceNumber() > from) {
+                saveSnapshot(userId, projection);
+            }
+        });
+    }
+
+    private LedgerProjection catchUp(LedgerProjection projection, Long userId) {
+        List<LedgerEvent> page;
+        do {
+            page = eventRepository.findTail(userId, projection.getSequenceNumber(), PageRequest.of(0, pageSize));
+            page.forEach(projection::apply);
+        } while (page.size() == pageSize);
+        return projection;
+    }
+
+    private LedgerProjection loadSnapshot(Long userId) {
+        return snapshotRepository.findById(userId)
+                .map(snapshot -> {
+                    try {
+                        return objectMapper.readValue(snapshot.getPayload(), LedgerProjection.class);
+                    } catch (JsonProcessingException e) {
+                        // Unreadable after a format change: fall back to a full replay
+                        log.warn("Discarding unreadable ledger snapshot of user {}", userId, e);
+                        return new LedgerProjection();
+                    }
+                })
+                .orElseGet(LedgerProjection::new);
+    }
+
+    private void saveSnapshot(Long userId, LedgerProjection projection) {
+        try {
+            snapshotRepository.save(new LedgerSnapshot(userId, projection.getSequenceNumber(),
+                    objectMapper.writeValueAsString(projection), null));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to write ledger snapshot", e);
+        }
+    }
+
+    // Pages through user ids and processes each page on the pool. A user that fails is logged and skipped so one
+    // bad ledger does not hold up the rest.
+    private int forEachUser(Function<Long, List<Long>> nextPage, Consumer<Long> action) {
+        AtomicInteger processed = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, replayParallelism))) {
+            Long afterId = 0L;
+            List<Long> userIds;
+            do {
+                userIds = nextPage.apply(afterId);
+                List<Future<?>> futures = new ArrayList<>(userIds.size());
+                for (Long userId : userIds) {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            action.accept(userId);
+                            processed.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            log.error("Ledger projection failed for user {}", userId, e);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                if (!userIds.isEmpty()) {
+                    afterId = userIds.get(userIds.size() - 1);
+                }
+            } while (userIds.size() == pageSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Ledger projection failed", e.getCause());
+        }
+        return processed.get();
+    }
+}
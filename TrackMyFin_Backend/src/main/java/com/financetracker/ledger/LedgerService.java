@@ -0,0 +1,257 @@
+package com.financetracker.ledger;
+
+import com.financetracker.archive.TransactionArchiveService;
+import com.financetracker.entity.LedgerEvent;
+import com.financetracker.entity.LedgerHead;
+import com.financetracker.entity.Transaction;
+import com.financetracker.repository.InChunks;
+import com.financetracker.repository.LedgerEventRepository;
+import com.financetracker.repository.LedgerHeadRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.UserHeadService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Appends to the per-user ledger event log. Callers change the transactions table first and record the change in
+// the same database transaction afterwards; the previous state of every event comes from the ledger itself, so
+// callers only pass the new state. Always touch transaction rows before recording: appends lock the user's
+// LedgerHead, and taking row locks after it would invert the lock order of bulk updates.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class LedgerService {
+
+    private static final String HEAD_NAME = "Ledger head";
+
+    // Rows read per page and events written per flush while a ledger is opened
+    private static final int OPEN_BATCH = 1000;
+
+    private final LedgerEventRepository eventRepository;
+    private final LedgerHeadRepository headRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchiveService transactionArchiveService;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final UserHeadService userHeadService;
+
+    public void recordCreated(List<Transaction> transactions) {
+        record(transactions.stream().map(LedgerState::of).toList(), List.of());
+    }
+
+    public void recordAmended(Transaction transaction) {
+        record(List.of(LedgerState.of(transaction)), List.of());
+    }
+
+    // For bulk updates that bypass the entities: records whatever the rows hold now
+    public void recordAmended(List<Long> transactionIds) {
+        List<LedgerState> states = InChunks.query(transactionIds, transactionRepository::findLedgerStates).stream()
+                .map(LedgerState::of)
+                .toList();
+        record(states, List.of());
+    }
+
+    public void recordVoided(Transaction transaction) {
+        record(List.of(), List.of(LedgerState.of(transaction)));
+    }
+
+    // For readers: opens the user's ledger if nothing has been recorded for them yet. Not part of the caller's
+    // transaction, so calling it before one starts holds a single connection at a time.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void ensureOpen(Long userId) {
+        userHeadService.ensureOpen(HEAD_NAME, headRepository, userId, () -> openLedger(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<LedgerEvent> getEvents(Long userId, long afterSequence, int limit) {
+        return eventRepository.findTail(userId, afterSequence, PageRequest.of(0, limit));
+    }
+
+    private void record(List<LedgerState> changed, List<LedgerState> voided) {
+        // Heads are locked in user id order so two bulk updates spanning the same users cannot deadlock
+        Map<Long, List<LedgerState>> changedByUser = changed.stream()
+                .collect(Collectors.groupingBy(LedgerState::userId, TreeMap::new, Collectors.toList()));
+        Map<Long, List<LedgerState>> voidedByUser = voided.stream()
+                .collect(Collectors.groupingBy(LedgerState::userId, TreeMap::new, Collectors.toList()));
+        TreeSet<Long> userIds = new TreeSet<>(changedByUser.keySet());
+        userIds.addAll(voidedByUser.keySet());
+        for (Long userId : userIds) {
+            append(userId, changedByUser.getOrDefault(userId, List.of()), voidedByUser.getOrDefault(userId, List.of()));
+        }
+    }
+
+    private void append(Long userId, List<LedgerState> changed, List<LedgerState> voided) {
+        LedgerHead head = lockHead(userId);
+        List<Long> transactionIds = Stream.concat(changed.stream(), voided.stream())
+                .map(LedgerState::transactionId).distinct().toList();
+        Map<Long, LedgerEvent> latest = latestEvents(transactionIds);
+
+        long sequence = head.getLastSequence();
+        List<LedgerEvent> events = new ArrayList<>();
+        for (LedgerState state : changed) {
+            LedgerEvent previous = latest.get(state.transactionId());
+            boolean live = previous != null && previous.getEventType() != LedgerEvent.EventType.VOIDED;
+            if (live && LedgerState.after(previous).equals(state)) {
+                continue;
+            }
+            LedgerEvent event = newEvent(userId, ++sequence, state.transactionId(),
+                    live ? LedgerEvent.EventType.AMENDED : LedgerEvent.EventType.CREATED);
+            setState(event, state);
+            if (live) {
+                setPreviousState(event, previous);
+            }
+            events.add(event);
+            latest.put(state.transactionId(), event);
+        }
+        for (LedgerState state : voided) {
+            LedgerEvent previous = latest.get(state.transactionId());
+            if (previous == null || previous.getEventType() == LedgerEvent.EventType.VOIDED) {
+                continue;
+            }
+            LedgerEvent event = newEvent(userId, ++sequence, state.transactionId(), LedgerEvent.EventType.VOIDED);
+            setPreviousState(event, previous);
+            events.add(event);
+            latest.put(state.transactionId(), event);
+        }
+        if (!events.isEmpty()) {
+            eventRepository.saveAll(events);
+            head.setLastSequence(sequence);
+        }
+    }
+
+    private LedgerHead lockHead(Long userId) {
+        return userHeadService.lock(HEAD_NAME, headRepository, userId, () -> openLedger(userId));
+    }
+
+    // Starts a user's ledger with a CREATED event for every transaction committed before the ledger existed.
+    // Runs in the head's own transaction, so rows the caller is still writing are left to the caller's own events.
+    private void openLedger(Long userId) {
+        headRepository.saveAndFlush(new LedgerHead(userId, 0, null));
+        long sequence = 0;
+        Iterator<Transaction> archived = transactionArchiveService
+                .streamArchived(userRepository.getReferenceById(userId)).iterator();
+        List<LedgerEvent> events = new ArrayList<>(OPEN_BATCH);
+        while (archived.hasNext()) {
+            LedgerEvent event = newEvent(userId, ++sequence, null, LedgerEvent.EventType.CREATED);
+            LedgerState state = LedgerState.of(archived.next());
+            event.setTransactionId(state.transactionId());
+            setState(event, state);
+            events.add(event);
+            if (events.size() == OPEN_BATCH) {
+                saveAndClear(events);
+            }
+        }
+        Long afterId = 0L;
+        List<Object[]> page;
+        do {
+            page = transactionRepository.findLedgerStatesByUserAfter(userId, afterId, PageRequest.of(0, OPEN_BATCH));
+            for (Object[] row : page) {
+                LedgerState state = LedgerState.of(row);
+                LedgerEvent event = newEvent(userId, ++sequence, state.transactionId(), LedgerEvent.EventType.CREATED);
+                setState(event, state);
+                events.add(event);
+                afterId = state.transactionId();
+            }
+            saveAndClear(events);
+        } while (page.size() == OPEN_BATCH);
+        LedgerHead head = headRepository.findById(userId).orElseThrow();
+        head.setLastSequence(sequence);
+        log.info("Opened ledger for user {} with {} existing transactions", userId, sequence);
+    }
+
+    private void saveAndClear(List<LedgerEvent> events) {
+        eventRepository.saveAll(events);
+        entityManager.flush();
+        entityManager.clear();
+        events.clear();
+    }
+
+    private Map<Long, LedgerEvent> latestEvents(List<Long> transactionIds) {
+        return InChunks.query(transactionIds, eventRepository::findLatestByTransactionIds).stream()
+                .collect(Collectors.toMap(LedgerEvent::getTransactionId, Function.identity(), (a, b) -> a,
+                        LinkedHashMap::new));
+    }
+
+    private static LedgerEvent newEvent(Long userId, long sequence, Long transactionId, LedgerEvent.EventType type) {
+        LedgerEvent event = new LedgerEvent();
+        event.setUserId(userId);
+        event.setSequenceNumber(sequence);
+        event.setTransactionId(transactionId);
+        event.setEventType(type);
+        event.setRecordedAt(LocalDateTime.now());
+        return event;
+    }
+
+    private static void setState(LedgerEvent event, LedgerState state) {
+        event.setAmount(state.amount());
+        event.setType(state.type());
+        event.setCategoryId(state.categoryId());
+        event.setTransactionDate(state.transactionDate());
+    }
+
+    private static void setPreviousState(LedgerEvent event, LedgerEvent previous) {
+        event.setPreviousAmount(previous.getAmount());
+        event.setPreviousType(previous.getType());
+        event.setPreviousCategoryId(previous.getCategoryId());
+        event.setPreviousTransactionDate(previous.getTransactionDate());
+    }
+
+    // The fields of a transaction the ledger tracks
+    private record LedgerState(Long transactionId, Long userId, BigDecimal amount, Transaction.TransactionType type,
+                               Long categoryId, LocalDateTime transactionDate) {
+
+        static LedgerState of(Transaction transaction) {
+            return new LedgerState(transaction.getId(), transaction.getUser().getId(), transaction.getAmount(),
+                    transaction.getType(), transaction.getCategory() != null ? transaction.getCategory().getId() : null,
+                    transaction.getTransactionDate());
+        }
+
+        static LedgerState of(Object[] row) {
+            return new LedgerState((Long) row[0], (Long) row[1], (BigDecimal) row[2],
+                    (Transaction.TransactionType) row[3], (Long) row[4], (LocalDateTime) row[5]);
+        }
+
+        static LedgerState after(LedgerEvent event) {
+            return new LedgerState(event.getTransactionId(), event.getUserId(), event.getAmount(), event.getType(),
+                    event.getCategoryId(), event.getTransactionDate());
+        }
+
+        // BigDecimal.equals would tell 10.0 from 10.00
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LedgerState other
+                    && Objects.equals(transactionId, other.transactionId)
+                    && Objects.equals(userId, other.userId)
+                    && (amount == null ? other.amount == null
+                        : other.amount != null && amount.compareTo(other.amount) == 0)
+                    && type == other.type
+                    && Objects.equals(categoryId, other.categoryId)
+                    && Objects.equals(transactionDate, other.transactionDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(transactionId, userId, type, categoryId, transactionDate);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.financetracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lets each configured logger (or package) through at most eventsPerSecond INFO-and-below events, with bursts of
+// the same size. Turbo filters run before the event is created, so a suppressed line costs no formatting.
+// WARN and ERROR always pass.
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private static final Bucket UNLIMITED = new Bucket(0, 0);
+
+    private final List<String> loggers = new ArrayList<>();
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private double eventsPerSecond = 5;
+
+    // Comma-separated logger or package names
+    public void setLoggers(String loggers) {
+        for (String logger : loggers.split(",")) {
+            if (!logger.isBlank()) {
+                this.loggers.add(logger.strip());
+            }
+        }
+    }
+
+    public void setEventsPerSecond(double eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    public long getSuppressed() {
+        return buckets.values().stream().mapToLong(bucket -> bucket.suppressed.get()).sum();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        // format is null for isXxxEnabled() checks, which must not use up the budget
+        if (format == null || level.isGreaterOrEqual(Level.WARN) || !logger.isEnabledFor(level)) {
+            return FilterReply.NEUTRAL;
+        }
+        Bucket bucket = buckets.computeIfAbsent(logger.getName(), this::bucketFor);
+        return bucket == UNLIMITED || bucket.tryAcquire() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Bucket bucketFor(String name) {
+        for (String configured : loggers) {
+            if (name.equals(configured) || name.startsWith(configured + ".")) {
+                long interval = (long) (TimeUnit.SECONDS.toNanos(1) / eventsPerSecond);
+                long burst = Math.max(1, (long) eventsPerSecond);
+                return new Bucket(interval, (burst - 1) * interval);
+            }
+        }
+        return UNLIMITED;
+    }
+
+    // Generic cell rate algorithm: one timestamp per logger, no timer thread and no lock
+    private static final class Bucket {
+
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Bucket(long intervalNanos, long toleranceNanos) {
+            this.intervalNanos = intervalNanos;
+            this.toleranceNanos = toleranceNanos;
+        }
+
+        private boolean tryAcquire() {
+            long now = System.nanoTime();
+            while (true) {
+                long previous = theoreticalArrival.get();
+                long arrival = Math.max(previous, now);
+                if (arrival - now > toleranceNanos) {
+                    suppressed.incrementAndGet();
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(previous, arrival + intervalNanos)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
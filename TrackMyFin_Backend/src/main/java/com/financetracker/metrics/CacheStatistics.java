@@ -0,0 +1,40 @@
+package com.financetracker.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Hit and miss counts of an in-process cache, published as Micrometer's standard cache.gets counter.
+// Counting is a LongAdder increment, so it is cheap enough for every lookup.
+public class CacheStatistics {
+
+    public static final String GETS = "cache.gets";
+
+    private final String cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CacheStatistics(String cache) {
+        this.cache = cache;
+    }
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(GETS, hits, LongAdder::sum)
+                .description("Cache lookups answered from memory")
+                .tags("cache", cache, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder(GETS, misses, LongAdder::sum)
+                .description("Cache lookups that had to load from the database")
+                .tags("cache", cache, "result", "miss")
+                .register(registry);
+    }
+}
@@ -0,0 +1,69 @@
+package com.financetracker.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.TimeUnit;
+
+// Keeps Hikari's standard pool metrics and adds acquire and usage timers tagged with the endpoint holding the
+// connection. Hikari calls the tracker on the borrowing thread, so the endpoint of the request is still known.
+public class EndpointMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public EndpointMetricsTrackerFactory(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        MeterRegistry registry = meterRegistry.getObject();
+        IMetricsTracker pool = new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats);
+        return new IMetricsTracker() {
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                pool.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                pool.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+                timer(registry, "db.connection.acquire", poolName).record(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                pool.recordConnectionUsageMillis(elapsedBorrowedMillis);
+                timer(registry, "db.connection.usage", poolName).record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                pool.recordConnectionTimeout();
+                Counter.builder("db.connection.timeout")
+                        .description("Connection requests that timed out, by endpoint")
+                        .tags("pool", poolName, "endpoint", RequestEndpoint.current())
+                        .register(registry)
+                        .increment();
+            }
+
+            @Override
+            public void close() {
+                pool.close();
+            }
+        };
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String poolName) {
+        return Timer.builder(name)
+                .tags("pool", poolName, "endpoint", RequestEndpoint.current())
+                .register(registry);
+    }
+}
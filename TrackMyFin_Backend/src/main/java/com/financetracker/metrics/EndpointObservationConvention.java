@@ -0,0 +1,22 @@
+package com.financetracker.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+// Adds the controller method to http.server.requests, named like the endpoint tag of the connection metrics.
+// Requests turned away before reaching a controller (authentication, unknown paths) are tagged "none".
+@Component
+public class EndpointObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(endpoint(context));
+    }
+
+    private static KeyValue endpoint(ServerRequestObservationContext context) {
+        return KeyValue.of("endpoint", RequestEndpoint.of(context.getCarrier()));
+    }
+}
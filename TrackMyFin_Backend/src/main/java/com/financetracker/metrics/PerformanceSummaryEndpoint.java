@@ -0,0 +1,129 @@
+package com.financetracker.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// /actuator/performance: a JSON digest of the meters Prometheus scrapes, slowest first. Timers are summed over
+// their other tags (status, exception, ...), and percentiles come from the summed histogram buckets, so they are
+// bucket upper bounds rather than exact values.
+@Component
+@Endpoint(id = "performance")
+@RequiredArgsConstructor
+public class PerformanceSummaryEndpoint {
+
+    static final String HTTP_REQUESTS = "http.server.requests";
+    static final String REPOSITORY_INVOCATIONS = "spring.data.repository.invocations";
+    static final String JWT_FILTER = "security.jwt.filter";
+    static final String CONNECTION_USAGE = "db.connection.usage";
+
+    private final MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoints", timers(HTTP_REQUESTS, timer -> tag(timer, "endpoint"),
+                timer -> "SERVER_ERROR".equals(timer.getId().getTag("outcome"))));
+        summary.put("repositories", timers(REPOSITORY_INVOCATIONS,
+                timer -> tag(timer, "repository") + "." + tag(timer, "method"),
+                timer -> "ERROR".equals(timer.getId().getTag("state"))));
+        summary.put("connections", timers(CONNECTION_USAGE, timer -> tag(timer, "endpoint"), timer -> false));
+        summary.put("jwtFilter", timers(JWT_FILTER, timer -> tag(timer, "outcome"),
+                timer -> "error".equals(timer.getId().getTag("outcome"))));
+        summary.put("caches", caches());
+        return summary;
+    }
+
+    private List<TimerSummary> timers(String name, Function<Timer, String> key, Predicate<Timer> failed) {
+        Map<String, List<Timer>> groups = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(name).timers()) {
+            groups.computeIfAbsent(key.apply(timer), k -> new ArrayList<>()).add(timer);
+        }
+        List<TimerSummary> summaries = new ArrayList<>();
+        groups.forEach((group, timers) -> summaries.add(summarize(group, timers, failed)));
+        summaries.sort(Comparator.comparingDouble(TimerSummary::totalMs).reversed());
+        return summaries;
+    }
+
+    private static TimerSummary summarize(String name, List<Timer> timers, Predicate<Timer> failed) {
+        long count = 0;
+        long errors = 0;
+        double totalMs = 0;
+        double maxMs = 0;
+        // Cumulative count at or below each bucket boundary, in milliseconds
+        TreeMap<Double, Double> buckets = new TreeMap<>();
+        for (Timer timer : timers) {
+            count += timer.count();
+            if (failed.test(timer)) {
+                errors += timer.count();
+            }
+            totalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+            maxMs = Math.max(maxMs, timer.max(TimeUnit.MILLISECONDS));
+            for (CountAtBucket bucket : timer.takeSnapshot().histogramCounts()) {
+                buckets.merge(bucket.bucket(TimeUnit.MILLISECONDS), bucket.count(), Double::sum);
+            }
+        }
+        return new TimerSummary(name, count, errors, round(totalMs), count == 0 ? 0 : round(totalMs / count),
+                round(maxMs), percentile(buckets, 0.5, maxMs), percentile(buckets, 0.95, maxMs),
+                percentile(buckets, 0.99, maxMs));
+    }
+
+    private static Double percentile(TreeMap<Double, Double> buckets, double percentile, double maxMs) {
+        if (buckets.isEmpty() || buckets.lastEntry().getValue() == 0) {
+            return null;
+        }
+        double target = percentile * buckets.lastEntry().getValue();
+        for (Map.Entry<Double, Double> bucket : buckets.entrySet()) {
+            if (bucket.getValue() >= target) {
+                return round(Math.min(bucket.getKey(), Math.max(maxMs, 0.001)));
+            }
+        }
+        return round(maxMs);
+    }
+
+    private List<CacheSummary> caches() {
+        Map<String, double[]> counts = new TreeMap<>();
+        for (FunctionCounter counter : meterRegistry.find(CacheStatistics.GETS).functionCounters()) {
+            double[] hitsAndMisses = counts.computeIfAbsent(counter.getId().getTag("cache"), k -> new double[2]);
+            hitsAndMisses["hit".equals(counter.getId().getTag("result")) ? 0 : 1] += counter.count();
+        }
+        List<CacheSummary> summaries = new ArrayList<>();
+        counts.forEach((cache, hitsAndMisses) -> {
+            double total = hitsAndMisses[0] + hitsAndMisses[1];
+            summaries.add(new CacheSummary(cache, (long) hitsAndMisses[0], (long) hitsAndMisses[1],
+                    total == 0 ? null : round(hitsAndMisses[0] / total)));
+        });
+        return summaries;
+    }
+
+    private static String tag(Timer timer, String key) {
+        String value = timer.getId().getTag(key);
+        return value != null ? value : RequestEndpoint.NONE;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    public record TimerSummary(String name, long count, long errors, double totalMs, double meanMs, double maxMs,
+                               Double p50Ms, Double p95Ms, Double p99Ms) {
+    }
+
+    public record CacheSummary(String cache, long hits, long misses, Double hitRatio) {
+    }
+}
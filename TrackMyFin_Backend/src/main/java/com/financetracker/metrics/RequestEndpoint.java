@@ -0,0 +1,39 @@
+package com.financetracker.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+// The controller method handling the current request, used to tag connection metrics per endpoint
+public final class RequestEndpoint {
+
+    public static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RequestEndpoint() {
+    }
+
+    public static String current() {
+        String endpoint = CURRENT.get();
+        return endpoint != null ? endpoint : NONE;
+    }
+
+    // The endpoint Spring MVC matched for a request, once handler mapping has run; usable after the thread-local is gone
+    public static String of(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod handlerMethod ? name(handlerMethod) : NONE;
+    }
+
+    static String name(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+
+    static void set(String endpoint) {
+        CURRENT.set(endpoint);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
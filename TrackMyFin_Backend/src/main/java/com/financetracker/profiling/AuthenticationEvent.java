@@ -0,0 +1,27 @@
+package com.financetracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Token parsing plus the user lookup; the lookup itself also shows up as a nested repository call
+@Name("com.financetracker.Authentication")
+@Label("JWT Authentication")
+@Category({"TrackMyFin", "Security"})
+@Description("Bearer token check done by the JWT filter")
+@StackTrace(false)
+public class AuthenticationEvent extends jdk.jfr.Event {
+
+    @Label("Outcome")
+    String outcome;
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.financetracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.financetracker.DashboardPhase")
+@Label("Dashboard Phase")
+@Category({"TrackMyFin", "Dashboard"})
+@Description("One step of building dashboard stats or charts: loading rows or bucketing them in memory")
+@StackTrace(false)
+public class DashboardPhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Range")
+    String range;
+
+    @Label("Transactions")
+    @Description("Transactions the phase worked on, or -1 when it only ran aggregate queries")
+    int transactionCount;
+
+    public static DashboardPhaseEvent start(String phase, Long userId, String range) {
+        DashboardPhaseEvent event = new DashboardPhaseEvent();
+        event.phase = phase;
+        event.userId = userId != null ? userId : -1;
+        event.range = range;
+        event.begin();
+        return event;
+    }
+
+    public void finish(int transactionCount) {
+        end();
+        if (shouldCommit()) {
+            this.transactionCount = transactionCount;
+            commit();
+        }
+    }
+}
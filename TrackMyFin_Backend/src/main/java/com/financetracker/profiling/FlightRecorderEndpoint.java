@@ -0,0 +1,42 @@
+package com.financetracker.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+// /actuator/jfr (admins only): list recordings, POST {"duration": "PT2M"} to record, GET /actuator/jfr/{id} for the file
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class FlightRecorderEndpoint {
+
+    private final FlightRecorderService flightRecorderService;
+
+    @ReadOperation
+    public List<FlightRecorderService.RecordingInfo> recordings() {
+        return flightRecorderService.recordings();
+    }
+
+    @WriteOperation
+    public FlightRecorderService.RecordingInfo start(@Nullable String duration) throws IOException, ParseException {
+        return flightRecorderService.startRecording(duration != null ? Duration.parse(duration) : null);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource recording(@Selector long id) throws IOException {
+        InputStream stream = flightRecorderService.open(id);
+        return stream != null ? new InputStreamResource(stream) : null;
+    }
+}
@@ -0,0 +1,178 @@
+package com.financetracker.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Two kinds of JFR recordings: an optional continuous one with the JDK's low-overhead "default" settings that only
+// keeps the slow requests, queries and phases, and short on-demand ones with "profile" settings that keep every event.
+@Service
+@Slf4j
+public class FlightRecorderService {
+
+    static final String CONTINUOUS_NAME = "financetracker-continuous";
+
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS = List.of(RequestEvent.class,
+            AuthenticationEvent.class, RepositoryCallEvent.class, DashboardPhaseEvent.class, PasswordHashEvent.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final Map<Long, Recording> onDemand = new ConcurrentHashMap<>();
+    private volatile Recording continuous;
+
+    @Value("${app.jfr.continuous.enabled:false}")
+    private boolean continuousEnabled;
+
+    @Value("${app.jfr.continuous.max-age:PT1H}")
+    private Duration continuousMaxAge;
+
+    @Value("${app.jfr.continuous.max-size:250MB}")
+    private DataSize continuousMaxSize;
+
+    // Events faster than this are not kept by the continuous recording
+    @Value("${app.jfr.continuous.threshold:PT0.02S}")
+    private Duration continuousThreshold;
+
+    @Value("${app.jfr.directory:${java.io.tmpdir}/financetracker-jfr}")
+    private Path directory;
+
+    @Value("${app.jfr.max-duration:PT10M}")
+    private Duration maxDuration;
+
+    @Value("${app.jfr.keep-recordings:5}")
+    private int keepRecordings;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startContinuousRecording() throws IOException, ParseException {
+        if (!continuousEnabled || continuous != null) {
+            return;
+        }
+        Recording recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName(CONTINUOUS_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(continuousMaxAge);
+        recording.setMaxSize(continuousMaxSize.toBytes());
+        for (Class<? extends jdk.jfr.Event> event : EVENTS) {
+            recording.enable(event).withThreshold(event == PasswordHashEvent.class ? Duration.ZERO : continuousThreshold);
+        }
+        recording.start();
+        continuous = recording;
+        log.info("Continuous JFR recording started, keeping {} / {}", continuousMaxAge, continuousMaxSize);
+    }
+
+    public RecordingInfo startRecording(Duration duration) throws IOException, ParseException {
+        Duration length = duration == null || duration.isNegative() || duration.isZero() ? Duration.ofSeconds(60)
+                : duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+        Files.createDirectories(directory);
+
+        Recording recording = new Recording(Configuration.getConfiguration("profile"));
+        String name = "financetracker-" + FILE_TIMESTAMP.format(Instant.now());
+        recording.setName(name);
+        for (Class<? extends jdk.jfr.Event> event : EVENTS) {
+            recording.enable(event).withThreshold(Duration.ZERO);
+        }
+        recording.setDestination(directory.resolve(name + "-" + recording.getId() + ".jfr"));
+        recording.setDuration(length);
+        recording.start();
+        onDemand.put(recording.getId(), recording);
+        discardOldRecordings();
+        log.info("JFR recording {} started for {}", recording.getId(), length);
+        return RecordingInfo.of(recording);
+    }
+
+    public List<RecordingInfo> recordings() {
+        List<RecordingInfo> recordings = new ArrayList<>();
+        Recording current = continuous;
+        if (current != null) {
+            recordings.add(RecordingInfo.of(current));
+        }
+        onDemand.values().stream()
+                .sorted(Comparator.comparingLong(Recording::getId).reversed())
+                .forEach(recording -> recordings.add(RecordingInfo.of(recording)));
+        return recordings;
+    }
+
+    // A finished recording is served from its destination file. A running one is dumped as it is so far, and the
+    // dump is deleted when the stream is closed, so repeated downloads do not pile up next to the kept recordings.
+    public InputStream open(long id) throws IOException {
+        Recording current = continuous;
+        Recording recording = current != null && current.getId() == id ? current : onDemand.get(id);
+        if (recording == null) {
+            return null;
+        }
+        if (recording.getState() == RecordingState.STOPPED && recording.getDestination() != null
+                && Files.exists(recording.getDestination())) {
+            return Files.newInputStream(recording.getDestination());
+        }
+        Files.createDirectories(directory);
+        Path dump = directory.resolve(recording.getName() + "-" + id + "-dump-"
+                + FILE_TIMESTAMP.format(Instant.now()) + ".jfr");
+        recording.dump(dump);
+        return Files.newInputStream(dump, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    private void discardOldRecordings() {
+        List<Recording> finished = onDemand.values().stream()
+                .filter(recording -> recording.getState() == RecordingState.STOPPED
+                        || recording.getState() == RecordingState.CLOSED)
+                .sorted(Comparator.comparingLong(Recording::getId))
+                .toList();
+        for (int i = 0; i < finished.size() - keepRecordings; i++) {
+            Recording recording = finished.get(i);
+            onDemand.remove(recording.getId());
+            Path destination = recording.getDestination();
+            recording.close();
+            try {
+                if (destination != null) {
+                    Files.deleteIfExists(destination);
+                }
+            } catch (IOException e) {
+                log.warn("Could not delete JFR recording {}: {}", destination, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        onDemand.values().forEach(Recording::close);
+        onDemand.clear();
+        Recording current = continuous;
+        continuous = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    public record RecordingInfo(long id, String name, String state, Instant startTime, Duration duration,
+                                long sizeBytes, String destination) {
+
+        static RecordingInfo of(Recording recording) {
+            return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                    recording.getStartTime(), recording.getDuration(), recording.getSize(),
+                    recording.getDestination() != null ? recording.getDestination().toString() : null);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.financetracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.financetracker.PasswordHash")
+@Label("Password Hashing")
+@Category({"TrackMyFin", "Security"})
+@StackTrace(false)
+public class PasswordHashEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Matched")
+    boolean matched;
+}
@@ -0,0 +1,28 @@
+package com.financetracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.financetracker.RepositoryCall")
+@Label("Repository Call")
+@Category({"TrackMyFin", "Database"})
+@Description("One Spring Data repository method call, including its transaction handling")
+@StackTrace(false)
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Rows")
+    @Description("Rows returned: list size, 0 or 1 for single results, -1 when unknown (streams)")
+    long rows;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,32 @@
+package com.financetracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.financetracker.Request")
+@Label("HTTP Request")
+@Category({"TrackMyFin", "Web"})
+@Description("One HTTP request, from the first servlet filter until the response is complete")
+@StackTrace(false)
+public class RequestEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Endpoint")
+    @Description("Controller method that handled the request, or none")
+    String endpoint;
+
+    @Label("User Id")
+    @Description("Authenticated user, or -1")
+    long userId;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,78 @@
+package com.financetracker.profiling;
+
+import com.financetracker.metrics.RequestEndpoint;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Runs ahead of Spring Security, so the event covers the JWT filter as well as the controller.
+// Streaming responses finish on another thread; their event is committed when the async request completes.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RequestEventFilter extends OncePerRequestFilter {
+
+    // Set by UserIdInterceptor: the security context is already cleared when the outermost filter finishes
+    static final String USER_ID_ATTRIBUTE = RequestEventFilter.class.getName() + ".userId";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CommitOnComplete(event, request, response));
+            } else {
+                commit(event, request, response);
+            }
+        }
+    }
+
+    private static void commit(RequestEvent event, HttpServletRequest request, HttpServletResponse response) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.uri = request.getRequestURI();
+            event.endpoint = RequestEndpoint.of(request);
+            event.userId = request.getAttribute(USER_ID_ATTRIBUTE) instanceof Long userId ? userId : -1;
+            event.status = response.getStatus();
+            event.commit();
+        }
+    }
+
+    private record CommitOnComplete(RequestEvent event, HttpServletRequest request, HttpServletResponse response)
+            implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent asyncEvent) {
+            commit(event, request, response);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent asyncEvent) {
+        }
+
+        @Override
+        public void onError(AsyncEvent asyncEvent) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent asyncEvent) {
+        }
+    }
+}
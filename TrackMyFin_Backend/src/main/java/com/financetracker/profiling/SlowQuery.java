@@ -0,0 +1,41 @@
+package com.financetracker.profiling;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+// One statement that ran longer than the threshold. The plan is filled in later for the sampled ones.
+@Getter
+public class SlowQuery {
+
+    private final Instant time;
+    private final String endpoint;
+    private final long elapsedMs;
+    private final String sql;
+    private final int batchSize;
+    private final List<String> parameters;
+    private final boolean success;
+    private volatile List<Map<String, Object>> plan;
+    private volatile String planError;
+
+    SlowQuery(Instant time, String endpoint, long elapsedMs, String sql, int batchSize, List<String> parameters,
+              boolean success) {
+        this.time = time;
+        this.endpoint = endpoint;
+        this.elapsedMs = elapsedMs;
+        this.sql = sql;
+        this.batchSize = batchSize;
+        this.parameters = parameters;
+        this.success = success;
+    }
+
+    void setPlan(List<Map<String, Object>> plan) {
+        this.plan = plan;
+    }
+
+    void setPlanError(String planError) {
+        this.planError = planError;
+    }
+}
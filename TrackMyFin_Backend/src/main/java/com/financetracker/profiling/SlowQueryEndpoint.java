@@ -0,0 +1,61 @@
+package com.financetracker.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+// /actuator/slowqueries (admins only): the captured statements, newest first, plus a per-statement digest of the
+// buffer with the most recent plan, worst total time first. DELETE empties the buffer.
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+        List<SlowQuery> queries = slowQueryLog.queries();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("thresholdMs", slowQueryLog.getThreshold().toMillis());
+        result.put("captured", slowQueryLog.getCaptured());
+        result.put("statements", statements(queries));
+        result.put("queries", queries);
+        return result;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryLog.clear();
+    }
+
+    private static List<StatementSummary> statements(List<SlowQuery> newestFirst) {
+        Map<String, List<SlowQuery>> bySql = newestFirst.stream()
+                .collect(Collectors.groupingBy(SlowQuery::getSql, LinkedHashMap::new, Collectors.toList()));
+        List<StatementSummary> statements = new ArrayList<>();
+        bySql.forEach((sql, queries) -> {
+            long total = queries.stream().mapToLong(SlowQuery::getElapsedMs).sum();
+            long max = queries.stream().mapToLong(SlowQuery::getElapsedMs).max().orElse(0);
+            List<Map<String, Object>> plan = queries.stream().map(SlowQuery::getPlan)
+                    .filter(Objects::nonNull).findFirst().orElse(null);
+            statements.add(new StatementSummary(sql, queries.size(), total, max, (double) total / queries.size(),
+                    plan));
+        });
+        statements.sort(Comparator.comparingLong(StatementSummary::totalMs).reversed());
+        return statements;
+    }
+
+    public record StatementSummary(String sql, int count, long totalMs, long maxMs, double meanMs,
+                                   List<Map<String, Object>> plan) {
+    }
+}
@@ -0,0 +1,194 @@
+package com.financetracker.profiling;
+
+import com.financetracker.metrics.RequestEndpoint;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Keeps the last app.slow-query.capacity statements slower than app.slow-query.threshold. The first time a SELECT
+// shows up, and again at most once per app.slow-query.explain-interval, its plan is fetched with EXPLAIN on a
+// background thread using the original parameters, so a plan regression after data growth shows up as well.
+@Service
+@Slf4j
+public class SlowQueryLog {
+
+    private static final int MAX_TRACKED_STATEMENTS = 1000;
+
+    private final Duration threshold;
+    private final int capacity;
+    private final boolean explain;
+    private final long explainIntervalMillis;
+    private final Deque<SlowQuery> queries = new ArrayDeque<>();
+    private final LongAdder captured = new LongAdder();
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+    // One EXPLAIN at a time, a short queue, and drop the rest: the log must never add load to a struggling database
+    private final ThreadPoolExecutor explainer;
+
+    public SlowQueryLog(@Value("${app.slow-query.threshold:PT0.5S}") Duration threshold,
+                        @Value("${app.slow-query.capacity:200}") int capacity,
+                        @Value("${app.slow-query.explain:true}") boolean explain,
+                        @Value("${app.slow-query.explain-interval:PT10M}") Duration explainInterval) {
+        this.threshold = threshold;
+        this.capacity = capacity;
+        this.explain = explain;
+        this.explainIntervalMillis = explainInterval.toMillis();
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public long getCaptured() {
+        return captured.sum();
+    }
+
+    // Newest first
+    public List<SlowQuery> queries() {
+        synchronized (queries) {
+            List<SlowQuery> newestFirst = new ArrayList<>(queries);
+            Collections.reverse(newestFirst);
+            return newestFirst;
+        }
+    }
+
+    public void clear() {
+        synchronized (queries) {
+            queries.clear();
+        }
+        lastExplained.clear();
+    }
+
+    void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList, DataSource explainDataSource) {
+        if (execInfo.getElapsedTime() < threshold.toMillis()) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            List<ParameterSetOperation> parameters = parametersList.isEmpty() ? List.of() : parametersList.get(0);
+            SlowQuery query = new SlowQuery(Instant.now(), RequestEndpoint.current(), execInfo.getElapsedTime(),
+                    queryInfo.getQuery(), execInfo.isBatch() ? parametersList.size() : 1, redact(parameters),
+                    execInfo.isSuccess());
+            add(query);
+            log.warn("Slow query ({} ms, {}): {}", query.getElapsedMs(), query.getEndpoint(), query.getSql());
+            if (explain && !execInfo.isBatch() && isSelect(query.getSql()) && dueForExplain(query.getSql())) {
+                List<ParameterSetOperation> bound = List.copyOf(parameters);
+                explainer.execute(() -> explain(query, bound, explainDataSource));
+            }
+        }
+    }
+
+    private void add(SlowQuery query) {
+        captured.increment();
+        synchronized (queries) {
+            if (queries.size() >= capacity) {
+                queries.removeFirst();
+            }
+            queries.addLast(query);
+        }
+    }
+
+    private boolean dueForExplain(String sql) {
+        long now = System.currentTimeMillis();
+        if (lastExplained.size() >= MAX_TRACKED_STATEMENTS) {
+            lastExplained.clear();
+        }
+        Long previous = lastExplained.get(sql);
+        if (previous != null && now - previous < explainIntervalMillis) {
+            return false;
+        }
+        // Only the thread that moves the timestamp forward runs the EXPLAIN
+        return previous == null ? lastExplained.putIfAbsent(sql, now) == null
+                : lastExplained.replace(sql, previous, now);
+    }
+
+    private static void explain(SlowQuery query, List<ParameterSetOperation> parameters, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.getSql())) {
+            for (ParameterSetOperation operation : parameters) {
+                if (operation.getMethod().getName().startsWith("set")) {
+                    operation.getMethod().invoke(statement, operation.getArgs());
+                }
+            }
+            List<Map<String, Object>> plan = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                while (resultSet.next()) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        row.put(metaData.getColumnLabel(column), resultSet.getObject(column));
+                    }
+                    plan.add(row);
+                }
+            }
+            query.setPlan(plan);
+        } catch (Exception e) {
+            query.setPlanError(e.getClass().getSimpleName() + ": " + e.getMessage());
+            log.debug("EXPLAIN failed for {}", query.getSql(), e);
+        }
+    }
+
+    // Ids, flags and dates are what explain a plan; text and amounts can be personal (emails, descriptions, money)
+    static List<String> redact(List<ParameterSetOperation> operations) {
+        List<ParameterSetOperation> setters = operations.stream()
+                .filter(operation -> operation.getMethod().getName().startsWith("set")
+                        && operation.getArgs().length >= 2)
+                .sorted(Comparator.comparingInt(operation ->
+                        operation.getArgs()[0] instanceof Integer index ? index : Integer.MAX_VALUE))
+                .toList();
+        List<String> redacted = new ArrayList<>();
+        for (ParameterSetOperation operation : setters) {
+            Object value = operation.getArgs()[1];
+            if ("setNull".equals(operation.getMethod().getName()) || value == null) {
+                redacted.add("NULL");
+            } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                    || value instanceof Boolean || value instanceof TemporalAccessor || value instanceof java.util.Date) {
+                redacted.add(value.toString());
+            } else {
+                redacted.add("?" + value.getClass().getSimpleName());
+            }
+        }
+        return redacted;
+    }
+
+    private static boolean isSelect(String sql) {
+        String trimmed = sql.stripLeading();
+        return trimmed.regionMatches(true, 0, "select", 0, 6) || trimmed.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    @PreDestroy
+    public void close() {
+        explainer.shutdownNow();
+    }
+}
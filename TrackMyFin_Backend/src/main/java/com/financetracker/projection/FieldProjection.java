@@ -0,0 +1,85 @@
+package com.financetracker.projection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// The fields a list endpoint can be narrowed to with ?fields=, each mapped to the JPQL expression that reads it.
+// Only the requested expressions end up in the select list, and a join is only added when one of them needs it,
+// so the database, the mapping and the serializer all skip what was not asked for.
+public final class FieldProjection {
+
+    private final String from;
+    private final Map<String, String> joins = new LinkedHashMap<>();
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+
+    private FieldProjection(String from) {
+        this.from = from;
+    }
+
+    // The root entity with its alias, e.g. "Transaction t"
+    public static FieldProjection from(String from) {
+        return new FieldProjection(from);
+    }
+
+    public FieldProjection join(String alias, String join) {
+        joins.put(alias, join);
+        return this;
+    }
+
+    public FieldProjection field(String name, String expression) {
+        return field(name, expression, null, null);
+    }
+
+    public FieldProjection field(String name, String expression, String join) {
+        return field(name, expression, join, null);
+    }
+
+    public FieldProjection field(String name, String expression, String join, Function<Object, Object> convert) {
+        fields.put(name, new Field(name, expression, join, convert));
+        return this;
+    }
+
+    // Requested fields in declaration order, so the output does not depend on how the list was written
+    public List<Field> select(String requested) {
+        List<String> names = new ArrayList<>();
+        for (String name : requested.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!fields.containsKey(trimmed)) {
+                throw new IllegalArgumentException("Unknown field '" + trimmed + "'; choose from " + fields.keySet());
+            }
+            names.add(trimmed);
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("No fields requested; choose from " + fields.keySet());
+        }
+        return fields.values().stream().filter(field -> names.contains(field.name())).toList();
+    }
+
+    // SELECT <expressions> FROM <root> [<joins>] <rest>, where rest holds the WHERE and ORDER BY clauses
+    public String jpql(List<Field> selected, String rest) {
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        for (int i = 0; i < selected.size(); i++) {
+            jpql.append(i > 0 ? ", " : "").append(selected.get(i).expression());
+        }
+        jpql.append(" FROM ").append(from);
+        joins.forEach((alias, join) -> {
+            if (selected.stream().anyMatch(field -> alias.equals(field.join()))) {
+                jpql.append(' ').append(join);
+            }
+        });
+        return jpql.append(' ').append(rest).toString();
+    }
+
+    public record Field(String name, String expression, String join, Function<Object, Object> convert) {
+
+        Object convert(Object value) {
+            return convert != null && value != null ? convert.apply(value) : value;
+        }
+    }
+}
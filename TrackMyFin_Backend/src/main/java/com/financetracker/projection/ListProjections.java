@@ -0,0 +1,47 @@
+package com.financetracker.projection;
+
+// The sparse fieldsets of the transaction, salary and budget lists. Names match the full JSON responses; budgets
+// expose their category as categoryId and categoryName instead of the nested object.
+public final class ListProjections {
+
+    public static final FieldProjection TRANSACTIONS = FieldProjection.from("Transaction t")
+            .join("c", "LEFT JOIN t.category c")
+            .field("id", "t.id")
+            .field("amount", "t.amount")
+            .field("description", "t.description")
+            .field("notes", "t.notes")
+            .field("transactionDate", "t.transactionDate")
+            .field("type", "t.type")
+            // The foreign key column, so no join is needed for the id alone
+            .field("categoryId", "t.category.id")
+            .field("categoryName", "c.name", "c")
+            .field("userId", "t.user.id")
+            .field("createdAt", "t.createdAt")
+            .field("updatedAt", "t.updatedAt");
+
+    public static final FieldProjection SALARIES = FieldProjection.from("Salary s")
+            // Salary ids are strings in SalaryResponse
+            .field("id", "s.id", null, String::valueOf)
+            .field("amount", "s.amount")
+            .field("description", "s.description")
+            .field("date", "s.salaryDate");
+
+    public static final FieldProjection BUDGETS = FieldProjection.from("Budget b")
+            .join("c", "LEFT JOIN b.category c")
+            .field("id", "b.id")
+            .field("name", "b.name")
+            .field("amount", "b.amount")
+            .field("spentAmount", "b.spentAmount")
+            .field("remainingAmount", "b.amount - b.spentAmount")
+            .field("categoryId", "b.category.id")
+            .field("categoryName", "c.name", "c")
+            .field("period", "b.period")
+            .field("startDate", "b.startDate")
+            .field("endDate", "b.endDate")
+            .field("active", "b.isActive")
+            .field("createdAt", "b.createdAt")
+            .field("updatedAt", "b.updatedAt");
+
+    private ListProjections() {
+    }
+}
@@ -0,0 +1,38 @@
+package com.financetracker.projection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class ProjectionQueries {
+
+    private final EntityManager entityManager;
+
+    // One row map per result, holding only the requested fields; rest is the WHERE and ORDER BY part of the query
+    public List<Map<String, Object>> list(FieldProjection projection, String fields, String rest,
+                                          Map<String, Object> parameters) {
+        List<FieldProjection.Field> selected = projection.select(fields);
+        TypedQuery<Tuple> query = entityManager.createQuery(projection.jpql(selected, rest), Tuple.class);
+        parameters.forEach(query::setParameter);
+        List<Tuple> tuples = query.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>(selected.size() * 2);
+            for (int i = 0; i < selected.size(); i++) {
+                FieldProjection.Field field = selected.get(i);
+                row.put(field.name(), field.convert(tuple.get(i)));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
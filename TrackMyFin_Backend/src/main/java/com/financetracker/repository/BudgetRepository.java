@@ -1,20 +1,90 @@
 package com.financetracker.repository;
 
+import com.financetracker.dto.BudgetStatusResponse;
 import com.financetracker.entity.Budget;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Transaction;
 import com.financetracker.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
 
+    // Budgets are written out with their category, so it comes along in the same select
+    @EntityGraph(attributePaths = "category")
     List<Budget> findByUserAndIsActiveTrueOrderByStartDateDesc(User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Budget> findByUserOrderByStartDateDesc(User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Budget> findByUserAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
             User user, LocalDate endDate, LocalDate startDate);
+
+    @EntityGraph(attributePaths = "category")
+    Optional<Budget> findWithCategoryById(Long id);
+
+    // Spend for every current budget in one grouped statement; a budget without a category covers all expenses
+    @Query("SELECT new com.financetracker.dto.BudgetStatusResponse(b.id, b.name, b.amount, c.id, c.name, " +
+           "b.period, b.startDate, b.endDate, SUM(t.amount)) " +
+           "FROM Budget b LEFT JOIN b.category c " +
+           "LEFT JOIN Transaction t ON t.user = b.user AND t.type = :type " +
+           "AND (c.id IS NULL OR t.category.id = c.id) " +
+           "AND t.transactionDate >= cast(b.startDate as LocalDateTime) " +
+           "AND t.transactionDate < cast(b.endDate as LocalDateTime) + 1 day " +
+           "WHERE b.user = :user AND b.startDate <= :date AND b.endDate >= :date " +
+           "GROUP BY b.id, b.name, b.amount, c.id, c.name, b.period, b.startDate, b.endDate " +
+           "ORDER BY b.startDate DESC")
+    List<BudgetStatusResponse> findCurrentBudgetStatuses(@Param("user") User user,
+                                                         @Param("date") LocalDate date,
+                                                         @Param("type") Transaction.TransactionType type);
+
+    // Keyset page over all users' active budgets whose period has ended
+    @Query("SELECT b FROM Budget b WHERE b.isActive = true AND b.endDate < :date AND b.id > :afterId ORDER BY b.id")
+    List<Budget> findExpiredActiveBudgetsAfter(@Param("date") LocalDate date, @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    // (user id, period, start date, category id) of the budgets that already exist for these users and start dates
+    @Query("SELECT b.user.id, b.period, b.startDate, c.id FROM Budget b LEFT JOIN b.category c " +
+           "WHERE b.user.id IN :userIds AND b.startDate IN :startDates")
+    List<Object[]> findPeriodKeys(@Param("userIds") Collection<Long> userIds,
+                                  @Param("startDates") Collection<LocalDate> startDates);
+
+    @Modifying
+    @Query("UPDATE Budget b SET b.isActive = false, b.updatedAt = :now WHERE b.id IN :ids")
+    int deactivateAll(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Budget b SET b.category = :category, b.updatedAt = :now WHERE b.category.id = :sourceId")
+    int reassignCategory(@Param("sourceId") Long sourceId, @Param("category") Category category,
+                         @Param("now") LocalDateTime now);
+
+    // Rows written after a client's last sync, for /api/sync
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT b FROM Budget b WHERE b.user = :user AND b.changeSequence > :since AND b.changeSequence <= :upTo " +
+           "ORDER BY b.startDate DESC")
+    List<Budget> findChanges(@Param("user") User user, @Param("since") long since, @Param("upTo") long upTo);
+
+    // (id, user id) of each row
+    @Query("SELECT b.id, b.user.id FROM Budget b WHERE b.id IN :ids")
+    List<Object[]> findOwners(@Param("ids") List<Long> ids);
+
+    @Query("SELECT b.id, b.user.id FROM Budget b WHERE b.category.id = :categoryId")
+    List<Object[]> findOwnersByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("UPDATE Budget b SET b.changeSequence = :sequence WHERE b.id IN :ids")
+    int stampChangeSequence(@Param("ids") List<Long> ids, @Param("sequence") long sequence);
 }
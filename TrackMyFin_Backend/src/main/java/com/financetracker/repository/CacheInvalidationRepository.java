@@ -0,0 +1,26 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.CacheInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+    @Query("SELECT c FROM CacheInvalidation c WHERE c.createdAt >= :since AND c.nodeId <> :nodeId ORDER BY c.id")
+    List<CacheInvalidation> findFromPeersSince(@Param("since") LocalDateTime since, @Param("nodeId") String nodeId);
+
+    @Query("SELECT c.id FROM CacheInvalidation c WHERE c.createdAt < :cutoff ORDER BY c.id")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation c WHERE c.id IN :ids")
+    int deleteAllByIds(@Param("ids") List<Long> ids);
+}
@@ -2,6 +2,9 @@ package com.financetracker.repository;
 
 import com.financetracker.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +17,9 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findByIsDefaultTrueOrderByName();
 
     boolean existsByNameAndType(String name, Category.CategoryType type);
+
+    // Bulk delete, bypassing the persistence context and any cascades
+    @Modifying
+    @Query("DELETE FROM Category c WHERE c.id = :id")
+    int deleteByIdDirectly(@Param("id") Long id);
 }
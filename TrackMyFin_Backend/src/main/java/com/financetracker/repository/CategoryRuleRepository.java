@@ -0,0 +1,30 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.Category;
+import com.financetracker.entity.CategoryRule;
+import com.financetracker.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CategoryRuleRepository extends JpaRepository<CategoryRule, Long> {
+
+    @Query("SELECT r FROM CategoryRule r JOIN FETCH r.category WHERE r.user IS NULL ORDER BY r.id")
+    List<CategoryRule> findDefaultRules();
+
+    @Query("SELECT r FROM CategoryRule r JOIN FETCH r.category WHERE r.user.id = :userId ORDER BY r.id")
+    List<CategoryRule> findByUserId(@Param("userId") Long userId);
+
+    List<CategoryRule> findByUserOrderByPriorityDescKeywordAsc(User user);
+
+    boolean existsByUserIsNull();
+
+    @Modifying
+    @Query("UPDATE CategoryRule r SET r.category = :category WHERE r.category.id = :sourceId")
+    int reassignCategory(@Param("sourceId") Long sourceId, @Param("category") Category category);
+}
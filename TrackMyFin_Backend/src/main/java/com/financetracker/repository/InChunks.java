@@ -0,0 +1,29 @@
+package com.financetracker.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Splits id and key lists passed to IN queries, keeping each list well below driver and database limits
+public final class InChunks {
+
+    public static final int SIZE = 1000;
+
+    private InChunks() {
+    }
+
+    public static <T> void forEach(List<T> values, Consumer<List<T>> action) {
+        for (int from = 0; from < values.size(); from += SIZE) {
+            action.accept(values.subList(from, Math.min(from + SIZE, values.size())));
+        }
+    }
+
+    // Runs the query once per chunk and concatenates the results
+    public static <T, R> List<R> query(List<T> values, Function<List<T>, ? extends Collection<R>> query) {
+        List<R> results = new ArrayList<>(values.size());
+        forEach(values, chunk -> results.addAll(query.apply(chunk)));
+        return results;
+    }
+}
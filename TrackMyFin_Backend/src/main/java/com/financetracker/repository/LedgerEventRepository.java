@@ -0,0 +1,24 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.LedgerEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LedgerEventRepository extends JpaRepository<LedgerEvent, Long> {
+
+    @Query("SELECT e FROM LedgerEvent e WHERE e.userId = :userId AND e.sequenceNumber > :afterSequence " +
+           "ORDER BY e.sequenceNumber")
+    List<LedgerEvent> findTail(@Param("userId") Long userId, @Param("afterSequence") long afterSequence,
+                               Pageable pageable);
+
+    // The most recent event of each transaction, i.e. its state as far as the ledger knows
+    @Query("SELECT e FROM LedgerEvent e WHERE e.transactionId IN :transactionIds AND e.sequenceNumber = " +
+           "(SELECT MAX(l.sequenceNumber) FROM LedgerEvent l WHERE l.transactionId = e.transactionId)")
+    List<LedgerEvent> findLatestByTransactionIds(@Param("transactionIds") List<Long> transactionIds);
+}
@@ -0,0 +1,33 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.LedgerHead;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerHeadRepository extends UserHeadRepository<LedgerHead> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM LedgerHead h WHERE h.userId = :userId")
+    @Override
+    Optional<LedgerHead> findForUpdate(@Param("userId") Long userId);
+
+    @Query("SELECT h.userId FROM LedgerHead h WHERE h.userId > :afterId ORDER BY h.userId")
+    List<Long> findUserIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId " +
+           "AND NOT EXISTS (SELECT h FROM LedgerHead h WHERE h.userId = u.id) ORDER BY u.id")
+    List<Long> findUserIdsWithoutLedgerAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT h.userId FROM LedgerHead h LEFT JOIN LedgerSnapshot s ON s.userId = h.userId " +
+           "WHERE h.lastSequence - COALESCE(s.sequenceNumber, 0) >= :lag AND h.userId > :afterId ORDER BY h.userId")
+    List<Long> findUserIdsBehindSnapshotAfter(@Param("lag") long lag, @Param("afterId") Long afterId,
+                                              Pageable pageable);
+}
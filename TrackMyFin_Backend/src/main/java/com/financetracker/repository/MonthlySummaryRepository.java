@@ -0,0 +1,29 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.MonthlySummary;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MonthlySummaryRepository extends JpaRepository<MonthlySummary, Long> {
+
+    List<MonthlySummary> findByUserAndMonthStart(User user, LocalDate monthStart);
+
+    @Query("SELECT SUM(s.total) FROM MonthlySummary s WHERE s.user = :user AND s.type = :type")
+    BigDecimal sumTotalByUserAndType(@Param("user") User user, @Param("type") Transaction.TransactionType type);
+
+    @Query("SELECT SUM(s.total) FROM MonthlySummary s WHERE s.user = :user AND s.type = :type " +
+           "AND s.monthStart BETWEEN :fromMonth AND :toMonth")
+    BigDecimal sumTotalByUserAndTypeAndMonthBetween(@Param("user") User user,
+                                                    @Param("type") Transaction.TransactionType type,
+                                                    @Param("fromMonth") LocalDate fromMonth,
+                                                    @Param("toMonth") LocalDate toMonth);
+}
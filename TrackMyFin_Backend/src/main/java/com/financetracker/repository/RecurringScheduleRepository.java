@@ -0,0 +1,32 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.Category;
+import com.financetracker.entity.RecurringSchedule;
+import com.financetracker.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RecurringScheduleRepository extends JpaRepository<RecurringSchedule, Long> {
+
+    List<RecurringSchedule> findByUserOrderByStartDateDesc(User user);
+
+    // Keyset page over all users' schedules with at least one occurrence due
+    @Query("SELECT s FROM RecurringSchedule s WHERE s.isActive = true AND s.nextOccurrence <= :date " +
+           "AND s.id > :afterId ORDER BY s.id")
+    List<RecurringSchedule> findDueAfter(@Param("date") LocalDate date, @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE RecurringSchedule s SET s.category = :category, s.updatedAt = :now WHERE s.category.id = :sourceId")
+    int reassignCategory(@Param("sourceId") Long sourceId, @Param("category") Category category,
+                         @Param("now") LocalDateTime now);
+}
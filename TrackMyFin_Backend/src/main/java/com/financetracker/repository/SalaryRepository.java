@@ -23,4 +23,12 @@ public interface SalaryRepository extends JpaRepository<Salary, Long> {
 
     @Query("SELECT SUM(s.amount) FROM Salary s WHERE s.user = :user AND s.salaryDate BETWEEN :startDate AND :endDate")
     BigDecimal sumAmountByUserAndDateBetween(@Param("user") User user, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-}
\ No newline at end of file
+
+    @Query("SELECT s.occurrenceKey FROM Salary s WHERE s.occurrenceKey IN :keys")
+    List<String> findExistingOccurrenceKeys(@Param("keys") List<String> keys);
+
+    // Rows written after a client's last sync, for /api/sync
+    @Query("SELECT s FROM Salary s WHERE s.user = :user AND s.changeSequence > :since AND s.changeSequence <= :upTo " +
+           "ORDER BY s.salaryDate DESC")
+    List<Salary> findChanges(@Param("user") User user, @Param("since") long since, @Param("upTo") long upTo);
+}
@@ -0,0 +1,19 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.SyncHead;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SyncHeadRepository extends UserHeadRepository<SyncHead> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM SyncHead h WHERE h.userId = :userId")
+    @Override
+    Optional<SyncHead> findForUpdate(@Param("userId") Long userId);
+}
@@ -0,0 +1,31 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.SyncTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("SELECT t FROM SyncTombstone t WHERE t.userId = :userId AND t.sequenceNumber > :since " +
+           "AND t.sequenceNumber <= :upTo ORDER BY t.sequenceNumber")
+    List<SyncTombstone> findChanges(@Param("userId") Long userId, @Param("since") long since,
+                                    @Param("upTo") long upTo);
+
+    // (user id, highest sequence) of the tombstones older than the cutoff, a page of users at a time
+    @Query("SELECT t.userId, MAX(t.sequenceNumber) FROM SyncTombstone t WHERE t.deletedAt < :cutoff " +
+           "AND t.userId > :afterId GROUP BY t.userId ORDER BY t.userId")
+    List<Object[]> findCompactableAfter(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.userId = :userId AND t.sequenceNumber <= :through")
+    int deleteThrough(@Param("userId") Long userId, @Param("through") long through);
+}
@@ -0,0 +1,30 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.TransactionArchiveSegment;
+import com.financetracker.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionArchiveSegmentRepository extends JpaRepository<TransactionArchiveSegment, Long> {
+
+    Optional<TransactionArchiveSegment> findByUserAndMonthStart(User user, LocalDate monthStart);
+
+    List<TransactionArchiveSegment> findByUserAndMonthStartIn(User user, Collection<LocalDate> monthStarts);
+
+    // Ids only, so a history stream loads one segment at a time
+    @Query("SELECT s.id FROM TransactionArchiveSegment s WHERE s.user = :user " +
+           "AND s.monthStart BETWEEN :fromMonth AND :toMonth ORDER BY s.monthStart")
+    List<Long> findIdsByUserAndMonthBetween(@Param("user") User user, @Param("fromMonth") LocalDate fromMonth,
+                                            @Param("toMonth") LocalDate toMonth);
+
+    @Query("SELECT s.id FROM TransactionArchiveSegment s WHERE s.user = :user ORDER BY s.monthStart")
+    List<Long> findIdsByUser(@Param("user") User user);
+}
@@ -1,8 +1,13 @@
 package com.financetracker.repository;
 
+import com.financetracker.entity.Category;
 import com.financetracker.entity.Transaction;
 import com.financetracker.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -32,4 +37,70 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                                                    @Param("type") Transaction.TransactionType type,
                                                    @Param("startDate") LocalDateTime startDate,
                                                    @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT t FROM Transaction t WHERE t.category IS NULL AND t.id > :afterId ORDER BY t.id")
+    List<Transaction> findUncategorizedAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.category IS NULL AND t.id > :afterId ORDER BY t.id")
+    List<Transaction> findUncategorizedByUserAfter(@Param("user") User user, @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.category = :category, t.updatedAt = :now " +
+           "WHERE t.id IN :ids AND t.category IS NULL")
+    int assignCategory(@Param("category") Category category, @Param("ids") List<Long> ids,
+                       @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.id FROM Transaction t WHERE t.category.id = :categoryId ORDER BY t.id")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.category = :category, t.updatedAt = :now WHERE t.id IN :ids")
+    int reassignCategory(@Param("ids") List<Long> ids, @Param("category") Category category,
+                         @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.occurrenceKey FROM Transaction t WHERE t.occurrenceKey IN :keys")
+    List<String> findExistingOccurrenceKeys(@Param("keys") List<String> keys);
+
+    @Query("SELECT DISTINCT t.user.id FROM Transaction t WHERE t.transactionDate < :cutoff AND t.user.id > :afterId " +
+           "ORDER BY t.user.id")
+    List<Long> findUserIdsWithTransactionsBefore(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+
+    @Query("SELECT MIN(t.transactionDate) FROM Transaction t WHERE t.user.id = :userId AND t.transactionDate < :cutoff")
+    LocalDateTime findOldestTransactionDateBefore(@Param("userId") Long userId, @Param("cutoff") LocalDateTime cutoff);
+
+    // Locked so an edit cannot slip in between copying the rows into a segment and deleting them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.transactionDate >= :from " +
+           "AND t.transactionDate < :to ORDER BY t.transactionDate, t.id")
+    List<Transaction> findForArchival(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids")
+    int deleteAllByIds(@Param("ids") List<Long> ids);
+
+    // Ledger state of each row: id, user id, amount, type, category id, date
+    @Query("SELECT t.id, t.user.id, t.amount, t.type, t.category.id, t.transactionDate FROM Transaction t " +
+           "WHERE t.id IN :ids")
+    List<Object[]> findLedgerStates(@Param("ids") List<Long> ids);
+
+    @Query("SELECT t.id, t.user.id, t.amount, t.type, t.category.id, t.transactionDate FROM Transaction t " +
+           "WHERE t.user.id = :userId AND t.id > :afterId ORDER BY t.id")
+    List<Object[]> findLedgerStatesByUserAfter(@Param("userId") Long userId, @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    // Rows written after a client's last sync, for /api/sync
+    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.category WHERE t.user = :user " +
+           "AND t.changeSequence > :since AND t.changeSequence <= :upTo ORDER BY t.transactionDate DESC")
+    List<Transaction> findChanges(@Param("user") User user, @Param("since") long since, @Param("upTo") long upTo);
+
+    // (id, user id) of each row
+    @Query("SELECT t.id, t.user.id FROM Transaction t WHERE t.id IN :ids")
+    List<Object[]> findOwners(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.changeSequence = :sequence WHERE t.id IN :ids")
+    int stampChangeSequence(@Param("ids") List<Long> ids, @Param("sequence") long sequence);
 }
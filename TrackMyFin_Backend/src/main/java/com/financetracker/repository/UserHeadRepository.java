@@ -0,0 +1,14 @@
+package com.financetracker.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Optional;
+
+// Repositories of the one-row-per-user heads (ledger, sync) that serialize a user's appends; see UserHeadService
+@NoRepositoryBean
+public interface UserHeadRepository<H> extends JpaRepository<H, Long> {
+
+    // Implementations take a pessimistic write lock
+    Optional<H> findForUpdate(Long userId);
+}
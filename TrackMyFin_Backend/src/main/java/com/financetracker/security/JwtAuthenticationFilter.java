@@ -1,11 +1,16 @@
 package com.financetracker.security;
 
+import com.financetracker.exception.GlobalExceptionHandler;
+import com.financetracker.profiling.AuthenticationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,25 +19,67 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String TIMER = "security.jwt.filter";
+
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final Map<String, Timer> timers;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                   MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        // Registered once: the filter runs on every request, so it must not look meters up per call
+        this.timers = Map.of(
+                "anonymous", timer(meterRegistry, "anonymous"),
+                "authenticated", timer(meterRegistry, "authenticated"),
+                "rejected", timer(meterRegistry, "rejected"),
+                "error", timer(meterRegistry, "error"));
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                   FilterChain filterChain) throws ServletException, IOException {
 
+        AuthenticationEvent event = new AuthenticationEvent();
+        event.begin();
+        long started = System.nanoTime();
+        String outcome = "error";
+        try {
+            outcome = authenticate(request);
+        } catch (RuntimeException e) {
+            // Loading the user is the first connection checkout of an authenticated request, before any controller
+            // advice can map a saturated pool to 503
+            if (!GlobalExceptionHandler.isConnectionUnavailable(e)) {
+                throw e;
+            }
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"" + GlobalExceptionHandler.BUSY_MESSAGE + "\"}");
+            return;
+        } finally {
+            // Only the filter's own work (token parsing, user lookup); the rest of the chain is not included
+            timers.get(outcome).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            event.finish(outcome);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String authenticate(HttpServletRequest request) {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
         final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
+            return "anonymous";
         }
 
         jwt = authHeader.substring(7);
@@ -46,9 +93,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                return "authenticated";
             }
         }
+        return SecurityContextHolder.getContext().getAuthentication() != null ? "authenticated" : "rejected";
+    }
 
-        filterChain.doFilter(request, response);
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(TIMER)
+                .description("Time spent authenticating the bearer token of a request")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,139 @@
+package com.financetracker.service;
+
+import com.financetracker.entity.Budget;
+import com.financetracker.repository.BudgetRepository;
+import com.financetracker.sync.SyncService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetRolloverService {
+
+    static final String LOCK_NAME = "budget-rollover";
+
+    private final BudgetRepository budgetRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final SyncService syncService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.budgets.rollover.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.budgets.rollover.lock-lease:PT30M}")
+    private Duration lockLease;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.budgets.rollover.cron:0 5 0 * * *}")
+    public void scheduledRollover() {
+        if (!schedulerLockService.tryLock(LOCK_NAME, lockLease)) {
+            return;
+        }
+        try {
+            int rolledOver = rollOverExpiredBudgets(LocalDate.now());
+            log.info("Budget rollover finished: {} budgets rolled over", rolledOver);
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    // Each page commits on its own, so a restart simply resumes with whatever is still active and expired
+    public int rollOverExpiredBudgets(LocalDate today) {
+        int total = 0;
+        long afterId = 0L;
+        while (true) {
+            long cursor = afterId;
+            RolloverPage page = transactionTemplate.execute(status -> rollOverPage(today, cursor));
+            if (page == null || page.processed() == 0) {
+                return total;
+            }
+            total += page.processed();
+            afterId = page.lastId();
+        }
+    }
+
+    private RolloverPage rollOverPage(LocalDate today, long afterId) {
+        List<Budget> expired = budgetRepository.findExpiredActiveBudgetsAfter(
+                today, afterId, PageRequest.of(0, batchSize));
+        if (expired.isEmpty()) {
+            return new RolloverPage(0, afterId);
+        }
+
+        List<Budget> successors = new ArrayList<>(expired.size());
+        List<Long> ids = new ArrayList<>(expired.size());
+        for (Budget budget : expired) {
+            LocalDate start = budget.getEndDate().plusDays(1);
+            LocalDate end = budget.getPeriod().advance(start).minusDays(1);
+            // Skip periods that have already passed so a long-dormant budget lands on the current one
+            while (end.isBefore(today)) {
+                start = end.plusDays(1);
+                end = budget.getPeriod().advance(start).minusDays(1);
+            }
+            Budget successor = new Budget();
+            successor.setName(budget.getName());
+            successor.setAmount(budget.getAmount());
+            successor.setCategory(budget.getCategory());
+            successor.setUser(budget.getUser());
+            successor.setPeriod(budget.getPeriod());
+            successor.setStartDate(start);
+            successor.setEndDate(end);
+            successors.add(successor);
+            ids.add(budget.getId());
+        }
+
+        // Successor periods created earlier (a replayed page or a budget the user added by hand) are kept as they are
+        Set<PeriodKey> existing = new HashSet<>();
+        for (Object[] row : budgetRepository.findPeriodKeys(
+                successors.stream().map(budget -> budget.getUser().getId()).toList(),
+                successors.stream().map(Budget::getStartDate).toList())) {
+            existing.add(new PeriodKey((Long) row[0], (Budget.BudgetPeriod) row[1], (LocalDate) row[2], (Long) row[3]));
+        }
+        List<Budget> created = new ArrayList<>(successors.size());
+        for (Budget successor : successors) {
+            if (existing.add(PeriodKey.of(successor))) {
+                created.add(successor);
+            }
+        }
+
+        // Successors and the budgets they replace go out under one sync sequence per user
+        List<Budget> changed = new ArrayList<>(created);
+        changed.addAll(expired);
+        syncService.stamp(changed);
+        budgetRepository.saveAll(created);
+        budgetRepository.deactivateAll(ids, LocalDateTime.now());
+        return new RolloverPage(expired.size(), ids.get(ids.size() - 1));
+    }
+
+    private record PeriodKey(Long userId, Budget.BudgetPeriod period, LocalDate startDate, Long categoryId) {
+
+        static PeriodKey of(Budget budget) {
+            return new PeriodKey(budget.getUser().getId(), budget.getPeriod(), budget.getStartDate(),
+                    budget.getCategory() != null ? budget.getCategory().getId() : null);
+        }
+    }
+
+    private record RolloverPage(int processed, long lastId) {
+    }
+}
@@ -1,13 +1,23 @@
 package com.financetracker.service;
 
+import com.financetracker.dto.BudgetStatusResponse;
 import com.financetracker.entity.Budget;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.SyncTombstone;
+import com.financetracker.entity.Transaction;
 import com.financetracker.entity.User;
+import com.financetracker.projection.ListProjections;
+import com.financetracker.projection.ProjectionQueries;
 import com.financetracker.repository.BudgetRepository;
+import com.financetracker.sync.SyncService;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,34 +25,62 @@ import java.util.Optional;
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
+    private final ProjectionQueries projectionQueries;
+    private final SyncService syncService;
 
+    @Transactional
     public Budget createBudget(Budget budget) {
+        syncService.stamp(List.of(budget));
         return budgetRepository.save(budget);
     }
 
+    @Transactional(readOnly = true)
     public List<Budget> getUserBudgets(User user) {
         return budgetRepository.findByUserOrderByStartDateDesc(user);
     }
 
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUserBudgetFields(User user, String fields) {
+        return projectionQueries.list(ListProjections.BUDGETS, fields,
+                "WHERE b.user = :user ORDER BY b.startDate DESC", Map.of("user", user));
+    }
+
+    @Transactional(readOnly = true)
     public List<Budget> getActiveBudgets(User user) {
         return budgetRepository.findByUserAndIsActiveTrueOrderByStartDateDesc(user);
     }
 
+    @Transactional(readOnly = true)
     public List<Budget> getCurrentBudgets(User user) {
         LocalDate today = LocalDate.now();
         return budgetRepository.findByUserAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
                 user, today, today);
     }
 
+    @Transactional(readOnly = true)
+    public List<BudgetStatusResponse> getCurrentBudgetStatuses(User user) {
+        return budgetRepository.findCurrentBudgetStatuses(
+                user, LocalDate.now(), Transaction.TransactionType.EXPENSE);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Budget> getBudgetById(Long id) {
-        return budgetRepository.findById(id);
+        return budgetRepository.findWithCategoryById(id);
     }
 
+    @Transactional
     public Budget updateBudget(Budget budget) {
-        return budgetRepository.save(budget);
+        syncService.stamp(List.of(budget));
+        Budget saved = budgetRepository.save(budget);
+        // The merged copy holds a category proxy, which Jackson cannot write once the session is closed
+        saved.setCategory((Category) Hibernate.unproxy(saved.getCategory()));
+        return saved;
     }
 
+    @Transactional
     public void deleteBudget(Long id) {
+        budgetRepository.findById(id)
+                .ifPresent(budget -> syncService.recordDeleted(SyncTombstone.EntityType.BUDGET, budget));
         budgetRepository.deleteById(id);
     }
 }
@@ -1,36 +1,91 @@
 package com.financetracker.service;
 
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.categorization.AutoCategorizationService;
+import com.financetracker.dto.CategoryMergeResponse;
+import com.financetracker.entity.CacheInvalidation;
 import com.financetracker.entity.Category;
+import com.financetracker.invalidation.InvalidationBus;
+import com.financetracker.ledger.LedgerService;
+import com.financetracker.repository.BudgetRepository;
 import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.CategoryRuleRepository;
+import com.financetracker.repository.RecurringScheduleRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.sync.SyncService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final CategoryRuleRepository categoryRuleRepository;
+    private final RecurringScheduleRepository recurringScheduleRepository;
+    private final AutoCategorizationService autoCategorizationService;
+    private final LedgerService ledgerService;
+    private final SyncService syncService;
+    private final InvalidationBus invalidationBus;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.categories.merge.chunk-size:1000}")
+    private int mergeChunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     public Category createCategory(Category category) {
         if (categoryRepository.existsByNameAndType(category.getName(), category.getType())) {
             throw new RuntimeException("Category with this name and type already exists");
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryCache.invalidate();
+        publishChange(saved.getId());
+        return saved;
     }
 
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return categoryCache.getAll();
     }
 
     public List<Category> getCategoriesByType(Category.CategoryType type) {
-        return categoryRepository.findByTypeOrderByName(type);
+        return categoryCache.getByType(type);
     }
 
     public List<Category> getDefaultCategories() {
-        return categoryRepository.findByIsDefaultTrueOrderByName();
+        return categoryCache.getDefaults();
+    }
+
+    public CategoryCache.CachedJson getAllCategoriesJson() {
+        return categoryCache.getAllJson();
+    }
+
+    public CategoryCache.CachedJson getCategoriesByTypeJson(Category.CategoryType type) {
+        return categoryCache.getByTypeJson(type);
+    }
+
+    public CategoryCache.CachedJson getDefaultCategoriesJson() {
+        return categoryCache.getDefaultsJson();
     }
 
     public Optional<Category> getCategoryById(Long id) {
@@ -38,20 +93,107 @@ public class CategoryService {
     }
 
     public Category updateCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryCache.invalidate();
+        publishChange(saved.getId());
+        return saved;
     }
 
     public void deleteCategory(Long id) {
-        categoryRepository.deleteById(id);
+        try {
+            categoryRepository.deleteById(id);
+            publishChange(id);
+        } finally {
+            categoryCache.invalidate();
+        }
     }
 
+    // Moves everything that references source onto target with set-based updates, then drops source.
+    // Transactions move in committed chunks so huge categories never hold one long transaction or load entities.
+    public CategoryMergeResponse mergeCategory(Long sourceId, Long targetId) {
+        if (sourceId.equals(targetId)) {
+            throw new RuntimeException("Cannot merge a category into itself");
+        }
+        Category source = categoryRepository.findById(sourceId)
+                .orElseThrow(() -> new RuntimeException("Source category not found"));
+        Category target = categoryRepository.findById(targetId)
+                .orElseThrow(() -> new RuntimeException("Target category not found"));
+        if (source.getType() != target.getType()) {
+            throw new RuntimeException("Categories must have the same type to be merged");
+        }
+
+        long transactionsMoved = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = transactionRepository.findIdsByCategoryId(sourceId, PageRequest.of(0, mergeChunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                syncService.stampTransactions(ids);
+                int reassigned = transactionRepository.reassignCategory(ids, target, LocalDateTime.now());
+                ledgerService.recordAmended(ids);
+                return reassigned;
+            });
+            if (moved == null || moved == 0) {
+                break;
+            }
+            transactionsMoved += moved;
+        }
+
+        CategoryMergeResponse response = transactionTemplate.execute(status -> {
+            // Catch rows written while the chunks were running before the category disappears; there can be more
+            // than one chunk of them, and any left behind would fail the delete after the earlier chunks committed
+            int late = 0;
+            while (true) {
+                List<Long> stragglers = transactionRepository.findIdsByCategoryId(sourceId,
+                        PageRequest.of(0, mergeChunkSize));
+                if (stragglers.isEmpty()) {
+                    break;
+                }
+                syncService.stampTransactions(stragglers);
+                late += transactionRepository.reassignCategory(stragglers, target, LocalDateTime.now());
+                ledgerService.recordAmended(stragglers);
+            }
+            syncService.stampBudgetsOfCategory(sourceId);
+            int budgetsMoved = budgetRepository.reassignCategory(sourceId, target, LocalDateTime.now());
+            int rulesMoved = categoryRuleRepository.reassignCategory(sourceId, target);
+            int schedulesMoved = recurringScheduleRepository.reassignCategory(sourceId, target, LocalDateTime.now());
+            categoryRepository.deleteByIdDirectly(sourceId);
+            publishChange(sourceId);
+            return CategoryMergeResponse.builder()
+                    .sourceCategoryId(sourceId)
+                    .targetCategoryId(targetId)
+                    .transactionsMoved(late)
+                    .budgetsMoved(budgetsMoved)
+                    .rulesMoved(rulesMoved)
+                    .schedulesMoved(schedulesMoved)
+                    .build();
+        });
+        response.setTransactionsMoved(response.getTransactionsMoved() + transactionsMoved);
+
+        categoryCache.invalidate();
+        autoCategorizationService.invalidateAll();
+        log.info("Merged category {} into {}: {} transactions, {} budgets, {} rules, {} schedules moved", sourceId,
+                targetId, response.getTransactionsMoved(), response.getBudgetsMoved(), response.getRulesMoved(),
+                response.getSchedulesMoved());
+        return response;
+    }
+
+    @Transactional
     public void initializeDefaultCategories() {
         if (categoryRepository.count() == 0) {
             createDefaultIncomeCategories();
             createDefaultExpenseCategories();
+            categoryCache.invalidate();
+            publishChange(null);
         }
     }
 
+    // Peers drop their category snapshot and every compiled rule set, as this instance does
+    private void publishChange(Long categoryId) {
+        invalidationBus.publish(CacheInvalidation.EntityType.CATEGORY, null, categoryId);
+    }
+
     private void createDefaultIncomeCategories() {
         Category[] incomeCategories = {
             new Category(null, "Salary", "Monthly salary", "#4CAF50", "💼", Category.CategoryType.INCOME, true, null, null, null),
@@ -60,9 +202,7 @@ public class CategoryService {
             new Category(null, "Business", "Business income", "#FF9800", "🏢", Category.CategoryType.INCOME, true, null, null, null)
         };
 
-        for (Category category : incomeCategories) {
-            categoryRepository.save(category);
-        }
+        categoryRepository.saveAll(List.of(incomeCategories));
     }
 
     private void createDefaultExpenseCategories() {
@@ -75,8 +215,6 @@ public class CategoryService {
             new Category(null, "Healthcare", "Medical expenses", "#F44336", "⚕️", Category.CategoryType.EXPENSE, true, null, null, null)
         };
 
-        for (Category category : expenseCategories) {
-            categoryRepository.save(category);
-        }
+        categoryRepository.saveAll(List.of(expenseCategories));
     }
 }
@@ -1,15 +1,18 @@
 package com.financetracker.service;
 
+import com.financetracker.archive.TransactionArchiveService;
 import com.financetracker.dto.DashboardStatsResponse;
 import com.financetracker.dto.ExpenseChartResponse;
 import com.financetracker.dto.MonthlyData;
 import com.financetracker.dto.CategoryExpenseData;
 import com.financetracker.entity.Transaction;
 import com.financetracker.entity.User;
+import com.financetracker.profiling.DashboardPhaseEvent;
 import com.financetracker.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -25,7 +28,9 @@ public class DashboardService {
 
     private final TransactionRepository transactionRepository;
     private final SalaryService salaryService;
+    private final TransactionArchiveService transactionArchiveService;
 
+    @Transactional(readOnly = true)
     public DashboardStatsResponse getDashboardStats(User user) {
         log.info("🔥 UPDATED VERSION: Calculating dashboard stats for user: {}", user.getEmail());
 
@@ -36,13 +41,17 @@ public class DashboardService {
         log.info("📅 Date range for monthly calculation: {} to {}", startOfMonth, endOfMonth);
 
         // Total stats (all time)
+        DashboardPhaseEvent phase = DashboardPhaseEvent.start("totals", user.getId(), "all");
         BigDecimal totalIncome = getTotalIncome(user);
         BigDecimal totalExpenses = getTotalExpenses(user);
         BigDecimal totalBalance = totalIncome.subtract(totalExpenses);
+        phase.finish(-1);
 
         // Monthly stats
+        phase = DashboardPhaseEvent.start("month", user.getId(), "month");
         BigDecimal monthlyIncome = getIncomeByDateRange(user, startOfMonth, endOfMonth);
         BigDecimal monthlyExpenses = getExpensesByDateRange(user, startOfMonth, endOfMonth);
+        phase.finish(-1);
         
         log.info("📊 FINAL CALCULATIONS - Total Income: {}, Monthly Income: {}, Monthly Expenses: {}, Total Balance: {}", 
                 totalIncome, monthlyIncome, monthlyExpenses, totalBalance);
@@ -64,18 +73,28 @@ public class DashboardService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public ExpenseChartResponse getExpenseChartData(User user, String range) {
         log.info("Getting expense chart data for user: {} with range: {}", user.getEmail(), range);
 
         LocalDateTime startDate = getStartDateForRange(range);
-        List<Transaction> transactions = transactionRepository
-                .findByUserAndTransactionDateBetweenOrderByTransactionDateDesc(user, startDate, LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        DashboardPhaseEvent phase = DashboardPhaseEvent.start("load", user.getId(), range);
+        List<Transaction> transactions = new ArrayList<>(transactionRepository
+                .findByUserAndTransactionDateBetweenOrderByTransactionDateDesc(user, startDate, now));
+        // Only non-empty when the archive horizon is shorter than the chart range
+        transactionArchiveService.streamArchived(user, startDate, now).forEach(transactions::add);
+        phase.finish(transactions.size());
 
         // Generate monthly data
+        phase = DashboardPhaseEvent.start("monthly-buckets", user.getId(), range);
         List<MonthlyData> monthlyData = generateMonthlyData(transactions, range);
+        phase.finish(transactions.size());
         
         // Generate category data
+        phase = DashboardPhaseEvent.start("category-buckets", user.getId(), range);
         List<CategoryExpenseData> categoryData = generateCategoryData(transactions);
+        phase.finish(transactions.size());
 
         return ExpenseChartResponse.builder()
                 .monthlyData(monthlyData)
@@ -92,7 +111,8 @@ public class DashboardService {
         };
     }
 
-    private List<MonthlyData> generateMonthlyData(List<Transaction> transactions, String range) {
+    // Package-private for the JMH benchmarks
+    List<MonthlyData> generateMonthlyData(List<Transaction> transactions, String range) {
         Map<String, MonthlyData> monthlyMap = new TreeMap<>();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM yyyy");
 
@@ -122,7 +142,7 @@ public class DashboardService {
         return new ArrayList<>(monthlyMap.values());
     }
 
-    private List<CategoryExpenseData> generateCategoryData(List<Transaction> transactions) {
+    List<CategoryExpenseData> generateCategoryData(List<Transaction> transactions) {
         // Get expense transactions only
         List<Transaction> expenses = transactions.stream()
                 .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
@@ -163,6 +183,9 @@ public class DashboardService {
         if (transactionIncome == null) {
             transactionIncome = BigDecimal.ZERO;
         }
+        // Plus the months already moved to the archive
+        transactionIncome = transactionIncome.add(
+                transactionArchiveService.getArchivedTotal(user, Transaction.TransactionType.INCOME));
         
         // Get income from salaries
         BigDecimal salaryIncome = salaryService.getTotalSalaries(user);
@@ -178,7 +201,8 @@ public class DashboardService {
 
     private BigDecimal getTotalExpenses(User user) {
         BigDecimal total = transactionRepository.sumAmountByUserAndType(user, Transaction.TransactionType.EXPENSE);
-        return total != null ? total : BigDecimal.ZERO;
+        return (total != null ? total : BigDecimal.ZERO)
+                .add(transactionArchiveService.getArchivedTotal(user, Transaction.TransactionType.EXPENSE));
     }
 
     private BigDecimal getIncomeByDateRange(User user, LocalDateTime startDate, LocalDateTime endDate) {
@@ -188,6 +212,8 @@ public class DashboardService {
         if (transactionIncome == null) {
             transactionIncome = BigDecimal.ZERO;
         }
+        transactionIncome = transactionIncome.add(transactionArchiveService.getArchivedTotal(
+                user, Transaction.TransactionType.INCOME, startDate, endDate));
         
         // Get income from salaries in the date range
         BigDecimal salaryIncome = salaryService.getSalariesByDateRange(user, startDate, endDate);
@@ -204,6 +230,7 @@ public class DashboardService {
     private BigDecimal getExpensesByDateRange(User user, LocalDateTime startDate, LocalDateTime endDate) {
         BigDecimal total = transactionRepository.sumAmountByUserAndTypeAndDateBetween(
                 user, Transaction.TransactionType.EXPENSE, startDate, endDate);
-        return total != null ? total : BigDecimal.ZERO;
+        return (total != null ? total : BigDecimal.ZERO).add(transactionArchiveService.getArchivedTotal(
+                user, Transaction.TransactionType.EXPENSE, startDate, endDate));
     }
 }
\ No newline at end of file
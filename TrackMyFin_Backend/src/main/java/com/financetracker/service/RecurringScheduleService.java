@@ -0,0 +1,259 @@
+package com.financetracker.service;
+
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.categorization.AutoCategorizationService;
+import com.financetracker.entity.RecurringSchedule;
+import com.financetracker.entity.Salary;
+import com.financetracker.entity.SyncVersioned;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.ledger.LedgerService;
+import com.financetracker.repository.InChunks;
+import com.financetracker.repository.RecurringScheduleRepository;
+import com.financetracker.repository.SalaryRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.sync.SyncService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringScheduleService {
+
+    static final String LOCK_NAME = "recurring-materialization";
+
+    private final RecurringScheduleRepository recurringScheduleRepository;
+    private final CategoryCache categoryCache;
+    private final AutoCategorizationService autoCategorizationService;
+    private final SchedulerLockService schedulerLockService;
+    private final TransactionRepository transactionRepository;
+    private final SalaryRepository salaryRepository;
+    private final LedgerService ledgerService;
+    private final SyncService syncService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.recurring.batch-size:500}")
+    private int batchSize;
+
+    // Caps how far one pass catches up a single schedule; the rest is picked up by the next run
+    @Value("${app.recurring.max-occurrences-per-pass:400}")
+    private int maxOccurrencesPerPass;
+
+    @Value("${app.recurring.lock-lease:PT30M}")
+    private Duration lockLease;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurringSchedule> getUserSchedules(User user) {
+        return recurringScheduleRepository.findByUserOrderByStartDateDesc(user);
+    }
+
+    // Saves the schedule and materializes whatever is already due, so a schedule starting today shows up at once
+    @Transactional
+    public RecurringSchedule createSchedule(RecurringSchedule schedule) {
+        validate(schedule);
+        if (schedule.getCategory() != null && schedule.getCategory().getId() != null) {
+            schedule.setCategory(categoryCache.findById(schedule.getCategory().getId())
+                    .orElseThrow(() -> new RuntimeException("Category not found")));
+        } else if (schedule.getKind() == RecurringSchedule.ScheduleKind.TRANSACTION) {
+            schedule.setCategory(autoCategorizationService.findCategory(template(schedule)).orElse(null));
+        }
+        schedule.setNextOccurrence(schedule.firstOccurrence());
+        schedule.setActive(!schedule.endsBefore(schedule.getNextOccurrence()));
+        RecurringSchedule saved = recurringScheduleRepository.save(schedule);
+
+        Batch batch = new Batch();
+        Advance advance = expand(saved, LocalDate.now(), batch);
+        if (advance != null) {
+            saved.setNextOccurrence(advance.nextOccurrence());
+            saved.setActive(advance.active());
+            batch.flush();
+        }
+        return saved;
+    }
+
+    @Transactional
+    public boolean deleteSchedule(User user, Long id) {
+        return recurringScheduleRepository.findById(id)
+                .filter(schedule -> schedule.getUser().getId().equals(user.getId()))
+                .map(schedule -> {
+                    // Rows already materialized stay; they are ordinary transactions and salaries now
+                    recurringScheduleRepository.delete(schedule);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Scheduled(cron = "${app.recurring.cron:0 10 0 * * *}")
+    public void scheduledMaterialization() {
+        if (!schedulerLockService.tryLock(LOCK_NAME, lockLease)) {
+            return;
+        }
+        try {
+            int materialized = materializeDueSchedules(LocalDate.now());
+            log.info("Recurring materialization finished: {} occurrences created", materialized);
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    // Walks every user's due schedules by id; each page commits on its own and Hibernate batches its writes
+    public int materializeDueSchedules(LocalDate today) {
+        int total = 0;
+        long afterId = 0L;
+        while (true) {
+            long cursor = afterId;
+            MaterializationPage page = transactionTemplate.execute(status -> materializePage(today, cursor));
+            if (page == null || page.scanned() == 0) {
+                return total;
+            }
+            total += page.inserted();
+            afterId = page.lastId();
+        }
+    }
+
+    private MaterializationPage materializePage(LocalDate today, long afterId) {
+        List<RecurringSchedule> due = recurringScheduleRepository.findDueAfter(
+                today, afterId, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return new MaterializationPage(0, 0, afterId);
+        }
+
+        Batch batch = new Batch();
+        for (RecurringSchedule schedule : due) {
+            Advance advance = expand(schedule, today, batch);
+            if (advance != null) {
+                schedule.setNextOccurrence(advance.nextOccurrence());
+                schedule.setActive(advance.active());
+            }
+        }
+        int inserted = batch.flush();
+        return new MaterializationPage(due.size(), inserted, due.get(due.size() - 1).getId());
+    }
+
+    // Queues every occurrence from nextOccurrence up to today and returns where the schedule continues
+    private Advance expand(RecurringSchedule schedule, LocalDate today, Batch batch) {
+        LocalDate date = schedule.getNextOccurrence();
+        if (!schedule.isActive() || date == null || date.isAfter(today)) {
+            return null;
+        }
+        int queued = 0;
+        while (date != null && !date.isAfter(today) && queued < maxOccurrencesPerPass) {
+            if (schedule.endsBefore(date)) {
+                date = null;
+                break;
+            }
+            batch.add(schedule, date);
+            queued++;
+            date = schedule.occurrenceAfter(date);
+        }
+        boolean active = date != null && !schedule.endsBefore(date);
+        return new Advance(active ? date : null, active);
+    }
+
+    private void validate(RecurringSchedule schedule) {
+        if (schedule.getKind() == RecurringSchedule.ScheduleKind.TRANSACTION && schedule.getType() == null) {
+            throw new RuntimeException("Transaction type is required for recurring transactions");
+        }
+        if (schedule.getFrequency() == RecurringSchedule.Frequency.DAY_OF_MONTH
+                && (schedule.getDayOfMonth() == null || schedule.getDayOfMonth() < 1 || schedule.getDayOfMonth() > 31)) {
+            throw new RuntimeException("Day of month must be between 1 and 31");
+        }
+        if (schedule.getStartDate() == null) {
+            schedule.setStartDate(LocalDate.now());
+        }
+        if (schedule.getEndDate() != null && schedule.getEndDate().isBefore(schedule.getStartDate())) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+    }
+
+    private Transaction template(RecurringSchedule schedule) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(schedule.getUser());
+        transaction.setType(schedule.getType());
+        transaction.setDescription(schedule.getDescription());
+        transaction.setNotes(schedule.getNotes());
+        return transaction;
+    }
+
+    private final class Batch {
+
+        private final List<Transaction> transactions = new ArrayList<>();
+        private final List<Salary> salaries = new ArrayList<>();
+
+        void add(RecurringSchedule schedule, LocalDate date) {
+            if (schedule.getKind() == RecurringSchedule.ScheduleKind.SALARY) {
+                Salary salary = new Salary();
+                salary.setAmount(schedule.getAmount());
+                salary.setDescription(schedule.getDescription());
+                salary.setSalaryDate(date.atStartOfDay());
+                salary.setUser(schedule.getUser());
+                salary.setOccurrenceKey(schedule.occurrenceKey(date));
+                salaries.add(salary);
+            } else {
+                Transaction transaction = template(schedule);
+                transaction.setAmount(schedule.getAmount());
+                transaction.setCategory(schedule.getCategory());
+                transaction.setTransactionDate(date.atStartOfDay());
+                transaction.setOccurrenceKey(schedule.occurrenceKey(date));
+                transactions.add(transaction);
+            }
+        }
+
+        // Occurrences that already exist (a replayed page) are skipped; the rest go out as batched inserts
+        int flush() {
+            Set<String> existingTransactions = existingKeys(
+                    transactions.stream().map(Transaction::getOccurrenceKey).toList(),
+                    transactionRepository::findExistingOccurrenceKeys);
+            List<Transaction> newTransactions = transactions.stream()
+                    .filter(transaction -> !existingTransactions.contains(transaction.getOccurrenceKey()))
+                    .toList();
+            Set<String> existingSalaries = existingKeys(
+                    salaries.stream().map(Salary::getOccurrenceKey).toList(),
+                    salaryRepository::findExistingOccurrenceKeys);
+            List<Salary> newSalaries = salaries.stream()
+                    .filter(salary -> !existingSalaries.contains(salary.getOccurrenceKey()))
+                    .toList();
+            List<SyncVersioned> created = new ArrayList<>(newTransactions);
+            created.addAll(newSalaries);
+            syncService.stamp(created);
+            transactionRepository.saveAll(newTransactions);
+            ledgerService.recordCreated(newTransactions);
+            salaryRepository.saveAll(newSalaries);
+            return newTransactions.size() + newSalaries.size();
+        }
+
+        private Set<String> existingKeys(List<String> keys, Function<List<String>, List<String>> finder) {
+            return new HashSet<>(InChunks.query(keys, finder));
+        }
+    }
+
+    private record Advance(LocalDate nextOccurrence, boolean active) {
+    }
+
+    private record MaterializationPage(int scanned, int inserted, long lastId) {
+    }
+}
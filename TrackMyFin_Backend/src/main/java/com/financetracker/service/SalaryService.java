@@ -1,15 +1,21 @@
 package com.financetracker.service;
 
 import com.financetracker.entity.Salary;
+import com.financetracker.entity.SyncTombstone;
 import com.financetracker.entity.User;
+import com.financetracker.projection.ListProjections;
+import com.financetracker.projection.ProjectionQueries;
 import com.financetracker.repository.SalaryRepository;
+import com.financetracker.sync.SyncService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -18,36 +24,55 @@ import java.util.Optional;
 public class SalaryService {
 
     private final SalaryRepository salaryRepository;
+    private final ProjectionQueries projectionQueries;
+    private final SyncService syncService;
 
+    @Transactional
     public Salary createSalary(Salary salary) {
         log.info("Creating salary: {}", salary.getDescription());
+        syncService.stamp(List.of(salary));
         return salaryRepository.save(salary);
     }
 
+    @Transactional(readOnly = true)
     public List<Salary> getUserSalaries(User user) {
         log.info("Getting salaries for user: {}", user.getEmail());
         return salaryRepository.findByUserOrderBySalaryDateDesc(user);
     }
 
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUserSalaryFields(User user, String fields) {
+        return projectionQueries.list(ListProjections.SALARIES, fields,
+                "WHERE s.user = :user ORDER BY s.salaryDate DESC", Map.of("user", user));
+    }
+
+    @Transactional(readOnly = true)
     public List<Salary> getUserSalariesByDateRange(User user, LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Getting salaries for user: {} between {} and {}", user.getEmail(), startDate, endDate);
         return salaryRepository.findByUserAndSalaryDateBetweenOrderBySalaryDateDesc(user, startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Salary> getSalaryById(Long id) {
         return salaryRepository.findById(id);
     }
 
+    @Transactional
     public Salary updateSalary(Salary salary) {
         log.info("Updating salary: {}", salary.getId());
+        syncService.stamp(List.of(salary));
         return salaryRepository.save(salary);
     }
 
+    @Transactional
     public void deleteSalary(Long id) {
         log.info("Deleting salary: {}", id);
+        salaryRepository.findById(id)
+                .ifPresent(salary -> syncService.recordDeleted(SyncTombstone.EntityType.SALARY, salary));
         salaryRepository.deleteById(id);
     }
 
+    @Transactional(readOnly = true)
     public BigDecimal getTotalSalaries(User user) {
         log.info("🔍 Getting total salaries for user: {}", user.getEmail());
         BigDecimal total = salaryRepository.sumAmountByUser(user);
@@ -55,6 +80,7 @@ public class SalaryService {
         return total != null ? total : BigDecimal.ZERO;
     }
 
+    @Transactional(readOnly = true)
     public BigDecimal getSalariesByDateRange(User user, LocalDateTime startDate, LocalDateTime endDate) {
         log.info("🔍 Getting salaries for user: {} between {} and {}", user.getEmail(), startDate, endDate);
         BigDecimal total = salaryRepository.sumAmountByUserAndDateBetween(user, startDate, endDate);
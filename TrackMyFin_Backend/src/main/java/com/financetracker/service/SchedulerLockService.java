@@ -0,0 +1,78 @@
+package com.financetracker.service;
+
+import com.financetracker.repository.SchedulerLockRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SchedulerLockService {
+
+    private static final LocalDateTime UNLOCKED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.node-id:}")
+    private String nodeId;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // Leases expire on their own, so a node that dies mid-job does not block the others forever
+    public boolean tryLock(String name, Duration lease) {
+        ensureLockRow(name);
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = requiresNew.execute(status ->
+                schedulerLockRepository.tryAcquire(name, nodeId, now, now.plus(lease)));
+        boolean acquired = updated != null && updated == 1;
+        if (!acquired) {
+            log.debug("Scheduler lock {} is held by another node", name);
+        }
+        return acquired;
+    }
+
+    public void unlock(String name) {
+        requiresNew.executeWithoutResult(status ->
+                schedulerLockRepository.release(name, nodeId, LocalDateTime.now()));
+    }
+
+    private void ensureLockRow(String name) {
+        if (schedulerLockRepository.existsById(name)) {
+            return;
+        }
+        try {
+            requiresNew.executeWithoutResult(status -> jdbcTemplate.update(
+                    "INSERT INTO scheduler_locks (name, locked_until) VALUES (?, ?)", name, UNLOCKED));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the row first
+        }
+    }
+}
@@ -1,17 +1,28 @@
 package com.financetracker.service;
 
+import com.financetracker.archive.TransactionArchiveService;
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.categorization.AutoCategorizationService;
 import com.financetracker.entity.Category;
+import com.financetracker.entity.SyncTombstone;
 import com.financetracker.entity.Transaction;
 import com.financetracker.entity.User;
+import com.financetracker.ledger.LedgerService;
+import com.financetracker.projection.ListProjections;
+import com.financetracker.projection.ProjectionQueries;
 import com.financetracker.repository.CategoryRepository;
 import com.financetracker.repository.TransactionRepository;
+import com.financetracker.sync.SyncService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -21,15 +32,36 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
+    private final AutoCategorizationService autoCategorizationService;
+    private final TransactionArchiveService transactionArchiveService;
+    private final LedgerService ledgerService;
+    private final ProjectionQueries projectionQueries;
+    private final SyncService syncService;
 
     public Transaction createTransaction(Transaction transaction) {
+        prepareForInsert(transaction);
+        syncService.stamp(List.of(transaction));
+        Transaction saved = transactionRepository.save(transaction);
+        ledgerService.recordCreated(List.of(saved));
+        return saved;
+    }
+
+    public List<Transaction> createTransactions(List<Transaction> transactions) {
+        transactions.forEach(this::prepareForInsert);
+        syncService.stamp(transactions);
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        ledgerService.recordCreated(saved);
+        return saved;
+    }
+
+    private void prepareForInsert(Transaction transaction) {
         // If categoryId is provided but category entity is null, load it
         if (transaction.getCategory() != null && transaction.getCategory().getId() != null) {
-            Category category = categoryRepository.findById(transaction.getCategory().getId())
-                    .orElseThrow(() -> new RuntimeException("Category not found"));
-            transaction.setCategory(category);
+            transaction.setCategory(resolveCategory(transaction.getCategory().getId()));
         }
-        return transactionRepository.save(transaction);
+        // Otherwise try the keyword rules
+        autoCategorizationService.apply(transaction);
     }
 
     @Transactional(readOnly = true)
@@ -37,10 +69,24 @@ public class TransactionService {
         return transactionRepository.findByUserOrderByTransactionDateDesc(user);
     }
 
+    // Live rows only, like getUserTransactions
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUserTransactionFields(User user, String fields) {
+        return projectionQueries.list(ListProjections.TRANSACTIONS, fields,
+                "WHERE t.user = :user ORDER BY t.transactionDate DESC", Map.of("user", user));
+    }
+
     @Transactional(readOnly = true)
     public List<Transaction> getUserTransactionsByDateRange(User user, LocalDateTime startDate, LocalDateTime endDate) {
-        return transactionRepository.findByUserAndTransactionDateBetweenOrderByTransactionDateDesc(
-                user, startDate, endDate);
+        List<Transaction> transactions = new ArrayList<>(transactionRepository
+                .findByUserAndTransactionDateBetweenOrderByTransactionDateDesc(user, startDate, endDate));
+        // Ranges reaching back past the archive horizon also get the archived rows
+        int live = transactions.size();
+        transactionArchiveService.streamArchived(user, startDate, endDate).forEach(transactions::add);
+        if (transactions.size() > live) {
+            transactions.sort(Comparator.comparing(Transaction::getTransactionDate).reversed());
+        }
+        return transactions;
     }
 
     @Transactional(readOnly = true)
@@ -51,25 +97,39 @@ public class TransactionService {
     public Transaction updateTransaction(Transaction transaction) {
         // If categoryId is provided but category entity is null, load it
         if (transaction.getCategory() != null && transaction.getCategory().getId() != null) {
-            Category category = categoryRepository.findById(transaction.getCategory().getId())
-                    .orElseThrow(() -> new RuntimeException("Category not found"));
-            transaction.setCategory(category);
+            transaction.setCategory(resolveCategory(transaction.getCategory().getId()));
         }
-        return transactionRepository.save(transaction);
+        // Sync head, then the row (flushed here), then the ledger head
+        syncService.stamp(List.of(transaction));
+        Transaction saved = transactionRepository.saveAndFlush(transaction);
+        ledgerService.recordAmended(saved);
+        return saved;
+    }
+
+    private Category resolveCategory(Long categoryId) {
+        return categoryCache.findById(categoryId)
+                .or(() -> categoryRepository.findById(categoryId))
+                .orElseThrow(() -> new RuntimeException("Category not found"));
     }
 
     public void deleteTransaction(Long id) {
+        Optional<Transaction> transaction = transactionRepository.findById(id);
+        transaction.ifPresent(row -> syncService.recordDeleted(SyncTombstone.EntityType.TRANSACTION, row));
         transactionRepository.deleteById(id);
+        transactionRepository.flush();
+        transaction.ifPresent(ledgerService::recordVoided);
     }
 
     public BigDecimal getTotalIncome(User user) {
         BigDecimal total = transactionRepository.sumAmountByUserAndType(user, Transaction.TransactionType.INCOME);
-        return total != null ? total : BigDecimal.ZERO;
+        return (total != null ? total : BigDecimal.ZERO)
+                .add(transactionArchiveService.getArchivedTotal(user, Transaction.TransactionType.INCOME));
     }
 
     public BigDecimal getTotalExpenses(User user) {
         BigDecimal total = transactionRepository.sumAmountByUserAndType(user, Transaction.TransactionType.EXPENSE);
-        return total != null ? total : BigDecimal.ZERO;
+        return (total != null ? total : BigDecimal.ZERO)
+                .add(transactionArchiveService.getArchivedTotal(user, Transaction.TransactionType.EXPENSE));
     }
 
     public BigDecimal getNetBalance(User user) {
@@ -79,12 +139,14 @@ public class TransactionService {
     public BigDecimal getIncomeByDateRange(User user, LocalDateTime startDate, LocalDateTime endDate) {
         BigDecimal total = transactionRepository.sumAmountByUserAndTypeAndDateBetween(
                 user, Transaction.TransactionType.INCOME, startDate, endDate);
-        return total != null ? total : BigDecimal.ZERO;
+        return (total != null ? total : BigDecimal.ZERO).add(transactionArchiveService.getArchivedTotal(
+                user, Transaction.TransactionType.INCOME, startDate, endDate));
     }
 
     public BigDecimal getExpensesByDateRange(User user, LocalDateTime startDate, LocalDateTime endDate) {
         BigDecimal total = transactionRepository.sumAmountByUserAndTypeAndDateBetween(
                 user, Transaction.TransactionType.EXPENSE, startDate, endDate);
-        return total != null ? total : BigDecimal.ZERO;
+        return (total != null ? total : BigDecimal.ZERO).add(transactionArchiveService.getArchivedTotal(
+                user, Transaction.TransactionType.EXPENSE, startDate, endDate));
     }
 }
@@ -0,0 +1,52 @@
+package com.financetracker.service;
+
+import com.financetracker.repository.UserHeadRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Locks a user's head row (ledger, sync) for the rest of the caller's transaction, creating it on first use
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserHeadService {
+
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // A missing head is opened first, see ensureOpen
+    @Transactional
+    public <H> H lock(String name, UserHeadRepository<H> repository, Long userId, Runnable open) {
+        ensureOpen(name, repository, userId, open);
+        return repository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException(name + " missing for user " + userId));
+    }
+
+    // open inserts the head, plus anything that has to exist with it, in its own transaction, so rows the caller
+    // is still writing stay out of it. Losing that insert to a concurrent request is fine; the winner's row is
+    // used instead.
+    public <H> void ensureOpen(String name, UserHeadRepository<H> repository, Long userId, Runnable open) {
+        // Checked without a lock first: a locking read of a missing row takes a gap lock on MySQL, which would
+        // block the insert
+        if (!repository.existsById(userId)) {
+            try {
+                requiresNew.executeWithoutResult(status -> open.run());
+            } catch (DataIntegrityViolationException e) {
+                log.debug("{} for user {} was created concurrently", name, userId);
+            }
+        }
+    }
+}
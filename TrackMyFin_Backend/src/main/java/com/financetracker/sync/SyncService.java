@@ -0,0 +1,200 @@
+package com.financetracker.sync;
+
+import com.financetracker.entity.Budget;
+import com.financetracker.entity.Salary;
+import com.financetracker.entity.SyncHead;
+import com.financetracker.entity.SyncTombstone;
+import com.financetracker.entity.SyncVersioned;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.BudgetRepository;
+import com.financetracker.repository.InChunks;
+import com.financetracker.repository.SalaryRepository;
+import com.financetracker.repository.SyncHeadRepository;
+import com.financetracker.repository.SyncTombstoneRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.service.SchedulerLockService;
+import com.financetracker.service.UserHeadService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+// Per-user change sequence behind /api/sync. Every write to a transaction, salary or budget stamps the row with
+// the user's next sequence, and every delete leaves a tombstone, so a client can ask for what changed after the
+// last sequence it saw. The sequence is taken under the user's SyncHead lock, before any row lock and before the
+// ledger head (callers stamp first), so a sequence never becomes visible ahead of a smaller one of the same user.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncService {
+
+    static final String COMPACTION_LOCK = "sync-tombstone-compaction";
+
+    private final SyncHeadRepository headRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final TransactionRepository transactionRepository;
+    private final SalaryRepository salaryRepository;
+    private final BudgetRepository budgetRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final UserHeadService userHeadService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    @Value("${app.sync.compaction.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.sync.compaction.lock-lease:PT30M}")
+    private Duration lockLease;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Rows about to be saved; rows of the same user share one sequence
+    @Transactional
+    public void stamp(Collection<? extends SyncVersioned> rows) {
+        Map<Long, List<SyncVersioned>> byUser = rows.stream()
+                .collect(Collectors.groupingBy(row -> row.getUser().getId(), TreeMap::new, Collectors.toList()));
+        byUser.forEach((userId, userRows) -> {
+            long sequence = nextSequence(userId);
+            userRows.forEach(row -> row.setChangeSequence(sequence));
+        });
+    }
+
+    // For bulk updates that bypass the entities; call it before the update so heads are locked ahead of the rows
+    @Transactional
+    public void stampTransactions(List<Long> ids) {
+        stampOwners(InChunks.query(ids, transactionRepository::findOwners), transactionRepository::stampChangeSequence);
+    }
+
+    @Transactional
+    public void stampBudgets(List<Long> ids) {
+        stampOwners(InChunks.query(ids, budgetRepository::findOwners), budgetRepository::stampChangeSequence);
+    }
+
+    @Transactional
+    public void stampBudgetsOfCategory(Long categoryId) {
+        stampOwners(budgetRepository.findOwnersByCategoryId(categoryId), budgetRepository::stampChangeSequence);
+    }
+
+    @Transactional
+    public void recordDeleted(SyncTombstone.EntityType type, SyncVersioned row) {
+        Long userId = row.getUser().getId();
+        recordDeleted(userId, type, List.of(row.getId()), nextSequence(userId));
+    }
+
+    // For callers that had to take the sequence before locking the rows they delete
+    @Transactional
+    public void recordDeleted(Long userId, SyncTombstone.EntityType type, Collection<Long> ids, long sequence) {
+        List<SyncTombstone> tombstones = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            tombstones.add(new SyncTombstone(null, userId, type, id, sequence, null));
+        }
+        tombstoneRepository.saveAll(tombstones);
+    }
+
+    // Locks the user's head and hands out the next sequence
+    @Transactional
+    public long nextSequence(Long userId) {
+        SyncHead head = userHeadService.lock("Sync head", headRepository, userId,
+                () -> headRepository.saveAndFlush(new SyncHead(userId, 0, 0, null)));
+        head.setLastSequence(head.getLastSequence() + 1);
+        return head.getLastSequence();
+    }
+
+    // Everything after since, up to the head as it was when the read started. Clients that never synced, or whose
+    // tombstones were compacted away since, get full lists and have to replace what they hold.
+    @Transactional(readOnly = true)
+    public SyncChanges getChanges(User user, long since) {
+        SyncHead head = headRepository.findById(user.getId()).orElse(null);
+        long upTo = head != null ? head.getLastSequence() : 0;
+        long compactedThrough = head != null ? head.getCompactedThrough() : 0;
+        if (since <= 0 || since < compactedThrough || since > upTo) {
+            return new SyncChanges(upTo, true,
+                    transactionRepository.findByUserOrderByTransactionDateDesc(user),
+                    salaryRepository.findByUserOrderBySalaryDateDesc(user),
+                    budgetRepository.findByUserOrderByStartDateDesc(user),
+                    List.of());
+        }
+        if (since == upTo) {
+            return new SyncChanges(upTo, false, List.of(), List.of(), List.of(), List.of());
+        }
+        return new SyncChanges(upTo, false,
+                transactionRepository.findChanges(user, since, upTo),
+                salaryRepository.findChanges(user, since, upTo),
+                budgetRepository.findChanges(user, since, upTo),
+                tombstoneRepository.findChanges(user.getId(), since, upTo));
+    }
+
+    @Scheduled(cron = "${app.sync.compaction.cron:0 45 1 * * *}")
+    public void scheduledCompaction() {
+        if (!schedulerLockService.tryLock(COMPACTION_LOCK, lockLease)) {
+            return;
+        }
+        try {
+            int removed = compactTombstones(LocalDateTime.now().minus(tombstoneRetention));
+            log.info("Sync tombstone compaction finished: {} tombstones removed", removed);
+        } finally {
+            schedulerLockService.unlock(COMPACTION_LOCK);
+        }
+    }
+
+    // Drops tombstones older than the cutoff, one user per transaction, and moves each user's compaction floor up
+    public int compactTombstones(LocalDateTime cutoff) {
+        int removed = 0;
+        Long afterId = 0L;
+        List<Object[]> page;
+        do {
+            page = tombstoneRepository.findCompactableAfter(cutoff, afterId, PageRequest.of(0, batchSize));
+            for (Object[] row : page) {
+                Long userId = (Long) row[0];
+                long through = (Long) row[1];
+                Integer deleted = transactionTemplate.execute(status -> {
+                    SyncHead head = headRepository.findForUpdate(userId).orElseThrow();
+                    head.setCompactedThrough(Math.max(head.getCompactedThrough(), through));
+                    return tombstoneRepository.deleteThrough(userId, through);
+                });
+                removed += deleted != null ? deleted : 0;
+                afterId = userId;
+            }
+        } while (page.size() == batchSize);
+        return removed;
+    }
+
+    private void stampOwners(List<Object[]> owners, BiConsumer<List<Long>, Long> update) {
+        Map<Long, List<Long>> idsByUser = new TreeMap<>();
+        for (Object[] owner : owners) {
+            idsByUser.computeIfAbsent((Long) owner[1], userId -> new ArrayList<>()).add((Long) owner[0]);
+        }
+        idsByUser.forEach((userId, ids) -> {
+            long sequence = nextSequence(userId);
+            InChunks.forEach(ids, chunk -> update.accept(chunk, sequence));
+        });
+    }
+
+    public record SyncChanges(long sequence, boolean full, List<Transaction> transactions, List<Salary> salaries,
+                              List<Budget> budgets, List<SyncTombstone> tombstones) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.financetracker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.metrics.VirtualThreadPinningMonitor;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Run with: mvn test -Pbenchmark -Dtest=VirtualThreadLoadBenchmark
+// Starts the application once per threading mode with the shipped pool size and drives GET /api/dashboard/stats for
+// an account with a year of transactions, so every request runs the real queries and queues for a connection.
+@Tag("benchmark")
+class VirtualThreadLoadBenchmark {
+
+    private static final int CONCURRENCY = 200;
+    private static final int REQUESTS = 5_000;
+    private static final int TRANSACTIONS = 1_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void platformThreadsAgainstVirtualThreads() throws Exception {
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                String email = "load-" + System.nanoTime() + "@example.com";
+                String token = token(baseUrl, email);
+                seed(context, email);
+                Result warmup = drive(baseUrl, token, CONCURRENCY / 4, REQUESTS / 10);
+                Result result = drive(baseUrl, token, CONCURRENCY, REQUESTS);
+                String pinned = virtual
+                        ? ", " + context.getBean(VirtualThreadPinningMonitor.class).getPinnedCount() + " pinning events"
+                        : "";
+                System.out.printf("%-16s %7.0f req/s  p50 %5d ms  p99 %5d ms  %d errors (warmup %d req/s)%s%n",
+                        virtual ? "virtual threads" : "platform threads", result.throughput(), result.p50(),
+                        result.p99(), result.errors(), (long) warmup.throughput(), pinned);
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtual) {
+        String mode = virtual ? "virtual" : "platform";
+        // Command-line arguments, so they win over the shipped defaults. Requests wait for a connection instead of
+        // failing after the shipped 2s, so the queueing shows up in the latencies.
+        return new SpringApplicationBuilder(FinanceTrackerApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.connection-timeout=30000",
+                        "--logging.level.root=WARN");
+    }
+
+    private String token(String baseUrl, String email) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "email", email, "password", "secret123", "firstName", "Load", "lastName", "Test"));
+        HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder()
+                        .uri(URI.create(baseUrl + "/api/auth/register"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.get("token").asText();
+    }
+
+    private static void seed(ConfigurableApplicationContext context, String email) {
+        User user = context.getBean(UserRepository.class).findByEmail(email).orElseThrow();
+        List<Category> categories = context.getBean(CategoryRepository.class).findAll();
+        List<Transaction> transactions = new ArrayList<>(TRANSACTIONS);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setAmount(BigDecimal.valueOf(1000 + i * 7L, 2));
+            transaction.setDescription("Card payment " + i);
+            transaction.setType(i % 10 == 0 ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE);
+            transaction.setCategory(categories.get(i % categories.size()));
+            transaction.setTransactionDate(LocalDateTime.now().minusHours(8L * i));
+            transactions.add(transaction);
+        }
+        context.getBean(TransactionRepository.class).saveAll(transactions);
+    }
+
+    private Result drive(String baseUrl, String token, int concurrency, int requests) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/dashboard/stats"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(concurrency);
+        long started = System.nanoTime();
+        HttpClient client = HttpClient.newHttpClient();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                inFlight.acquire();
+                executor.submit(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - sent;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        Arrays.sort(latencies);
+        return new Result(requests / (elapsed / 1e9),
+                latencies[requests / 2] / 1_000_000, latencies[(int) (requests * 0.99)] / 1_000_000, errors.get());
+    }
+
+    private record Result(double throughput, long p50, long p99, int errors) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.financetracker.archive;
+
+import com.financetracker.entity.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArchiveSegmentCodecTest {
+
+    @Test
+    void roundTripsEveryColumnSortedByDate() {
+        LocalDateTime base = LocalDateTime.of(2021, 3, 1, 9, 30);
+        ArchivedTransaction late = new ArchivedTransaction(900L, new BigDecimal("-12.345"), "Refund é",
+                Transaction.TransactionType.INCOME, null, null, base.plusDays(20).withNano(123_456_000),
+                null, null, "note", "schedule:4:2021-03-21");
+        ArchivedTransaction early = new ArchivedTransaction(17L, new BigDecimal("1500"), "Rent",
+                Transaction.TransactionType.EXPENSE, 3L, "Bills", base,
+                base.plusSeconds(5), base.plusDays(400).withNano(1_000), null, null);
+        ArchivedTransaction deletedCategory = new ArchivedTransaction(18L, new BigDecimal("0.10"), "Rent",
+                Transaction.TransactionType.EXPENSE, 99L, "Old category", base.plusDays(1),
+                base.minusDays(2), base.minusDays(1), null, null);
+
+        List<ArchivedTransaction> decoded = ArchiveSegmentCodec.decode(
+                ArchiveSegmentCodec.encode(List.of(late, early, deletedCategory)));
+
+        assertThat(decoded).hasSize(3);
+        assertThat(decoded.get(0)).isEqualTo(withAmount(early, "1500.000"));
+        assertThat(decoded.get(1)).isEqualTo(withAmount(deletedCategory, "0.100"));
+        assertThat(decoded.get(2)).isEqualTo(late);
+    }
+
+    @Test
+    void repetitiveMonthsEncodeCompactly() {
+        Random random = new Random(7);
+        String[] descriptions = {"Coffee", "Groceries", "Bus ticket", "Lunch", "Streaming subscription"};
+        List<ArchivedTransaction> rows = new ArrayList<>();
+        LocalDateTime date = LocalDateTime.of(2020, 5, 1, 0, 0);
+        for (int i = 0; i < 500; i++) {
+            date = date.plusMinutes(random.nextInt(90));
+            int kind = random.nextInt(descriptions.length);
+            rows.add(new ArchivedTransaction(10_000L + i * 3L, BigDecimal.valueOf(random.nextInt(10_000), 2),
+                    descriptions[kind], Transaction.TransactionType.EXPENSE, (long) kind, "Category " + kind,
+                    date, date, date, null, null));
+        }
+
+        byte[] encoded = ArchiveSegmentCodec.encode(rows);
+
+        assertThat(ArchiveSegmentCodec.decode(encoded)).isEqualTo(rows);
+        assertThat(encoded.length / rows.size()).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    void rejectsUnknownFormatVersions() {
+        byte[] encoded = ArchiveSegmentCodec.encode(List.of());
+        encoded[0] = 9;
+
+        assertThatThrownBy(() -> ArchiveSegmentCodec.decode(encoded)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static ArchivedTransaction withAmount(ArchivedTransaction row, String amount) {
+        return new ArchivedTransaction(row.id(), new BigDecimal(amount), row.description(), row.type(),
+                row.categoryId(), row.categoryName(), row.transactionDate(), row.createdAt(), row.updatedAt(),
+                row.notes(), row.occurrenceKey());
+    }
+}
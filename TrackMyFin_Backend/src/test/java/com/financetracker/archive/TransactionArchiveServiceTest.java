@@ -0,0 +1,200 @@
+package com.financetracker.archive;
+
+import com.financetracker.entity.Category;
+import com.financetracker.entity.MonthlySummary;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.TransactionArchiveSegment;
+import com.financetracker.entity.User;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.MonthlySummaryRepository;
+import com.financetracker.repository.TransactionArchiveSegmentRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.TransactionService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TransactionArchiveServiceTest {
+
+    // Default horizon of 36 months puts the cutoff at 2021-06-01
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 10);
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionArchiveSegmentRepository segmentRepository;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void oldMonthsMoveIntoSegmentsAndTotalsStayTheSame() {
+        User user = newUser(userRepository, "archive-totals@example.com");
+        Category food = newCategory("Archive food");
+        newTransaction(user, Transaction.TransactionType.EXPENSE, "40.00", "Groceries", food,
+                LocalDateTime.of(2019, 1, 5, 10, 0));
+        newTransaction(user, Transaction.TransactionType.EXPENSE, "15.50", "Coffee", food,
+                LocalDateTime.of(2019, 1, 20, 8, 15));
+        newTransaction(user, Transaction.TransactionType.INCOME, "900.00", "Bonus", null,
+                LocalDateTime.of(2019, 2, 1, 0, 0));
+        newTransaction(user, Transaction.TransactionType.EXPENSE, "7.25", "Lunch", food,
+                LocalDateTime.of(2024, 6, 1, 12, 0));
+        entityManager.flush();
+        BigDecimal expensesBefore = transactionService.getTotalExpenses(user);
+        BigDecimal incomeBefore = transactionService.getTotalIncome(user);
+
+        assertThat(transactionArchiveService.archiveTransactions(TODAY)).isEqualTo(3);
+        entityManager.clear();
+
+        assertThat(transactionRepository.findByUserOrderByTransactionDateDesc(user))
+                .extracting(Transaction::getDescription).containsExactly("Lunch");
+        assertThat(transactionService.getTotalExpenses(user)).isEqualByComparingTo(expensesBefore);
+        assertThat(transactionService.getTotalIncome(user)).isEqualByComparingTo(incomeBefore);
+        assertThat(transactionService.getExpensesByDateRange(user,
+                LocalDateTime.of(2019, 1, 1, 0, 0), LocalDateTime.of(2019, 1, 31, 23, 59, 59)))
+                .isEqualByComparingTo("55.50");
+
+        List<TransactionArchiveSegment> segments = segmentRepository.findAll().stream()
+                .filter(segment -> segment.getUser().getId().equals(user.getId())).toList();
+        assertThat(segments).extracting(TransactionArchiveSegment::getMonthStart)
+                .containsExactlyInAnyOrder(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 2, 1));
+        assertThat(monthlySummaryRepository.findByUserAndMonthStart(user, LocalDate.of(2019, 1, 1)))
+                .singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.getTotal()).isEqualByComparingTo("55.50");
+                    assertThat(summary.getTransactionCount()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    void rangesCuttingThroughArchivedMonthsAreSummedExactly() {
+        User user = newUser(userRepository, "archive-partial@example.com");
+        newTransaction(user, Transaction.TransactionType.EXPENSE, "40.00", "Groceries", null,
+                LocalDateTime.of(2019, 1, 5, 10, 0));
+        newTransaction(user, Transaction.TransactionType.EXPENSE, "15.50", "Coffee", null,
+                LocalDateTime.of(2019, 1, 20, 8, 15));
+        newTransaction(user, Transaction.TransactionType.EXPENSE, "60.00", "Shoes", null,
+                LocalDateTime.of(2019, 2, 14, 16, 0));
+        newTransaction(user, Transaction.TransactionType.INCOME, "900.00", "Bonus", null,
+                LocalDateTime.of(2019, 2, 28, 9, 0));
+        newTransaction(user, Transaction.TransactionType.EXPENSE, "22.00", "Taxi", null,
+                LocalDateTime.of(2019, 3, 3, 23, 0));
+        entityManager.flush();
+        transactionArchiveService.archiveTransactions(TODAY);
+        entityManager.clear();
+
+        LocalDateTime from = LocalDateTime.of(2019, 1, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2019, 3, 3, 12, 0);
+        assertThat(transactionService.getExpensesByDateRange(user, from, to)).isEqualByComparingTo("75.50");
+        assertThat(transactionService.getIncomeByDateRange(user, from, to)).isEqualByComparingTo("900.00");
+        assertThat(transactionService.getUserTransactionsByDateRange(user, from, to).stream()
+                .filter(transaction -> transaction.getType() == Transaction.TransactionType.EXPENSE)
+                .map(Transaction::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo("75.50");
+        assertThat(transactionService.getExpensesByDateRange(user,
+                LocalDateTime.of(2019, 1, 1, 0, 0), LocalDateTime.of(2019, 1, 10, 0, 0)))
+                .isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void archivedRowsAreReadBackWithLiveOnes() {
+        User user = newUser(userRepository, "archive-history@example.com");
+        Category food = newCategory("Archive history food");
+        Transaction groceries = newTransaction(user, Transaction.TransactionType.EXPENSE, "40.00", "Groceries", food,
+                LocalDateTime.of(2019, 1, 5, 10, 0));
+        newTransaction(user, Transaction.TransactionType.INCOME, "900.00", "Bonus", null,
+                LocalDateTime.of(2019, 2, 1, 0, 0));
+        newTransaction(user, Transaction.TransactionType.EXPENSE, "7.25", "Lunch", food,
+                LocalDateTime.of(2024, 6, 1, 12, 0));
+        entityManager.flush();
+        transactionArchiveService.archiveTransactions(TODAY);
+        entityManager.clear();
+
+        LocalDateTime from = LocalDateTime.of(2018, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 12, 31, 0, 0);
+        List<Transaction> listed = transactionService.getUserTransactionsByDateRange(user, from, to);
+        assertThat(listed).extracting(Transaction::getDescription).containsExactly("Lunch", "Bonus", "Groceries");
+        Transaction archived = listed.get(2);
+        assertThat(archived.getId()).isEqualTo(groceries.getId());
+        assertThat(archived.getAmount()).isEqualByComparingTo("40.00");
+        assertThat(archived.getCategory().getName()).isEqualTo("Archive history food");
+
+        assertThat(transactionArchiveService.streamHistory(user, from, to).toList())
+                .extracting(Transaction::getDescription).containsExactly("Groceries", "Bonus", "Lunch");
+        assertThat(transactionArchiveService.streamHistory(user, from, LocalDateTime.of(2019, 1, 31, 0, 0)).toList())
+                .extracting(Transaction::getDescription).containsExactly("Groceries");
+    }
+
+    @Test
+    void lateRowsForAnArchivedMonthAreMergedIntoItsSegment() {
+        User user = newUser(userRepository, "archive-late@example.com");
+        newTransaction(user, Transaction.TransactionType.EXPENSE, "10.00", "Coffee", null,
+                LocalDateTime.of(2019, 3, 2, 9, 0));
+        entityManager.flush();
+        transactionArchiveService.archiveTransactions(TODAY);
+
+        newTransaction(user, Transaction.TransactionType.EXPENSE, "2.50", "Coffee", null,
+                LocalDateTime.of(2019, 3, 9, 9, 0));
+        entityManager.flush();
+        assertThat(transactionArchiveService.archiveTransactions(TODAY)).isEqualTo(1);
+        entityManager.clear();
+
+        TransactionArchiveSegment segment = segmentRepository
+                .findByUserAndMonthStart(user, LocalDate.of(2019, 3, 1)).orElseThrow();
+        assertThat(segment.getRowCount()).isEqualTo(2);
+        assertThat(monthlySummaryRepository.findByUserAndMonthStart(user, LocalDate.of(2019, 3, 1)))
+                .extracting(MonthlySummary::getTotal).singleElement()
+                .satisfies(total -> assertThat(total).isEqualByComparingTo("12.50"));
+    }
+
+    private Transaction newTransaction(User user, Transaction.TransactionType type, String amount,
+                                       String description, Category category, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription(description);
+        transaction.setCategory(category);
+        transaction.setTransactionDate(date);
+        return transactionRepository.save(transaction);
+    }
+
+    private Category newCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setColor("#000000");
+        category.setIcon("x");
+        category.setType(Category.CategoryType.EXPENSE);
+        return categoryRepository.save(category);
+    }
+}
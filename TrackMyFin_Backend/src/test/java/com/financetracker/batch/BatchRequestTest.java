@@ -0,0 +1,191 @@
+package com.financetracker.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.entity.Salary;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.SalaryRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:batch-requests;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@DirtiesContext
+class BatchRequestTest {
+
+    private static final List<String> PAGE_LOAD = List.of("/api/dashboard/stats",
+            "/api/dashboard/expenses-chart?range=3m", "/api/transactions", "/api/salaries", "/api/categories",
+            "/api/transactions?fields=id%2Camount,type");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SalaryRepository salaryRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByEmail("batch-requests@example.com").orElseGet(() -> {
+            User saved = newUser(userRepository, "batch-requests@example.com");
+            for (int i = 0; i < 5; i++) {
+                Transaction transaction = new Transaction();
+                transaction.setUser(saved);
+                transaction.setAmount(new BigDecimal("20.00").add(BigDecimal.valueOf(i)));
+                transaction.setDescription("Groceries " + i);
+                transaction.setType(Transaction.TransactionType.EXPENSE);
+                transaction.setTransactionDate(LocalDateTime.now().minusDays(i));
+                transactionRepository.save(transaction);
+            }
+            Salary salary = new Salary();
+            salary.setUser(saved);
+            salary.setAmount(new BigDecimal("2500.00"));
+            salary.setDescription("Salary");
+            salary.setSalaryDate(LocalDateTime.now().minusDays(1));
+            salaryRepository.save(salary);
+            return saved;
+        });
+    }
+
+    @Test
+    void pageLoadInOneRoundTripMatchesTheSeparateCalls() throws Exception {
+        JsonNode responses = batch(PAGE_LOAD);
+
+        assertThat(responses).hasSize(PAGE_LOAD.size());
+        for (int i = 0; i < PAGE_LOAD.size(); i++) {
+            JsonNode response = responses.get(i);
+            assertThat(response.get("id").asText()).isEqualTo("r" + i);
+            assertThat(response.get("status").asInt()).as(PAGE_LOAD.get(i)).isEqualTo(200);
+            assertThat(response.get("body")).as(PAGE_LOAD.get(i)).isEqualTo(direct(PAGE_LOAD.get(i)));
+        }
+        assertThat(responses.get(4).get("body").isArray()).isTrue();
+        assertThat(responses.get(5).get("body").get(0).size()).isEqualTo(3);
+    }
+
+    @Test
+    void parallelModeGivesTheSameAnswersAndReturnsItsConnections() throws Exception {
+        JsonNode sequential = batch(PAGE_LOAD);
+        Semaphore connections = (Semaphore) ReflectionTestUtils.getField(batchService, "connections");
+        int available = connections.availablePermits();
+        ReflectionTestUtils.setField(batchService, "parallelism", 4);
+        try {
+            assertThat(batch(PAGE_LOAD)).isEqualTo(sequential);
+            assertThat(connections.availablePermits()).isEqualTo(available);
+        } finally {
+            ReflectionTestUtils.setField(batchService, "parallelism", 1);
+        }
+    }
+
+    @Test
+    void parallelBatchRunsSequentiallyWhenOtherBatchesHoldTheConnectionShare() throws Exception {
+        JsonNode sequential = batch(PAGE_LOAD);
+        Semaphore connections = (Semaphore) ReflectionTestUtils.getField(batchService, "connections");
+        // Leaves a single permit, too few to run in parallel
+        int taken = connections.drainPermits() - 1;
+        connections.release();
+        ReflectionTestUtils.setField(batchService, "parallelism", 4);
+        try {
+            assertThat(batch(PAGE_LOAD)).isEqualTo(sequential);
+            assertThat(connections.availablePermits()).isEqualTo(1);
+        } finally {
+            ReflectionTestUtils.setField(batchService, "parallelism", 1);
+            connections.release(taken);
+        }
+    }
+
+    @Test
+    void failuresStayWithTheirSubRequest() throws Exception {
+        List<Map<String, String>> items = List.of(
+                Map.of("id", "missing", "path", "/api/users"),
+                Map.of("id", "write", "method", "DELETE", "path", "/api/transactions"),
+                Map.of("id", "bad-fields", "path", "/api/budgets?fields=password"),
+                Map.of("id", "ok", "path", "/api/budgets"));
+
+        JsonNode responses = batchItems(items);
+
+        assertThat(responses.get(0).get("status").asInt()).isEqualTo(404);
+        assertThat(responses.get(1).get("status").asInt()).isEqualTo(405);
+        assertThat(responses.get(2).get("status").asInt()).isEqualTo(400);
+        assertThat(responses.get(2).get("body").get("error").asText()).contains("Unknown field 'password'");
+        assertThat(responses.get(3).get("status").asInt()).isEqualTo(200);
+    }
+
+    @Test
+    void oversizedAndAnonymousBatchesAreRejected() throws Exception {
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            paths.add("/api/categories");
+        }
+        mockMvc.perform(post("/api/batch").with(user(user)).contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("requests", items(paths)))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("requests", items(PAGE_LOAD)))))
+                .andExpect(status().isForbidden());
+    }
+
+    private JsonNode batch(List<String> paths) throws Exception {
+        return batchItems(items(paths));
+    }
+
+    private JsonNode batchItems(List<Map<String, String>> items) throws Exception {
+        String body = mockMvc.perform(post("/api/batch").with(user(user)).contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("requests", items))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("responses");
+    }
+
+    private JsonNode direct(String path) throws Exception {
+        String body = mockMvc.perform(get(URI.create(path)).with(user(user)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<Map<String, String>> items(List<String> paths) {
+        List<Map<String, String>> items = new ArrayList<>();
+        for (int i = 0; i < paths.size(); i++) {
+            items.add(Map.of("id", "r" + i, "path", paths.get(i)));
+        }
+        return items;
+    }
+}
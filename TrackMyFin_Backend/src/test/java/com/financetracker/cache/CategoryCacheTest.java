@@ -0,0 +1,114 @@
+package com.financetracker.cache;
+
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.CategoryService;
+import com.financetracker.service.TransactionService;
+import com.financetracker.support.QueryCountingConfig;
+import com.financetracker.support.SqlCapture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountingConfig.class)
+class CategoryCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Test
+    void listEndpointsAreServedFromCacheWithStrongEtags() throws Exception {
+        categoryCache.getAll();
+        sqlCapture.reset();
+
+        String etag = mockMvc.perform(get("/api/categories/type/EXPENSE"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$[0].name").value("Bills"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(etag).startsWith("\"").doesNotStartWith("W/");
+        mockMvc.perform(get("/api/categories/type/EXPENSE").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertThat(sqlCapture.statements()).noneMatch(sql -> sql.contains("categories"));
+    }
+
+    @Test
+    void writesInvalidateTheCache() throws Exception {
+        String etag = mockMvc.perform(get("/api/categories"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Category created = new Category();
+        created.setName("Pets");
+        created.setColor("#795548");
+        created.setIcon("🐾");
+        created.setType(Category.CategoryType.EXPENSE);
+        created = categoryService.createCategory(created);
+
+        assertThat(categoryCache.findById(created.getId())).isPresent();
+        assertThat(categoryCache.findByNameAndType("pets", Category.CategoryType.EXPENSE)).isPresent();
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+
+        categoryService.deleteCategory(created.getId());
+        assertThat(categoryCache.findById(created.getId())).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void transactionWritesResolveCategoriesWithoutQueries() {
+        User user = newUser(userRepository, "category-cache@example.com");
+        Category food = categoryCache.findByNameAndType("Food", Category.CategoryType.EXPENSE).orElseThrow();
+
+        Category reference = new Category();
+        reference.setId(food.getId());
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setCategory(reference);
+        transaction.setType(Transaction.TransactionType.EXPENSE);
+        transaction.setAmount(new BigDecimal("12.50"));
+        transaction.setDescription("Lunch");
+        transaction.setTransactionDate(LocalDateTime.now());
+
+        sqlCapture.reset();
+        Transaction saved = transactionService.createTransaction(transaction);
+
+        assertThat(saved.getCategory().getName()).isEqualTo("Food");
+        assertThat(sqlCapture.statements()).noneMatch(sql -> sql.toLowerCase().contains("from categories"));
+    }
+}
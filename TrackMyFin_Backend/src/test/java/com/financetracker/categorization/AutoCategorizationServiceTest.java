@@ -0,0 +1,189 @@
+package com.financetracker.categorization;
+
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.entity.CacheInvalidation;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.invalidation.EntityChangedEvent;
+import com.financetracker.repository.CategoryRuleRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.TransactionService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Its own database: the spied repository needs a context of its own, and contexts sharing one in-memory
+// database would recreate each other's schema
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:auto-categorization;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@Transactional
+class AutoCategorizationServiceTest {
+
+    @Autowired
+    private AutoCategorizationService autoCategorizationService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @SpyBean
+    private CategoryRuleRepository categoryRuleRepository;
+
+    @AfterEach
+    void restoreCacheSize() {
+        ReflectionTestUtils.setField(autoCategorizationService, "maxUserRuleSets", 10_000);
+    }
+
+    @Test
+    void defaultRulesCategorizeNewTransactions() {
+        User user = newUser(userRepository, "auto-default@example.com");
+
+        Transaction saved = transactionService.createTransaction(
+                newTransaction(user, Transaction.TransactionType.EXPENSE, "Netflix monthly plan", null));
+        Transaction income = transactionService.createTransaction(
+                newTransaction(user, Transaction.TransactionType.INCOME, "ACME payroll", null));
+        Transaction unknown = transactionService.createTransaction(
+                newTransaction(user, Transaction.TransactionType.EXPENSE, "Misc", "nothing to see"));
+
+        assertThat(saved.getCategory().getName()).isEqualTo("Entertainment");
+        assertThat(income.getCategory().getName()).isEqualTo("Salary");
+        assertThat(unknown.getCategory()).isNull();
+    }
+
+    @Test
+    void defaultKeywordsDoNotMatchInsideOtherWords() {
+        User user = newUser(userRepository, "auto-boundaries@example.com");
+
+        List<Transaction> saved = transactionService.createTransactions(List.of(
+                newTransaction(user, Transaction.TransactionType.EXPENSE, "Gift for parent", null),
+                newTransaction(user, Transaction.TransactionType.EXPENSE, "Coca-Cola", "small snack"),
+                newTransaction(user, Transaction.TransactionType.EXPENSE, "Training course", null),
+                newTransaction(user, Transaction.TransactionType.INCOME, "Refund from a disinterested party", null),
+                newTransaction(user, Transaction.TransactionType.EXPENSE, "Rent for May", null)));
+
+        assertThat(saved.subList(0, 4)).allSatisfy(transaction -> assertThat(transaction.getCategory()).isNull());
+        assertThat(saved.get(4).getCategory().getName()).isEqualTo("Bills");
+    }
+
+    @Test
+    void userRulesTakePrecedenceAndApplyToBulkImports() {
+        User user = newUser(userRepository, "auto-user@example.com");
+        Category shopping = category("Shopping");
+        autoCategorizationService.createRule(user, "Netflix", shopping.getId(), 0);
+        autoCategorizationService.recompileUser(user.getId());
+
+        List<Transaction> saved = transactionService.createTransactions(List.of(
+                newTransaction(user, Transaction.TransactionType.EXPENSE, "Netflix", null),
+                newTransaction(user, Transaction.TransactionType.EXPENSE, "Card payment", "pharmacy run")));
+
+        assertThat(saved.get(0).getCategory().getName()).isEqualTo("Shopping");
+        assertThat(saved.get(1).getCategory().getName()).isEqualTo("Healthcare");
+
+        User other = newUser(userRepository, "auto-other@example.com");
+        Transaction othersNetflix = transactionService.createTransaction(
+                newTransaction(other, Transaction.TransactionType.EXPENSE, "Netflix", null));
+        assertThat(othersNetflix.getCategory().getName()).isEqualTo("Entertainment");
+    }
+
+    @Test
+    void backfillCategorizesExistingTransactions() {
+        User user = newUser(userRepository, "auto-backfill@example.com");
+        Transaction uber = transactionRepository.save(
+                newTransaction(user, Transaction.TransactionType.EXPENSE, "Uber trip", null));
+        Transaction misc = transactionRepository.save(
+                newTransaction(user, Transaction.TransactionType.EXPENSE, "Misc", null));
+        entityManager.flush();
+
+        assertThat(autoCategorizationService.backfill(user)).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(transactionRepository.findById(uber.getId()).orElseThrow().getCategory().getId())
+                .isEqualTo(category("Transportation").getId());
+        assertThat(transactionRepository.findById(misc.getId()).orElseThrow().getCategory()).isNull();
+    }
+
+    @Test
+    void ruleSetsReadBeforeAnInvalidationAreNotKept() {
+        User user = newUser(userRepository, "auto-stale@example.com");
+        Category shopping = category("Shopping");
+        autoCategorizationService.createRule(user, "Netflix", shopping.getId(), 0);
+        autoCategorizationService.recompileUser(user.getId());
+        Transaction netflix = newTransaction(user, Transaction.TransactionType.EXPENSE, "Netflix", null);
+
+        // Another instance changes the user's rules while this one is still compiling the ones it read
+        autoCategorizationService.onPeerChange(
+                new EntityChangedEvent(CacheInvalidation.EntityType.CATEGORY_RULE, user.getId(), null));
+        Answer<?> delegate = mockingDetails(categoryRuleRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object rules = delegate.answer(invocation);
+            autoCategorizationService.onPeerChange(
+                    new EntityChangedEvent(CacheInvalidation.EntityType.CATEGORY_RULE, user.getId(), null));
+            return rules;
+        }).when(categoryRuleRepository).findByUserId(user.getId());
+        clearInvocations(categoryRuleRepository);
+
+        autoCategorizationService.findCategory(netflix);
+        autoCategorizationService.findCategory(netflix);
+
+        verify(categoryRuleRepository, times(2)).findByUserId(user.getId());
+    }
+
+    @Test
+    void userRuleSetsAreBounded() {
+        autoCategorizationService.invalidateAll();
+        ReflectionTestUtils.setField(autoCategorizationService, "maxUserRuleSets", 2);
+        for (int i = 0; i < 5; i++) {
+            User user = newUser(userRepository, "auto-bounded-" + i + "@example.com");
+            autoCategorizationService.findCategory(
+                    newTransaction(user, Transaction.TransactionType.EXPENSE, "Misc", null));
+        }
+
+        assertThat(autoCategorizationService.cachedUserRuleSets()).isEqualTo(2);
+    }
+
+    private Category category(String name) {
+        return categoryCache.findByNameAndType(name, Category.CategoryType.EXPENSE).orElseThrow();
+    }
+
+
+    private Transaction newTransaction(User user, Transaction.TransactionType type, String description, String notes) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal("20.00"));
+        transaction.setDescription(description);
+        transaction.setNotes(notes);
+        transaction.setTransactionDate(LocalDateTime.now());
+        return transaction;
+    }
+}
@@ -0,0 +1,91 @@
+package com.financetracker.categorization;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Run with: mvn test -Pbenchmark -Dtest=KeywordAutomatonBenchmark
+@Tag("benchmark")
+class KeywordAutomatonBenchmark {
+
+    private static final int RULES = 10_000;
+    private static final int TEXTS = 20_000;
+
+    @Test
+    void automatonAgainstNaiveScanAtTenThousandRules() {
+        Random random = new Random(7);
+        List<String> keywords = new ArrayList<>(RULES);
+        KeywordAutomaton.Builder<Integer> builder = KeywordAutomaton.builder();
+        for (int i = 0; i < RULES; i++) {
+            String keyword = randomWord(random, 5 + random.nextInt(8));
+            keywords.add(keyword);
+            builder.add(keyword, 0, i);
+        }
+
+        long buildStart = System.nanoTime();
+        KeywordAutomaton<Integer> automaton = builder.build();
+        long buildNanos = System.nanoTime() - buildStart;
+
+        List<String> texts = new ArrayList<>(TEXTS);
+        for (int i = 0; i < TEXTS; i++) {
+            String text = randomWord(random, 20) + " " + randomWord(random, 15);
+            texts.add(i % 4 == 0 ? text + " " + keywords.get(random.nextInt(RULES)) : text);
+        }
+
+        int warmup = 0;
+        for (int round = 0; round < 3; round++) {
+            warmup += matchAll(automaton, texts) + naiveAll(keywords, texts.subList(0, 500));
+        }
+
+        long automatonStart = System.nanoTime();
+        int automatonHits = matchAll(automaton, texts);
+        long automatonNanos = System.nanoTime() - automatonStart;
+
+        List<String> naiveSample = texts.subList(0, 2_000);
+        long naiveStart = System.nanoTime();
+        int naiveHits = naiveAll(keywords, naiveSample);
+        long naiveNanos = System.nanoTime() - naiveStart;
+
+        System.out.printf("keyword automaton: %d rules built in %.1f ms (warmup checksum %d)%n",
+                RULES, buildNanos / 1e6, warmup);
+        System.out.printf("  automaton: %.0f ns/text (%d hits in %d texts)%n",
+                (double) automatonNanos / texts.size(), automatonHits, texts.size());
+        System.out.printf("  naive contains(): %.0f ns/text (%d hits in %d texts)%n",
+                (double) naiveNanos / naiveSample.size(), naiveHits, naiveSample.size());
+    }
+
+    private static int matchAll(KeywordAutomaton<Integer> automaton, List<String> texts) {
+        int hits = 0;
+        for (String text : texts) {
+            if (automaton.findBest(text) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static int naiveAll(List<String> keywords, List<String> texts) {
+        int hits = 0;
+        for (String text : texts) {
+            String lower = text.toLowerCase();
+            for (String keyword : keywords) {
+                if (lower.contains(keyword)) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,118 @@
+package com.financetracker.categorization;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordAutomatonTest {
+
+    @Test
+    void findsKeywordsAnywhereIgnoringCase() {
+        KeywordAutomaton<String> automaton = KeywordAutomaton.<String>builder()
+                .add("uber", 0, "transport")
+                .add("netflix", 0, "entertainment")
+                .build();
+
+        assertThat(automaton.findBest("Monthly NETFLIX subscription")).isEqualTo("entertainment");
+        assertThat(automaton.findBest("Ride home (Uber)")).isEqualTo("transport");
+        assertThat(automaton.findBest("Cash withdrawal")).isNull();
+        assertThat(automaton.findBest((String) null)).isNull();
+    }
+
+    @Test
+    void normalizesKeywordsIndependentlyOfTheDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            KeywordAutomaton<String> automaton = KeywordAutomaton.<String>builder()
+                    .add("TAXI", 0, "transport")
+                    .build();
+
+            assertThat(automaton.findBest("Airport taxi")).isEqualTo("transport");
+            assertThat(automaton.findBest("AIRPORT TAXI")).isEqualTo("transport");
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void prefersPriorityThenLongestKeyword() {
+        KeywordAutomaton<String> automaton = KeywordAutomaton.<String>builder()
+                .add("uber", 0, "transport")
+                .add("uber eats", 0, "food")
+                .add("refund", 5, "refunds")
+                .build();
+
+        assertThat(automaton.findBest("uber eats order")).isEqualTo("food");
+        assertThat(automaton.findBest("uber eats refund")).isEqualTo("refunds");
+    }
+
+    @Test
+    void followsFailureLinksIntoOverlappingKeywords() {
+        KeywordAutomaton<String> automaton = KeywordAutomaton.<String>builder()
+                .add("pay rent", 0, "rent")
+                .add("rent due", 1, "reminder")
+                .add("his", 0, "his")
+                .build();
+
+        // "rent due" starts inside the match of "pay rent" and is only reached through its failure link
+        assertThat(automaton.findBest("pay rent due")).isEqualTo("reminder");
+        assertThat(automaton.findBest("pay rent now")).isEqualTo("rent");
+        assertThat(automaton.findBest("th", "is")).isNull();
+        assertThat(automaton.findBest("nothing", "his")).isEqualTo("his");
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        KeywordAutomaton<String> automaton = KeywordAutomaton.<String>builder()
+                .add("rent", 0, "bills")
+                .add("ola", 0, "transport")
+                .add("mall", 0, "shopping")
+                .add("train", 0, "transport")
+                .add("interest", 0, "investment")
+                .build();
+
+        assertThat(automaton.findBest("Gift for parent")).isNull();
+        assertThat(automaton.findBest("Current account fee")).isNull();
+        assertThat(automaton.findBest("Coca-Cola")).isNull();
+        assertThat(automaton.findBest("Small purchase")).isNull();
+        assertThat(automaton.findBest("Training course")).isNull();
+        assertThat(automaton.findBest("Disinterested party")).isNull();
+        assertThat(automaton.findBest("rent2024")).isNull();
+
+        assertThat(automaton.findBest("Monthly RENT.")).isEqualTo("bills");
+        assertThat(automaton.findBest("Ola ride")).isEqualTo("transport");
+        assertThat(automaton.findBest("uber/ola")).isEqualTo("transport");
+        assertThat(automaton.findBest("City mall")).isEqualTo("shopping");
+        assertThat(automaton.findBest("Savings interest")).isEqualTo("investment");
+    }
+
+    @Test
+    void fallsBackToAWholeWordKeywordWhenTheBetterOneIsInsideAWord() {
+        KeywordAutomaton<String> automaton = KeywordAutomaton.<String>builder()
+                .add("rent", 5, "bills")
+                .add("parent", 0, "family")
+                .build();
+
+        assertThat(automaton.findBest("Dinner with parent")).isEqualTo("family");
+        assertThat(automaton.findBest("Parent rent share")).isEqualTo("bills");
+    }
+
+    @Test
+    void matchesCorrectlyWithTenThousandRules() {
+        Random random = new Random(42);
+        KeywordAutomaton.Builder<Integer> builder = KeywordAutomaton.builder();
+        for (int i = 0; i < 10_000; i++) {
+            builder.add("merchant" + i + "x" + Integer.toString(random.nextInt(1_000_000), 36), 0, i);
+        }
+        builder.add("merchant1234x", 1, -1);
+        KeywordAutomaton<Integer> automaton = builder.build();
+
+        assertThat(automaton.size()).isEqualTo(10_001);
+        assertThat(automaton.findBest("card payment merchant1234x")).isEqualTo(-1);
+        assertThat(automaton.findBest("card payment merchant")).isNull();
+    }
+}
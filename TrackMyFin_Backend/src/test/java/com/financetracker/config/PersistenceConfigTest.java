@@ -0,0 +1,80 @@
+package com.financetracker.config;
+
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.TransactionService;
+import com.financetracker.support.QueryCountingConfig;
+import com.financetracker.support.SqlCapture;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(QueryCountingConfig.class)
+@Transactional
+class PersistenceConfigTest {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Test
+    void insertsAndUpdatesAreSentInJdbcBatches() {
+        User user = newUser(userRepository, "batching@example.com");
+        entityManager.flush();
+        sqlCapture.reset();
+
+        List<Transaction> saved = transactionService.createTransactions(newTransactions(user));
+        entityManager.flush();
+
+        List<SqlCapture.Execution> inserts = sqlCapture.executions("insert into transactions");
+        assertThat(inserts).hasSize(3).allSatisfy(insert -> assertThat(insert.batch()).isTrue());
+        assertThat(inserts).extracting(SqlCapture.Execution::rows).containsExactly(50, 50, 20);
+        // Pooled ids: one sequence call hands out a block of 50
+        assertThat(sqlCapture.statements()).filteredOn(sql -> sql.contains("transactions_seq"))
+                .hasSizeLessThanOrEqualTo(4);
+
+        sqlCapture.reset();
+        saved.forEach(transaction -> transaction.setAmount(transaction.getAmount().add(BigDecimal.ONE)));
+        entityManager.flush();
+
+        List<SqlCapture.Execution> updates = sqlCapture.executions("update transactions");
+        assertThat(updates).hasSize(3).allSatisfy(update -> assertThat(update.batch()).isTrue());
+    }
+
+    private List<Transaction> newTransactions(User user) {
+        List<Transaction> transactions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setType(Transaction.TransactionType.EXPENSE);
+            transaction.setAmount(new BigDecimal("10.00"));
+            transaction.setDescription("Imported row " + i);
+            transaction.setTransactionDate(LocalDateTime.now().minusDays(i));
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,61 @@
+package com.financetracker.config;
+
+import com.financetracker.repository.CategoryRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The "replica" is the same embedded database here, so the schema exists on both sides
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:routing;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa"
+})
+@DirtiesContext
+class ReplicaDataSourceConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyRepositoryCallsBorrowFromTheReplicaPool() {
+        assertThat(replicaDataSource.isReadOnly()).isTrue();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Integer replicaConnections = readOnly.execute(status -> {
+            categoryRepository.count();
+            return replicaDataSource.getHikariPoolMXBean().getActiveConnections();
+        });
+        Integer primaryConnections = new TransactionTemplate(transactionManager).execute(status -> {
+            categoryRepository.count();
+            return primaryDataSource.getHikariPoolMXBean().getActiveConnections();
+        });
+
+        assertThat(replicaConnections).isEqualTo(1);
+        assertThat(primaryConnections).isEqualTo(1);
+    }
+}
@@ -0,0 +1,122 @@
+package com.financetracker.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicReference<Long> currentUser = new AtomicReference<>();
+
+    private DataSource primary;
+    private FlakyDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("routing-primary", "primary");
+        replica = new FlakyDataSource(database("routing-replica", "replica"));
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        Routing routing = routing(Duration.ZERO, Duration.ofMinutes(1));
+
+        assertThat(routing.read(true)).isEqualTo("replica");
+        assertThat(routing.read(false)).isEqualTo("primary");
+        assertThat(routing.jdbcTemplate.queryForObject("SELECT name FROM marker", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void failedReplicaFallsBackToThePrimaryUntilTheRetryDelayPasses() {
+        Routing routing = routing(Duration.ZERO, Duration.ofMinutes(1));
+
+        replica.down = true;
+        assertThat(routing.read(true)).isEqualTo("primary");
+        replica.down = false;
+        assertThat(routing.read(true)).isEqualTo("primary");
+
+        Routing retrying = routing(Duration.ZERO, Duration.ZERO);
+        replica.down = true;
+        assertThat(retrying.read(true)).isEqualTo("primary");
+        replica.down = false;
+        assertThat(retrying.read(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimaryWithinTheWindow() {
+        Routing routing = routing(Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        currentUser.set(7L);
+        assertThat(routing.read(true)).isEqualTo("replica");
+        routing.read(false);
+        assertThat(routing.read(true)).isEqualTo("primary");
+
+        currentUser.set(8L);
+        assertThat(routing.read(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readYourWritesIsOffByDefault() {
+        Routing routing = routing(Duration.ZERO, Duration.ofMinutes(1));
+
+        currentUser.set(7L);
+        routing.read(false);
+        assertThat(routing.read(true)).isEqualTo("replica");
+    }
+
+    private Routing routing(Duration readYourWritesWindow, Duration retryAfter) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primary, replica, currentUser::get, readYourWritesWindow, retryAfter));
+        return new Routing(new JdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    private static DataSource database(String name, String marker) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS marker");
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO marker (name) VALUES (?)", marker);
+        return dataSource;
+    }
+
+    private record Routing(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+
+        String read(boolean readOnly) {
+            transactionTemplate.setReadOnly(readOnly);
+            return transactionTemplate.execute(status ->
+                    jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+        }
+    }
+
+    private static final class FlakyDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        private FlakyDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("replica is down");
+            }
+            return super.getConnection();
+        }
+    }
+}
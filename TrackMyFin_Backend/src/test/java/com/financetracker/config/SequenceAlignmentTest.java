@@ -0,0 +1,54 @@
+package com.financetracker.config;
+
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// MySQL's dialect on H2, so ids come from the same one-row <table>_seq tables as in production
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:sequence-alignment;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"})
+class SequenceAlignmentTest {
+
+    private static final int LEGACY_USERS = 100;
+
+    @Autowired
+    private SequenceAlignment sequenceAlignment;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sequencesAreMovedPastExistingIdsBeforeAnyAreHandedOut() {
+        // Rows written before pooled ids, with the sequence set to MAX(id) + 1
+        for (long id = 1; id <= LEGACY_USERS; id++) {
+            jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name, role, is_enabled) " +
+                    "VALUES (?, ?, 'secret', 'Legacy', 'User', 'USER', true)", id, "legacy-" + id + "@example.com");
+        }
+        jdbcTemplate.update("UPDATE users_seq SET next_val = ?", LEGACY_USERS + 1);
+
+        assertThat(sequenceAlignment.alignAll()).isEqualTo(1);
+        assertThat(sequenceAlignment.alignAll()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM users_seq", Long.class))
+                .isEqualTo(LEGACY_USERS + 50L);
+
+        // More than one block, all past the existing ids
+        List<User> created = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            created.add(newUser(userRepository, "aligned-" + i + "@example.com"));
+        }
+        assertThat(created).allSatisfy(user -> assertThat(user.getId()).isGreaterThan(LEGACY_USERS));
+        assertThat(userRepository.count()).isEqualTo(LEGACY_USERS + 60);
+    }
+}
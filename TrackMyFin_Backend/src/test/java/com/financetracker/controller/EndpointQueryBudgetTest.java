@@ -0,0 +1,255 @@
+package com.financetracker.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.entity.Budget;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.CategoryRule;
+import com.financetracker.entity.Salary;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.BudgetRepository;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.CategoryRuleRepository;
+import com.financetracker.repository.SalaryRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.TransactionService;
+import com.financetracker.support.QueryCountingConfig;
+import com.financetracker.support.SqlCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+// Statement budget per endpoint. Every user gets ROWS rows of each kind, more than any budget, so a query per row
+// (lazy proxies loaded while mapping, toString or hashCode walking an association) blows the budget at once.
+// Open-session-in-view is off, so a lazy load after the service returned fails the request instead.
+// Writes pay three statements for the user's sync head (check, lock, bump) and deletes one more for the tombstone.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:query-budget;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@Import(QueryCountingConfig.class)
+@DirtiesContext
+class EndpointQueryBudgetTest {
+
+    private static final int ROWS = 12;
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private SalaryRepository salaryRepository;
+
+    @Autowired
+    private CategoryRuleRepository categoryRuleRepository;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    private User user;
+    private List<Category> categories;
+    private List<Transaction> transactions;
+    private List<Budget> budgets;
+    private List<Salary> salaries;
+
+    @BeforeEach
+    void seed() {
+        int n = USERS.incrementAndGet();
+        user = newUser(userRepository, "query-budget-" + n + "@example.com");
+
+        categories = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Category category = new Category();
+            category.setName("Budget category " + n + "-" + i);
+            category.setColor("#000000");
+            category.setIcon("x");
+            category.setType(Category.CategoryType.EXPENSE);
+            categories.add(categoryRepository.save(category));
+        }
+        categoryCache.invalidate();
+        categoryCache.getAll();
+
+        List<Transaction> rows = new ArrayList<>();
+        budgets = new ArrayList<>();
+        salaries = new ArrayList<>();
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i < ROWS; i++) {
+            Category category = categories.get(i % categories.size());
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setType(i % 4 == 0 ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE);
+            transaction.setAmount(new BigDecimal("10.00").add(BigDecimal.valueOf(i)));
+            transaction.setDescription("Row " + i);
+            transaction.setCategory(category);
+            transaction.setTransactionDate(LocalDateTime.now().minusDays(i * 7L));
+            rows.add(transaction);
+
+            Budget budget = new Budget();
+            budget.setName("Budget " + i);
+            budget.setAmount(new BigDecimal("100.00"));
+            budget.setCategory(category);
+            budget.setUser(user);
+            budget.setPeriod(Budget.BudgetPeriod.MONTHLY);
+            budget.setStartDate(monthStart);
+            budget.setEndDate(monthStart.plusMonths(1).minusDays(1));
+            budgets.add(budgetRepository.save(budget));
+
+            Salary salary = new Salary();
+            salary.setAmount(new BigDecimal("1000.00"));
+            salary.setDescription("Salary " + i);
+            salary.setSalaryDate(LocalDateTime.now().minusMonths(i));
+            salary.setUser(user);
+            salaries.add(salaryRepository.save(salary));
+        }
+        transactions = transactionService.createTransactions(rows);
+
+        CategoryRule rule = new CategoryRule();
+        rule.setKeyword("coffee-" + n);
+        rule.setCategory(categories.get(0));
+        rule.setUser(user);
+        categoryRuleRepository.save(rule);
+    }
+
+    @Test
+    void transactionEndpoints() throws Exception {
+        Long id = transactions.get(1).getId();
+        String from = LocalDateTime.now().minusYears(1).toString();
+        String to = LocalDateTime.now().plusDays(1).toString();
+        assertQueryBudget(1, get("/api/transactions"));
+        assertQueryBudget(1, get("/api/transactions/" + id));
+        assertQueryBudget(2, get("/api/transactions/date-range").param("startDate", from).param("endDate", to));
+        assertQueryBudget(2, get("/api/transactions/history").param("startDate", from).param("endDate", to));
+        assertQueryBudget(4, get("/api/transactions/summary"));
+        assertQueryBudget(9, post("/api/transactions").contentType(MediaType.APPLICATION_JSON)
+                .content(json(transactionRequest("New row"))));
+        assertQueryBudget(9, post("/api/transactions/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content(json(List.of(transactionRequest("Bulk 1"), transactionRequest("Bulk 2"),
+                        transactionRequest("Bulk 3"), transactionRequest("Bulk 4")))));
+        assertQueryBudget(11, put("/api/transactions/" + id).contentType(MediaType.APPLICATION_JSON)
+                .content(json(transactionRequest("Edited row"))));
+        assertQueryBudget(13, delete("/api/transactions/" + transactions.get(2).getId()));
+    }
+
+    @Test
+    void budgetEndpoints() throws Exception {
+        Long id = budgets.get(0).getId();
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        Map<String, Object> budget = Map.of("name", "Groceries", "amount", 250, "period", "MONTHLY",
+                "startDate", monthStart.toString(), "endDate", monthStart.plusMonths(1).minusDays(1).toString(),
+                "category", Map.of("id", categories.get(1).getId()));
+        assertQueryBudget(1, get("/api/budgets"));
+        assertQueryBudget(1, get("/api/budgets/active"));
+        assertQueryBudget(1, get("/api/budgets/current"));
+        assertQueryBudget(1, get("/api/budgets/status"));
+        assertQueryBudget(1, get("/api/budgets/" + id));
+        assertQueryBudget(4, post("/api/budgets").contentType(MediaType.APPLICATION_JSON).content(json(budget)));
+        assertQueryBudget(7, put("/api/budgets/" + id).contentType(MediaType.APPLICATION_JSON).content(json(budget)));
+        assertQueryBudget(8, delete("/api/budgets/" + budgets.get(1).getId()));
+    }
+
+    @Test
+    void salaryEndpoints() throws Exception {
+        Long id = salaries.get(0).getId();
+        Map<String, Object> salary = Map.of("amount", 1200, "description", "Payday");
+        assertQueryBudget(1, get("/api/salaries"));
+        assertQueryBudget(1, get("/api/salaries/" + id));
+        assertQueryBudget(4, post("/api/salaries").contentType(MediaType.APPLICATION_JSON).content(json(salary)));
+        assertQueryBudget(6, put("/api/salaries/" + id).contentType(MediaType.APPLICATION_JSON).content(json(salary)));
+        assertQueryBudget(8, delete("/api/salaries/" + salaries.get(1).getId()));
+    }
+
+    @Test
+    void dashboardEndpoints() throws Exception {
+        assertQueryBudget(10, get("/api/dashboard/stats"));
+        assertQueryBudget(2, get("/api/dashboard/expenses-chart").param("range", "6m"));
+    }
+
+    @Test
+    void categoryRuleAndScheduleEndpoints() throws Exception {
+        Map<String, Object> schedule = Map.of("kind", "TRANSACTION", "amount", 15, "description", "Gym",
+                "type", "EXPENSE", "categoryId", categories.get(2).getId(), "frequency", "MONTHLY",
+                "startDate", LocalDate.now().plusDays(3).toString());
+        assertQueryBudget(0, get("/api/categories"));
+        assertQueryBudget(0, get("/api/categories/type/EXPENSE"));
+        assertQueryBudget(2, get("/api/category-rules"));
+        assertQueryBudget(1, get("/api/recurring-schedules"));
+        assertQueryBudget(2, post("/api/recurring-schedules").contentType(MediaType.APPLICATION_JSON)
+                .content(json(schedule)));
+    }
+
+    @Test
+    void ledgerAndProfileEndpoints() throws Exception {
+        // Head check, snapshot, tail
+        assertQueryBudget(3, get("/api/ledger/projection"));
+        assertQueryBudget(1, get("/api/ledger/events").param("limit", "50"));
+        assertQueryBudget(1, get("/api/profile"));
+    }
+
+    private void assertQueryBudget(int budget, MockHttpServletRequestBuilder request) throws Exception {
+        sqlCapture.reset();
+        MvcResult result = mockMvc.perform(request.with(user(user))).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        String endpoint = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        int status = result.getResponse().getStatus();
+        assertThat(status).as("%s answered %d: %s", endpoint, status, result.getResponse().getContentAsString())
+                .isBetween(200, 299);
+        int statements = sqlCapture.count();
+        assertThat(statements)
+                .as("%s ran %d statements, budget is %d:%n%s", endpoint, statements, budget, sqlCapture.report())
+                .isLessThanOrEqualTo(budget);
+    }
+
+    private Map<String, Object> transactionRequest(String description) {
+        return Map.of("amount", 42.5, "description", description, "type", "EXPENSE",
+                "categoryId", categories.get(0).getId(),
+                "transactionDate", LocalDateTime.now().withNano(0).toString());
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+}
@@ -0,0 +1,93 @@
+package com.financetracker.exception;
+
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.security.JwtUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A small pool with a short checkout timeout, every connection held by the test while the requests run
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:pool-saturation;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=2", "spring.datasource.hikari.connection-timeout=250"})
+@AutoConfigureMockMvc
+@DirtiesContext
+class PoolSaturationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<Connection> held = new ArrayList<>();
+    private User user;
+
+    @BeforeEach
+    void saturate() throws SQLException {
+        user = userRepository.findByEmail("pool-saturation@example.com")
+                .orElseGet(() -> newUser(userRepository, "pool-saturation@example.com"));
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        for (int i = 0; i < pool.getMaximumPoolSize(); i++) {
+            held.add(pool.getConnection());
+        }
+    }
+
+    @AfterEach
+    void release() throws SQLException {
+        for (Connection connection : held) {
+            connection.close();
+        }
+        held.clear();
+    }
+
+    @Test
+    void bearerTokenLookupAnswersServiceUnavailable() throws Exception {
+        assertBusy(mockMvc.perform(get("/api/transactions")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(user))));
+    }
+
+    @Test
+    void controllersWithTheirOwnErrorHandlingLetTheTimeoutThrough() throws Exception {
+        assertBusy(mockMvc.perform(get("/api/dashboard/stats").with(user(user))));
+        assertBusy(mockMvc.perform(get("/api/salaries").with(user(user))));
+        assertBusy(mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"pool-saturation@example.com\",\"password\":\"secret\"}")));
+    }
+
+    private static void assertBusy(ResultActions result) throws Exception {
+        result.andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.error").value(GlobalExceptionHandler.BUSY_MESSAGE));
+    }
+}
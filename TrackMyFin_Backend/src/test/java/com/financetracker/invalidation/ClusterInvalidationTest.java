@@ -0,0 +1,163 @@
+package com.financetracker.invalidation;
+
+import com.financetracker.FinanceTrackerApplication;
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.categorization.AutoCategorizationService;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.CacheInvalidationRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.CategoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two instances in one JVM sharing one database, as behind a load balancer. The first creates the schema; the
+// second starts against it like a peer joining the cluster.
+class ClusterInvalidationTest {
+
+    private static final String DATABASE = "jdbc:h2:mem:cluster-invalidation;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final long POLL_INTERVAL_MILLIS = 100;
+    private static final long MAX_DELAY_MILLIS = 2000;
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startInstances() {
+        first = start("node-a", "create-drop");
+        second = start("node-b", "none");
+        // Delivers the startup writes now rather than in the middle of a test; poll waits for a scheduled one
+        first.getBean(OutboxInvalidationTransport.class).poll();
+        second.getBean(OutboxInvalidationTransport.class).poll();
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (second != null) {
+            second.close();
+        }
+        if (first != null) {
+            first.close();
+        }
+    }
+
+    @Test
+    void categoryCreatedOnOneInstanceReachesThePeersCache() throws Exception {
+        CategoryCache peerCache = second.getBean(CategoryCache.class);
+        assertThat(peerCache.findByNameAndType("Pets", Category.CategoryType.EXPENSE)).isEmpty();
+        // The peer's own measurement, from the row's timestamp to its delivery. Earlier tests fed it as well, so
+        // only what this change adds is looked at.
+        Timer peerDelay = second.getBean(MeterRegistry.class).get("cache.invalidation.delay").timer();
+        long deliveredBefore = peerDelay.count();
+        double totalBefore = peerDelay.totalTime(TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        first.getBean(CategoryService.class).createCategory(category("Pets"));
+
+        long delay = await(() -> peerCache.findByNameAndType("Pets", Category.CategoryType.EXPENSE).isPresent(), start);
+        assertThat(delay).isLessThan(MAX_DELAY_MILLIS);
+        assertThat(peerDelay.count()).isEqualTo(deliveredBefore + 1);
+        assertThat(peerDelay.totalTime(TimeUnit.MILLISECONDS) - totalBefore).isLessThan(MAX_DELAY_MILLIS);
+    }
+
+    @Test
+    void ruleCreatedOnOneInstanceReachesThePeersCategorizer() throws Exception {
+        User user = newUser(first.getBean(UserRepository.class), "cluster-rules@example.com");
+        Category healthcare = first.getBean(CategoryCache.class)
+                .findByNameAndType("Healthcare", Category.CategoryType.EXPENSE).orElseThrow();
+        AutoCategorizationService peer = second.getBean(AutoCategorizationService.class);
+        Transaction visit = transaction(user, "Vet visit");
+        // Compiles and caches the user's (still empty) rule set on the peer
+        assertThat(peer.findCategory(visit)).isEmpty();
+
+        long start = System.nanoTime();
+        first.getBean(AutoCategorizationService.class).createRule(user, "vet", healthcare.getId(), 0);
+
+        long delay = await(() -> peer.findCategory(visit).map(Category::getId)
+                .filter(healthcare.getId()::equals).isPresent(), start);
+        assertThat(delay).isLessThan(MAX_DELAY_MILLIS);
+    }
+
+    @Test
+    void rolledBackChangesAreNeverPublished() {
+        CacheInvalidationRepository outbox = first.getBean(CacheInvalidationRepository.class);
+        long before = outbox.count();
+
+        new TransactionTemplate(first.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            first.getBean(CategoryService.class).createCategory(category("Abandoned"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(outbox.count()).isEqualTo(before);
+        assertThat(second.getBean(CategoryCache.class)
+                .findByNameAndType("Abandoned", Category.CategoryType.EXPENSE)).isEmpty();
+    }
+
+    @Test
+    void instancesSkipTheirOwnChangesAndPurgeOldRows() throws Exception {
+        OutboxInvalidationTransport writer = first.getBean(OutboxInvalidationTransport.class);
+        OutboxInvalidationTransport peer = second.getBean(OutboxInvalidationTransport.class);
+        CategoryCache peerCache = second.getBean(CategoryCache.class);
+        first.getBean(CategoryService.class).createCategory(category("Garden"));
+
+        assertThat(writer.poll()).isZero();
+        await(() -> peerCache.findByNameAndType("Garden", Category.CategoryType.EXPENSE).isPresent(), System.nanoTime());
+        assertThat(peer.poll()).isZero();
+
+        assertThat(writer.purge(LocalDateTime.now().plusMinutes(1))).isPositive();
+        assertThat(first.getBean(CacheInvalidationRepository.class).count()).isZero();
+    }
+
+    private static ConfigurableApplicationContext start(String nodeId, String ddl) {
+        // Command-line arguments, so they win over the shared test application.properties
+        return new SpringApplicationBuilder(FinanceTrackerApplication.class).run(
+                "--spring.datasource.url=" + DATABASE,
+                "--spring.jpa.hibernate.ddl-auto=" + ddl,
+                "--server.port=0",
+                "--app.invalidation.transport=outbox",
+                "--app.invalidation.node-id=" + nodeId,
+                "--app.invalidation.outbox.poll-interval=PT" + POLL_INTERVAL_MILLIS / 1000.0 + "S");
+    }
+
+    // Milliseconds from start until the condition held
+    private static long await(BooleanSupplier condition, long start) throws InterruptedException {
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - start).as("condition not met in time")
+                    .isLessThan(TimeUnit.SECONDS.toNanos(10));
+            Thread.sleep(10);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setColor("#000000");
+        category.setIcon("x");
+        category.setType(Category.CategoryType.EXPENSE);
+        return category;
+    }
+
+    private static Transaction transaction(User user, String description) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setType(Transaction.TransactionType.EXPENSE);
+        transaction.setDescription(description);
+        return transaction;
+    }
+}
@@ -0,0 +1,248 @@
+package com.financetracker.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Salary;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.SalaryRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:compact-lists;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@DirtiesContext
+class CompactListResponseTest {
+
+    private static final int TRANSACTIONS = 60;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SalaryRepository salaryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final CBORMapper cborMapper = new CBORMapper();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByEmail("compact-lists@example.com").orElseGet(() -> {
+            User saved = newUser(userRepository, "compact-lists@example.com");
+            Category food = newCategory("Compact food");
+            Category travel = newCategory("Compact travel");
+            List<Transaction> transactions = new ArrayList<>();
+            for (int i = 0; i < TRANSACTIONS; i++) {
+                Transaction transaction = new Transaction();
+                transaction.setUser(saved);
+                transaction.setAmount(new BigDecimal("10.25").add(BigDecimal.valueOf(i)));
+                transaction.setDescription("Purchase " + i);
+                transaction.setType(i % 5 == 0 ? Transaction.TransactionType.INCOME
+                        : Transaction.TransactionType.EXPENSE);
+                transaction.setCategory(i % 3 == 0 ? null : i % 3 == 1 ? food : travel);
+                transaction.setTransactionDate(LocalDateTime.of(2024, 5, 1, 8, 30).minusDays(i));
+                transactions.add(transaction);
+            }
+            transactionRepository.saveAll(transactions);
+            Salary salary = new Salary();
+            salary.setUser(saved);
+            salary.setAmount(new BigDecimal("3200.50"));
+            salary.setDescription("May salary");
+            salary.setSalaryDate(LocalDateTime.of(2024, 5, 31, 0, 0));
+            salaryRepository.save(salary);
+            return saved;
+        });
+    }
+
+    @Test
+    void transactionListIsCompactWhenCborIsAccepted() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/api/transactions").with(user(user)).accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] json = mockMvc.perform(get("/api/transactions").with(user(user)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode compact = cborMapper.readTree(cbor);
+        JsonNode plain = objectMapper.readTree(json);
+        assertThat(compact.get("version").asInt()).isEqualTo(1);
+        assertThat(compact.get("kind").asText()).isEqualTo("transactions");
+        assertThat(compact.get("rows")).hasSize(TRANSACTIONS);
+        assertSameRows(compact, plain);
+        assertThat(cbor.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    void categoryNamesAndTypesAreWrittenOncePerResponse() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/api/transactions").with(user(user)).accept("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode compact = cborMapper.readTree(cbor);
+        int categoryName = columnIndex(compact, "categoryName");
+        int type = columnIndex(compact, "type");
+        int names = 0;
+        int types = 0;
+        for (JsonNode row : compact.get("rows")) {
+            names += row.get(categoryName).isTextual() ? 1 : 0;
+            types += row.get(type).isTextual() ? 1 : 0;
+        }
+        assertThat(names).isEqualTo(2);
+        assertThat(types).isEqualTo(2);
+    }
+
+    @Test
+    void salaryListUsesMinorUnitsAndEpochMillis() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/api/salaries").with(user(user)).accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode compact = cborMapper.readTree(cbor);
+        assertThat(compact.get("kind").asText()).isEqualTo("salaries");
+        JsonNode row = compact.get("rows").get(0);
+        assertThat(row.get(columnIndex(compact, "amountMinor")).asLong()).isEqualTo(320050);
+        assertThat(row.get(columnIndex(compact, "date")).asLong())
+                .isEqualTo(LocalDateTime.of(2024, 5, 31, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli());
+        assertThat(row.get(columnIndex(compact, "description")).asText()).isEqualTo("May salary");
+    }
+
+    @Test
+    void historyStreamNegotiatesTheSameFormat() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/transactions/history").with(user(user))
+                        .param("startDate", "2020-01-01T00:00:00").param("endDate", "2025-01-01T00:00:00")
+                        .header("Accept", "application/json;q=0.5, application/cbor"))
+                .andReturn();
+        byte[] cbor = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode compact = cborMapper.readTree(cbor);
+        assertThat(compact.get("rows")).hasSize(TRANSACTIONS);
+        // Oldest first
+        assertThat(compact.get("rows").get(0).get(columnIndex(compact, "transactionDate")).asLong())
+                .isEqualTo(LocalDateTime.of(2024, 5, 1, 8, 30).minusDays(TRANSACTIONS - 1)
+                        .toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    @Test
+    void amountsFinerThanCentsAreRoundedLikeTheStoredValue() throws Exception {
+        byte[] cbor = mockMvc.perform(post("/api/transactions/bulk").with(user(user)).accept("application/cbor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"amount\":1.005,\"description\":\"Sub-cent\",\"type\":\"EXPENSE\"," +
+                                "\"transactionDate\":\"2024-06-01T10:00:00\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode compact = cborMapper.readTree(cbor);
+        JsonNode row = compact.get("rows").get(0);
+        assertThat(row.get(columnIndex(compact, "amountMinor")).asLong()).isEqualTo(101);
+        Transaction stored = transactionRepository.findById(row.get(columnIndex(compact, "id")).asLong()).orElseThrow();
+        assertThat(stored.getAmount()).isEqualByComparingTo("1.01");
+        // The other tests count this user's transactions
+        transactionRepository.delete(stored);
+    }
+
+    @Test
+    void jsonWinsWhenPreferredOrUnspecified() {
+        assertThat(CompactListWriter.isPreferred(null)).isFalse();
+        assertThat(CompactListWriter.isPreferred("*/*")).isFalse();
+        assertThat(CompactListWriter.isPreferred("application/json, application/cbor;q=0.8")).isFalse();
+        assertThat(CompactListWriter.isPreferred("application/cbor, */*")).isTrue();
+    }
+
+    // Checks every compact row against the JSON row it stands for, resolving the dictionaries on the way
+    private static void assertSameRows(JsonNode compact, JsonNode plain) {
+        int type = columnIndex(compact, "type");
+        int categoryName = columnIndex(compact, "categoryName");
+        List<String> types = new ArrayList<>();
+        List<String> categories = new ArrayList<>();
+        for (int i = 0; i < plain.size(); i++) {
+            JsonNode row = compact.get("rows").get(i);
+            JsonNode expected = plain.get(i);
+            assertThat(row.get(columnIndex(compact, "id")).asLong()).isEqualTo(expected.get("id").asLong());
+            assertThat(BigDecimal.valueOf(row.get(columnIndex(compact, "amountMinor")).asLong(), 2))
+                    .isEqualByComparingTo(expected.get("amount").decimalValue());
+            assertThat(row.get(columnIndex(compact, "description")).asText())
+                    .isEqualTo(expected.get("description").asText());
+            assertThat(row.get(columnIndex(compact, "transactionDate")).asLong()).isEqualTo(
+                    LocalDateTime.parse(expected.get("transactionDate").asText()).toInstant(ZoneOffset.UTC)
+                            .toEpochMilli());
+            assertThat(resolve(row.get(type), types)).isEqualTo(expected.get("type").asText());
+            assertThat(resolve(row.get(categoryName), categories)).isEqualTo(expected.get("categoryName").textValue());
+        }
+    }
+
+    private static String resolve(JsonNode value, List<String> dictionary) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (value.isTextual()) {
+            dictionary.add(value.asText());
+            return value.asText();
+        }
+        return dictionary.get(value.asInt());
+    }
+
+    private static int columnIndex(JsonNode compact, String name) {
+        int index = 0;
+        for (JsonNode column : compact.get("columns")) {
+            if (column.asText().equals(name)) {
+                return index;
+            }
+            index++;
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    private Category newCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setColor("#000000");
+        category.setIcon("x");
+        category.setType(Category.CategoryType.EXPENSE);
+        return categoryRepository.save(category);
+    }
+}
@@ -0,0 +1,108 @@
+package com.financetracker.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compression is done by Tomcat, so this needs a real server rather than MockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:list-compression;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@DirtiesContext
+class ListResponseCompressionTest {
+
+    private static final int TRANSACTIONS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.findByEmail("list-compression@example.com").orElseGet(() -> {
+            User saved = newUser(userRepository, "list-compression@example.com");
+            List<Transaction> transactions = new ArrayList<>();
+            for (int i = 0; i < TRANSACTIONS; i++) {
+                Transaction transaction = new Transaction();
+                transaction.setUser(saved);
+                transaction.setAmount(new BigDecimal("10.25").add(BigDecimal.valueOf(i)));
+                transaction.setDescription("Coffee " + i);
+                transaction.setType(Transaction.TransactionType.EXPENSE);
+                transaction.setTransactionDate(LocalDateTime.of(2024, 5, 1, 8, 30).minusDays(i));
+                transactions.add(transaction);
+            }
+            transactionRepository.saveAll(transactions);
+            return saved;
+        });
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Test
+    void largeListsAreGzippedWhenTheClientAcceptsIt() throws Exception {
+        HttpResponse<InputStream> response = client.send(request().header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        JsonNode transactions;
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            transactions = objectMapper.readTree(body);
+        }
+        assertThat(transactions).hasSize(TRANSACTIONS);
+        // Written by the hand-written serializer, in the same shape as before
+        assertThat(transactions.get(0).get("transactionDate").asText()).isEqualTo("2024-05-01T08:30:00");
+        assertThat(transactions.get(0).get("amount").decimalValue()).isEqualByComparingTo("10.25");
+        assertThat(transactions.get(0).has("updatedAt")).isTrue();
+    }
+
+    @Test
+    void responsesStayPlainWithoutAcceptEncoding() throws Exception {
+        HttpResponse<String> response = client.send(request().build(), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(objectMapper.readTree(response.body())).hasSize(TRANSACTIONS);
+    }
+
+    private HttpRequest.Builder request() {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transactions"))
+                .header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,75 @@
+package com.financetracker.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financetracker.dto.SalaryResponse;
+import com.financetracker.dto.TransactionDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseSerializersTest {
+
+    // Spring Boot writes dates as ISO strings rather than arrays
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .serializers(new ResponseSerializers.TransactionSerializer(), new ResponseSerializers.SalarySerializer())
+            .build();
+
+    // Same defaults, reflective serialization
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void transactionsAreWrittenExactlyLikeTheReflectiveDefault() throws Exception {
+        List<TransactionDTO> dtos = new ArrayList<>();
+        dtos.add(transaction(1L, new BigDecimal("12.50"), LocalDateTime.of(2024, 3, 1, 9, 5, 7)));
+        dtos.add(transaction(2L, new BigDecimal("1E+3"), LocalDateTime.of(2024, 12, 31, 0, 0)));
+        dtos.add(transaction(3L, new BigDecimal("0.00"), LocalDateTime.of(2023, 1, 2, 3, 4, 5, 120_000_000)));
+        dtos.add(transaction(4L, new BigDecimal("-7"), LocalDateTime.of(999, 1, 2, 3, 4, 5, 1)));
+        TransactionDTO empty = new TransactionDTO();
+        dtos.add(empty);
+        TransactionDTO escaped = transaction(5L, BigDecimal.ONE, LocalDateTime.of(2024, 6, 15, 23, 59, 59, 999_999_999));
+        escaped.setDescription("Café \"quoted\" \\ line\nbreak \u0001");
+        escaped.setNotes(null);
+        dtos.add(escaped);
+
+        assertThat(objectMapper.writeValueAsString(dtos)).isEqualTo(reflective.writeValueAsString(dtos));
+        assertThat(objectMapper.writeValueAsString(dtos.get(0)))
+                .startsWith("{\"id\":1,\"amount\":12.50,\"description\":\"Groceries 1\"")
+                .contains("\"transactionDate\":\"2024-03-01T09:05:07\"");
+    }
+
+    @Test
+    void salariesAreWrittenExactlyLikeTheReflectiveDefault() throws Exception {
+        List<SalaryResponse> salaries = List.of(
+                SalaryResponse.builder().id("1").amount(new BigDecimal("4200.00")).description("March")
+                        .date(LocalDateTime.of(2024, 3, 28, 12, 0)).build(),
+                SalaryResponse.builder().id("2").build());
+
+        assertThat(objectMapper.writeValueAsString(salaries)).isEqualTo(reflective.writeValueAsString(salaries));
+    }
+
+    private static TransactionDTO transaction(Long id, BigDecimal amount, LocalDateTime date) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setId(id);
+        dto.setAmount(amount);
+        dto.setDescription("Groceries " + id);
+        dto.setNotes("weekly");
+        dto.setTransactionDate(date);
+        dto.setType("EXPENSE");
+        dto.setCategoryId(7L);
+        dto.setCategoryName("Food");
+        dto.setUserId(42L);
+        dto.setCreatedAt(date.plusSeconds(30));
+        dto.setUpdatedAt(null);
+        return dto;
+    }
+}
@@ -0,0 +1,93 @@
+package com.financetracker.ledger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.financetracker.entity.LedgerEvent;
+import com.financetracker.entity.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LedgerProjectionTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 15, 12, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2024, 2, 3, 9, 30);
+
+    @Test
+    void amendmentMovesTheAmountBetweenBuckets() {
+        LedgerProjection projection = new LedgerProjection();
+        projection.apply(created(1, 10L, "100.00", Transaction.TransactionType.INCOME, null, JANUARY));
+        projection.apply(created(2, 11L, "40.00", Transaction.TransactionType.EXPENSE, 7L, JANUARY));
+
+        LedgerEvent amended = created(3, 11L, "55.00", Transaction.TransactionType.EXPENSE, 8L, FEBRUARY);
+        amended.setEventType(LedgerEvent.EventType.AMENDED);
+        amended.setPreviousAmount(new BigDecimal("40.00"));
+        amended.setPreviousType(Transaction.TransactionType.EXPENSE);
+        amended.setPreviousCategoryId(7L);
+        amended.setPreviousTransactionDate(JANUARY);
+        projection.apply(amended);
+
+        assertThat(projection.getSequenceNumber()).isEqualTo(3);
+        assertThat(projection.getTotalExpenses()).isEqualByComparingTo("55.00");
+        assertThat(projection.getBalance()).isEqualByComparingTo("45.00");
+        assertThat(projection.getTransactionCount()).isEqualTo(2);
+        assertThat(projection.getCategoryTotals()).containsOnlyKeys("8", LedgerProjection.UNCATEGORIZED);
+        assertThat(projection.getMonthlyTotals()).containsOnlyKeys("2024-01", "2024-02");
+        assertThat(projection.getMonthlyTotals().get("2024-01").getExpenses()).isEqualByComparingTo("0");
+        assertThat(projection.getMonthlyTotals().get("2024-02").getExpenses()).isEqualByComparingTo("55.00");
+    }
+
+    @Test
+    void voidRemovesTheTransactionAndReplayedEventsAreIgnored() {
+        LedgerProjection projection = new LedgerProjection();
+        LedgerEvent created = created(1, 10L, "12.50", Transaction.TransactionType.EXPENSE, 7L, JANUARY);
+        projection.apply(created);
+        projection.apply(created);
+        assertThat(projection.getTotalExpenses()).isEqualByComparingTo("12.50");
+
+        LedgerEvent voided = new LedgerEvent();
+        voided.setSequenceNumber(2);
+        voided.setTransactionId(10L);
+        voided.setEventType(LedgerEvent.EventType.VOIDED);
+        voided.setPreviousAmount(new BigDecimal("12.50"));
+        voided.setPreviousType(Transaction.TransactionType.EXPENSE);
+        voided.setPreviousCategoryId(7L);
+        voided.setPreviousTransactionDate(JANUARY);
+        projection.apply(voided);
+
+        assertThat(projection.getTotalExpenses()).isEqualByComparingTo("0");
+        assertThat(projection.getTransactionCount()).isZero();
+        assertThat(projection.getMonthlyTotals()).isEmpty();
+        assertThat(projection.getCategoryTotals()).isEmpty();
+    }
+
+    @Test
+    void survivesAJsonRoundTrip() throws Exception {
+        LedgerProjection projection = new LedgerProjection();
+        projection.apply(created(1, 10L, "100.00", Transaction.TransactionType.INCOME, 3L, JANUARY));
+        projection.apply(created(2, 11L, "30.00", Transaction.TransactionType.EXPENSE, null, FEBRUARY));
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        LedgerProjection read = objectMapper.readValue(objectMapper.writeValueAsString(projection),
+                LedgerProjection.class);
+
+        assertThat(read).isEqualTo(projection);
+        assertThat(read.getBalance()).isEqualByComparingTo("70.00");
+    }
+
+    private static LedgerEvent created(long sequence, Long transactionId, String amount,
+                                       Transaction.TransactionType type, Long categoryId, LocalDateTime date) {
+        LedgerEvent event = new LedgerEvent();
+        event.setSequenceNumber(sequence);
+        event.setTransactionId(transactionId);
+        event.setEventType(LedgerEvent.EventType.CREATED);
+        event.setAmount(new BigDecimal(amount));
+        event.setType(type);
+        event.setCategoryId(categoryId);
+        event.setTransactionDate(date);
+        return event;
+    }
+}
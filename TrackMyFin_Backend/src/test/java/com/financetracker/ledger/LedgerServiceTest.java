@@ -0,0 +1,184 @@
+package com.financetracker.ledger;
+
+import com.financetracker.entity.Category;
+import com.financetracker.entity.LedgerEvent;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.LedgerHeadRepository;
+import com.financetracker.repository.LedgerSnapshotRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: opening a ledger and replaying snapshots run in their own transactions and must see the rows
+@SpringBootTest
+class LedgerServiceTest {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerProjectionService ledgerProjectionService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private LedgerHeadRepository headRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void updatesAndDeletesAreAppendedInsteadOfOverwritten() {
+        User user = newUser(userRepository, "ledger-history@example.com");
+        Category food = newCategory("Ledger food");
+        Category travel = newCategory("Ledger travel");
+        Transaction lunch = transactionService.createTransaction(
+                transaction(user, Transaction.TransactionType.EXPENSE, "12.00", food, LocalDateTime.of(2024, 3, 4, 12, 0)));
+        transactionService.createTransaction(
+                transaction(user, Transaction.TransactionType.INCOME, "500.00", null, LocalDateTime.of(2024, 3, 1, 9, 0)));
+
+        Transaction edited = transactionService.getTransactionById(lunch.getId()).orElseThrow();
+        edited.setAmount(new BigDecimal("18.00"));
+        edited.setCategory(travel);
+        transactionService.updateTransaction(edited);
+        // Saving unchanged values records nothing
+        transactionService.updateTransaction(transactionService.getTransactionById(lunch.getId()).orElseThrow());
+        transactionService.deleteTransaction(lunch.getId());
+
+        List<LedgerEvent> events = ledgerService.getEvents(user.getId(), 0, 100);
+        assertThat(events).extracting(LedgerEvent::getSequenceNumber).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(events).extracting(LedgerEvent::getEventType).containsExactly(LedgerEvent.EventType.CREATED,
+                LedgerEvent.EventType.CREATED, LedgerEvent.EventType.AMENDED, LedgerEvent.EventType.VOIDED);
+        LedgerEvent amended = events.get(2);
+        assertThat(amended.getPreviousAmount()).isEqualByComparingTo("12.00");
+        assertThat(amended.getPreviousCategoryId()).isEqualTo(food.getId());
+        assertThat(amended.getAmount()).isEqualByComparingTo("18.00");
+        assertThat(amended.getCategoryId()).isEqualTo(travel.getId());
+        assertThat(events.get(3).getPreviousAmount()).isEqualByComparingTo("18.00");
+        assertThat(events.get(3).getAmount()).isNull();
+
+        LedgerProjection projection = ledgerProjectionService.getProjection(user.getId());
+        assertThat(projection.getSequenceNumber()).isEqualTo(4);
+        assertThat(projection.getTotalExpenses()).isEqualByComparingTo("0");
+        assertThat(projection.getBalance()).isEqualByComparingTo("500.00");
+        assertThat(projection.getCategoryTotals()).containsOnlyKeys(LedgerProjection.UNCATEGORIZED);
+    }
+
+    @Test
+    void firstAppendBackfillsTransactionsWrittenBeforeTheLedger() {
+        User user = newUser(userRepository, "ledger-backfill@example.com");
+        // Written straight through the repository, as before the ledger existed
+        transactionRepository.save(
+                transaction(user, Transaction.TransactionType.INCOME, "1000.00", null, LocalDateTime.of(2023, 5, 1, 0, 0)));
+        transactionRepository.save(
+                transaction(user, Transaction.TransactionType.EXPENSE, "250.00", null, LocalDateTime.of(2023, 6, 2, 0, 0)));
+
+        transactionService.createTransaction(
+                transaction(user, Transaction.TransactionType.EXPENSE, "50.00", null, LocalDateTime.of(2024, 1, 3, 0, 0)));
+
+        assertThat(ledgerService.getEvents(user.getId(), 0, 100))
+                .extracting(LedgerEvent::getEventType).containsOnly(LedgerEvent.EventType.CREATED).hasSize(3);
+        LedgerProjection projection = ledgerProjectionService.getProjection(user.getId());
+        assertThat(projection.getBalance()).isEqualByComparingTo("700.00");
+        assertThat(projection.getMonthlyTotals()).containsOnlyKeys("2023-05", "2023-06", "2024-01");
+    }
+
+    @Test
+    void readingOpensTheLedgerOfAUserWhoHasNotWrittenYet() {
+        User user = newUser(userRepository, "ledger-read-first@example.com");
+        transactionRepository.save(
+                transaction(user, Transaction.TransactionType.INCOME, "300.00", null, LocalDateTime.of(2023, 8, 1, 0, 0)));
+        transactionRepository.save(
+                transaction(user, Transaction.TransactionType.EXPENSE, "120.00", null, LocalDateTime.of(2023, 8, 9, 0, 0)));
+        assertThat(headRepository.existsById(user.getId())).isFalse();
+
+        LedgerProjection projection = ledgerProjectionService.getProjection(user.getId());
+
+        assertThat(projection.getSequenceNumber()).isEqualTo(2);
+        assertThat(projection.getBalance()).isEqualByComparingTo("180.00");
+        assertThat(projection.getTransactionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void replayOpensLedgersForUsersWithoutOne() {
+        User user = newUser(userRepository, "ledger-replay-first@example.com");
+        transactionRepository.save(
+                transaction(user, Transaction.TransactionType.EXPENSE, "42.00", null, LocalDateTime.of(2023, 9, 1, 0, 0)));
+
+        ledgerProjectionService.replayAll();
+
+        assertThat(headRepository.findById(user.getId())).get()
+                .satisfies(head -> assertThat(head.getLastSequence()).isEqualTo(1));
+        assertThat(snapshotRepository.findById(user.getId())).get()
+                .satisfies(snapshot -> assertThat(snapshot.getSequenceNumber()).isEqualTo(1));
+        assertThat(headRepository.findUserIdsWithoutLedgerAfter(0L, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void projectionsCatchUpFromSnapshotsAndReplayToTheSameState() {
+        User user = newUser(userRepository, "ledger-snapshot@example.com");
+        Transaction rent = transactionService.createTransaction(
+                transaction(user, Transaction.TransactionType.EXPENSE, "800.00", null, LocalDateTime.of(2024, 2, 1, 0, 0)));
+        ledgerProjectionService.snapshot(user.getId());
+        assertThat(snapshotRepository.findById(user.getId())).get()
+                .satisfies(snapshot -> assertThat(snapshot.getSequenceNumber()).isEqualTo(1));
+
+        transactionService.createTransaction(
+                transaction(user, Transaction.TransactionType.INCOME, "2000.00", null, LocalDateTime.of(2024, 2, 5, 0, 0)));
+        transactionService.deleteTransaction(rent.getId());
+
+        // Snapshot at 1 plus two tail events
+        LedgerProjection caughtUp = ledgerProjectionService.getProjection(user.getId());
+        assertThat(caughtUp.getSequenceNumber()).isEqualTo(3);
+        assertThat(caughtUp.getBalance()).isEqualByComparingTo("2000.00");
+
+        assertThat(ledgerProjectionService.replayAll()).isGreaterThanOrEqualTo(1);
+        assertThat(snapshotRepository.findById(user.getId())).get()
+                .satisfies(snapshot -> assertThat(snapshot.getSequenceNumber()).isEqualTo(3));
+        assertThat(ledgerProjectionService.getProjection(user.getId())).isEqualTo(caughtUp);
+    }
+
+    private Transaction transaction(User user, Transaction.TransactionType type, String amount, Category category,
+                                    LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription("Ledger test");
+        transaction.setCategory(category);
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+
+    private Category newCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setColor("#000000");
+        category.setIcon("x");
+        category.setType(Category.CategoryType.EXPENSE);
+        return categoryRepository.save(category);
+    }
+}
@@ -0,0 +1,74 @@
+package com.financetracker.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitingTurboFilterTest {
+
+    private LoggerContext context;
+    private ListAppender<ILoggingEvent> appender;
+    private RateLimitingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        filter = new RateLimitingTurboFilter();
+        filter.setLoggers("com.example.hot, com.example.Dashboard");
+        filter.setEventsPerSecond(3);
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+    }
+
+    @Test
+    void hotLoggersAreLimitedToTheirBurst() {
+        Logger hot = context.getLogger("com.example.hot.Service");
+        Logger other = context.getLogger("com.example.cold.Service");
+        for (int i = 0; i < 50; i++) {
+            hot.info("hot {}", i);
+            other.info("cold {}", i);
+        }
+
+        assertThat(appender.list).filteredOn(event -> event.getLoggerName().equals(hot.getName())).hasSize(3);
+        assertThat(appender.list).filteredOn(event -> event.getLoggerName().equals(other.getName())).hasSize(50);
+        assertThat(filter.getSuppressed()).isEqualTo(47);
+    }
+
+    @Test
+    void warningsAndEnabledChecksAreNeverLimited() {
+        Logger hot = context.getLogger("com.example.Dashboard");
+        for (int i = 0; i < 10; i++) {
+            assertThat(hot.isInfoEnabled()).isTrue();
+        }
+        for (int i = 0; i < 10; i++) {
+            hot.warn("warn {}", i);
+            hot.info("info {}", i);
+        }
+
+        assertThat(appender.list).filteredOn(event -> event.getLevel().toString().equals("WARN")).hasSize(10);
+        assertThat(appender.list).filteredOn(event -> event.getLevel().toString().equals("INFO")).hasSize(3);
+    }
+
+    @Test
+    void budgetRefillsOverTime() throws InterruptedException {
+        Logger hot = context.getLogger("com.example.hot.Service");
+        for (int i = 0; i < 10; i++) {
+            hot.info("first {}", i);
+        }
+        Thread.sleep(400);
+        hot.info("after a pause");
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).contains("after a pause");
+    }
+}
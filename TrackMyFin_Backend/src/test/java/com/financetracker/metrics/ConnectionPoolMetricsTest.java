@@ -0,0 +1,51 @@
+package com.financetracker.metrics;
+
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:pool-metrics;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@DirtiesContext
+class ConnectionPoolMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void connectionTimingsAreTaggedWithTheEndpoint() throws Exception {
+        User user = userRepository.findByEmail("pool-metrics@example.com")
+                .orElseGet(() -> newUser(userRepository, "pool-metrics@example.com"));
+
+        mockMvc.perform(get("/api/budgets").with(user(user))).andExpect(status().isOk());
+
+        Timer usage = meterRegistry.find("db.connection.usage")
+                .tag("endpoint", "BudgetController.getUserBudgets")
+                .timer();
+        assertThat(usage).isNotNull();
+        assertThat(usage.count()).isPositive();
+        assertThat(meterRegistry.find("db.connection.acquire").tag("endpoint", "BudgetController.getUserBudgets")
+                .timer()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.active").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+    }
+}
@@ -0,0 +1,110 @@
+package com.financetracker.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Observability is switched off in tests by default; it is on here so the Prometheus registry exists
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:performance-metrics;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DirtiesContext
+class PerformanceMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByEmail("performance-metrics@example.com")
+                .orElseGet(() -> newUser(userRepository, "performance-metrics@example.com"));
+    }
+
+    @Test
+    void prometheusScrapeCoversEndpointsRepositoriesJwtAndCaches() throws Exception {
+        mockMvc.perform(get("/api/transactions").header("Authorization", "Bearer " + jwtUtil.generateToken(user)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/categories")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus").with(user(user)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape).containsPattern(
+                "http_server_requests_seconds_bucket\\{[^}]*endpoint=\"TransactionController.getUserTransactions\"");
+        assertThat(scrape).containsPattern("spring_data_repository_invocations_seconds_count\\{[^}]*"
+                + "method=\"findByUserOrderByTransactionDateDesc\"[^}]*repository=\"TransactionRepository\"");
+        assertThat(scrape).containsPattern("security_jwt_filter_seconds_count\\{[^}]*outcome=\"authenticated\"");
+        assertThat(scrape).containsPattern("cache_gets_total\\{[^}]*cache=\"categories\"[^}]*result=\"hit\"");
+        assertThat(scrape).contains("cache=\"category-rules\"");
+    }
+
+    @Test
+    void performanceSummaryListsSlowestFirstWithPercentiles() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/budgets").with(user(user))).andExpect(status().isOk());
+        }
+
+        String body = mockMvc.perform(get("/actuator/performance").with(user(user)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode summary = objectMapper.readTree(body);
+
+        JsonNode budgets = find(summary.get("endpoints"), "BudgetController.getUserBudgets");
+        assertThat(budgets).isNotNull();
+        assertThat(budgets.get("count").asLong()).isGreaterThanOrEqualTo(3);
+        assertThat(budgets.get("p99Ms").isNumber()).isTrue();
+        assertThat(budgets.get("p50Ms").asDouble()).isLessThanOrEqualTo(budgets.get("p99Ms").asDouble());
+        assertThat(find(summary.get("repositories"), "BudgetRepository.findByUserOrderByStartDateDesc")).isNotNull();
+        assertThat(find(summary.get("connections"), "BudgetController.getUserBudgets")).isNotNull();
+        assertThat(summary.get("caches").isArray()).isTrue();
+
+        double previous = Double.MAX_VALUE;
+        for (JsonNode endpoint : summary.get("endpoints")) {
+            assertThat(endpoint.get("totalMs").asDouble()).isLessThanOrEqualTo(previous);
+            previous = endpoint.get("totalMs").asDouble();
+        }
+    }
+
+    @Test
+    void scrapeAndSummaryNeedALoginOnTheApplicationPort() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/performance")).andExpect(status().isForbidden());
+    }
+
+    private static JsonNode find(JsonNode entries, String name) {
+        for (JsonNode entry : entries) {
+            if (name.equals(entry.get("name").asText())) {
+                return entry;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,147 @@
+package com.financetracker.profiling;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.security.JwtUtil;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:flight-recorder;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@DirtiesContext
+class FlightRecorderEventsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    private Path tempDir;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = save("flight-recorder@example.com", User.Role.USER);
+    }
+
+    @Test
+    void requestsRepositoryCallsDashboardPhasesAndHashingAreRecorded() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(RequestEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(AuthenticationEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(RepositoryCallEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(DashboardPhaseEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(PasswordHashEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            mockMvc.perform(get("/api/dashboard/stats")
+                            .header("Authorization", "Bearer " + jwtUtil.generateToken(user)))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/dashboard/expenses-chart").param("range", "6m").with(user(user)))
+                    .andExpect(status().isOk());
+            passwordEncoder.matches("secret", passwordEncoder.encode("secret"));
+
+            recording.stop();
+            Path file = tempDir.resolve("events.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("com.financetracker.Request");
+            assertThat(event.getString("endpoint")).isEqualTo("DashboardController.getDashboardStats");
+            assertThat(event.getLong("userId")).isEqualTo(user.getId());
+            assertThat(event.getInt("status")).isEqualTo(200);
+        });
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("com.financetracker.Authentication");
+            assertThat(event.getString("outcome")).isEqualTo("authenticated");
+        });
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("com.financetracker.RepositoryCall");
+            assertThat(event.getString("repository")).isEqualTo("UserRepository");
+            assertThat(event.getString("method")).isEqualTo("findByEmailAndEnabledTrue");
+            assertThat(event.getLong("rows")).isEqualTo(1);
+        });
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("com.financetracker.DashboardPhase"))
+                .extracting(event -> event.getString("phase"))
+                .contains("totals", "month", "load", "monthly-buckets", "category-buckets");
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("com.financetracker.PasswordHash"))
+                .extracting(event -> event.getString("operation"))
+                .contains("encode", "matches");
+    }
+
+    @Test
+    void adminsCanStartAndDownloadAnOnDemandRecording() throws Exception {
+        User admin = save("flight-recorder-admin@example.com", User.Role.ADMIN);
+
+        mockMvc.perform(get("/actuator/jfr").with(user(user))).andExpect(status().isForbidden());
+
+        String started = mockMvc.perform(post("/actuator/jfr").with(user(admin))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"duration\":\"PT30S\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode recording = objectMapper.readTree(started);
+        assertThat(recording.get("state").asText()).isEqualTo("RUNNING");
+
+        mockMvc.perform(get("/api/budgets").with(user(user))).andExpect(status().isOk());
+
+        byte[] file = mockMvc.perform(get("/actuator/jfr/" + recording.get("id").asLong()).with(user(admin)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        // Every JFR file starts with the magic bytes "FLR\0"
+        assertThat(new String(file, 0, 3)).isEqualTo("FLR");
+        // The running recording was dumped for the download; the dump is gone once it has been sent
+        Path directory = Path.of(recording.get("destination").asText()).getParent();
+        String dumpPrefix = recording.get("name").asText() + "-" + recording.get("id").asLong() + "-dump-";
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString())).noneMatch(name -> name.startsWith(dumpPrefix));
+        }
+
+        mockMvc.perform(get("/actuator/jfr/999999").with(user(admin))).andExpect(status().isNotFound());
+    }
+
+    private User save(String email, User.Role role) {
+        return userRepository.findByEmail(email).orElseGet(() -> newUser(userRepository, email, role));
+    }
+}
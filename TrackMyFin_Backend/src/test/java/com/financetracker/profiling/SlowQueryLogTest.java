@@ -0,0 +1,111 @@
+package com.financetracker.profiling;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A zero threshold captures every statement, so the test does not depend on anything actually being slow
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:slow-query-log;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.slow-query.threshold=PT0S",
+        "app.slow-query.capacity=20"})
+@AutoConfigureMockMvc
+@DirtiesContext
+class SlowQueryLogTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User user;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        user = save("slow-query@example.com", User.Role.USER);
+        admin = save("slow-query-admin@example.com", User.Role.ADMIN);
+    }
+
+    @Test
+    void capturesStatementsWithRedactedParametersAndExplainsThem() throws Exception {
+        mockMvc.perform(delete("/actuator/slowqueries").with(user(admin))).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/transactions").header("Authorization", "Bearer " + jwtUtil.generateToken(user)))
+                .andExpect(status().isOk());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            JsonNode lookup = find(slowQueries().get("queries"), "email");
+            assertThat(lookup).isNotNull();
+            assertThat(lookup.get("plan").isArray()).isTrue();
+        });
+
+        String body = mockMvc.perform(get("/actuator/slowqueries").with(user(admin)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body).doesNotContain("slow-query@example.com");
+
+        JsonNode summary = objectMapper.readTree(body);
+        JsonNode lookup = find(summary.get("queries"), "email");
+        assertThat(lookup.get("parameters").toString()).contains("?String");
+        assertThat(lookup.get("endpoint").asText()).isEqualTo("none");
+        JsonNode listing = find(summary.get("queries"), "transaction_date");
+        assertThat(listing.get("endpoint").asText()).isEqualTo("TransactionController.getUserTransactions");
+        assertThat(listing.get("parameters").get(0).asText()).isEqualTo(String.valueOf(user.getId()));
+        assertThat(summary.get("statements").isArray()).isTrue();
+        assertThat(summary.get("queries").size()).isLessThanOrEqualTo(20);
+        assertThat(summary.get("captured").asLong()).isGreaterThanOrEqualTo(summary.get("queries").size());
+    }
+
+    @Test
+    void onlyAdminsCanReadTheLog() throws Exception {
+        mockMvc.perform(get("/actuator/slowqueries").with(user(user))).andExpect(status().isForbidden());
+    }
+
+    private JsonNode slowQueries() throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/actuator/slowqueries").with(user(admin)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    // Newest statement selecting from users or transactions whose SQL mentions the column
+    private static JsonNode find(JsonNode queries, String column) {
+        for (JsonNode query : queries) {
+            String sql = query.get("sql").asText().toLowerCase();
+            if (sql.startsWith("select") && sql.contains(column)
+                    && sql.contains(column.equals("email") ? "from users" : "from transactions")) {
+                return query;
+            }
+        }
+        return null;
+    }
+
+    private User save(String email, User.Role role) {
+        return userRepository.findByEmail(email).orElseGet(() -> newUser(userRepository, email, role));
+    }
+}
@@ -0,0 +1,46 @@
+package com.financetracker.projection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldProjectionTest {
+
+    @Test
+    void selectsOnlyRequestedFieldsInDeclarationOrder() {
+        List<FieldProjection.Field> selected = ListProjections.TRANSACTIONS.select("type, amount,id");
+
+        assertThat(selected).extracting(FieldProjection.Field::name).containsExactly("id", "amount", "type");
+        assertThat(ListProjections.TRANSACTIONS.jpql(selected, "WHERE t.user = :user"))
+                .isEqualTo("SELECT t.id, t.amount, t.type FROM Transaction t WHERE t.user = :user");
+    }
+
+    @Test
+    void joinsTheCategoryOnlyForItsName() {
+        FieldProjection projection = ListProjections.TRANSACTIONS;
+
+        assertThat(projection.jpql(projection.select("id,categoryId"), "")).doesNotContain("JOIN");
+        assertThat(projection.jpql(projection.select("id,categoryName"), ""))
+                .contains("SELECT t.id, c.name FROM Transaction t LEFT JOIN t.category c");
+    }
+
+    @Test
+    void rejectsUnknownAndEmptyFieldLists() {
+        assertThatThrownBy(() -> ListProjections.SALARIES.select("id,password"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown field 'password'");
+        assertThatThrownBy(() -> ListProjections.BUDGETS.select(" , "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void convertsNonNullValuesOnly() {
+        FieldProjection.Field id = ListProjections.SALARIES.select("id").get(0);
+
+        assertThat(id.convert(42L)).isEqualTo("42");
+        assertThat(id.convert(null)).isNull();
+    }
+}
@@ -0,0 +1,179 @@
+package com.financetracker.projection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.entity.Budget;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Salary;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.BudgetRepository;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.SalaryRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.support.QueryCountingConfig;
+import com.financetracker.support.SqlCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sparse-fields;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@Import(QueryCountingConfig.class)
+@DirtiesContext
+class SparseFieldsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SalaryRepository salaryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByEmail("sparse-fields@example.com").orElseGet(() -> {
+            User saved = newUser(userRepository, "sparse-fields@example.com");
+            Category food = new Category();
+            food.setName("Sparse food");
+            food.setColor("#000000");
+            food.setIcon("x");
+            food.setType(Category.CategoryType.EXPENSE);
+            categoryRepository.save(food);
+            transactionRepository.saveAll(List.of(
+                    transaction(saved, "12.50", "Lunch", food, LocalDateTime.of(2024, 5, 2, 12, 0)),
+                    transaction(saved, "80.00", "Shoes", null, LocalDateTime.of(2024, 5, 1, 9, 0))));
+            Salary salary = new Salary();
+            salary.setUser(saved);
+            salary.setAmount(new BigDecimal("3000.00"));
+            salary.setDescription("May salary");
+            salary.setSalaryDate(LocalDateTime.of(2024, 5, 31, 0, 0));
+            salaryRepository.save(salary);
+            Budget budget = new Budget();
+            budget.setUser(saved);
+            budget.setName("Food");
+            budget.setAmount(new BigDecimal("400.00"));
+            budget.setSpentAmount(new BigDecimal("150.00"));
+            budget.setCategory(food);
+            budget.setPeriod(Budget.BudgetPeriod.MONTHLY);
+            budget.setStartDate(LocalDate.of(2024, 5, 1));
+            budget.setEndDate(LocalDate.of(2024, 5, 31));
+            budgetRepository.save(budget);
+            return saved;
+        });
+    }
+
+    @Test
+    void transactionFieldsMatchTheFullListAndSkipUnrequestedColumns() throws Exception {
+        JsonNode full = read(get("/api/transactions"));
+        sqlCapture.reset();
+        JsonNode sparse = read(get("/api/transactions").param("fields", "id,transactionDate,amount,type,categoryName"));
+
+        assertThat(sparse).hasSize(2);
+        for (int i = 0; i < full.size(); i++) {
+            assertThat(fieldNames(sparse.get(i)))
+                    .containsExactly("id", "amount", "transactionDate", "type", "categoryName");
+            for (String field : List.of("id", "amount", "transactionDate", "type", "categoryName")) {
+                assertThat(sparse.get(i).get(field)).as(field).isEqualTo(full.get(i).get(field));
+            }
+        }
+        assertThat(sqlCapture.count()).as(sqlCapture.report()).isEqualTo(1);
+        String sql = sqlCapture.statements().get(0).toLowerCase();
+        assertThat(sql).doesNotContain("notes").doesNotContain("description").doesNotContain("created_at");
+    }
+
+    @Test
+    void categoryIdAloneNeedsNoJoin() throws Exception {
+        sqlCapture.reset();
+        JsonNode sparse = read(get("/api/transactions").param("fields", "id,categoryId"));
+
+        assertThat(sparse.get(1).get("categoryId").isNull()).isTrue();
+        assertThat(sqlCapture.statements().get(0).toLowerCase()).doesNotContain("join");
+    }
+
+    @Test
+    void salaryAndBudgetListsAreShapedToo() throws Exception {
+        JsonNode salaries = read(get("/api/salaries").param("fields", "id,amount"));
+        assertThat(fieldNames(salaries.get(0))).containsExactly("id", "amount");
+        assertThat(salaries.get(0).get("id").isTextual()).isTrue();
+
+        JsonNode budgets = read(get("/api/budgets").param("fields", "name,remainingAmount,categoryName,active"));
+        assertThat(fieldNames(budgets.get(0))).containsExactly("name", "remainingAmount", "categoryName", "active");
+        assertThat(budgets.get(0).get("remainingAmount").decimalValue()).isEqualByComparingTo("250.00");
+        assertThat(budgets.get(0).get("categoryName").asText()).isEqualTo("Sparse food");
+        assertThat(budgets.get(0).get("active").asBoolean()).isTrue();
+    }
+
+    @Test
+    void unknownFieldsAreRejected() throws Exception {
+        String body = mockMvc.perform(get("/api/transactions").param("fields", "id,user.password").with(user(user)))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(objectMapper.readTree(body).get("error").asText()).contains("Unknown field 'user.password'");
+    }
+
+    private JsonNode read(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request.with(user(user)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private static Transaction transaction(User user, String amount, String description, Category category,
+                                           LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription(description);
+        transaction.setNotes("Some notes");
+        transaction.setType(Transaction.TransactionType.EXPENSE);
+        transaction.setCategory(category);
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
@@ -0,0 +1,127 @@
+package com.financetracker.service;
+
+import com.financetracker.entity.Budget;
+import com.financetracker.entity.User;
+import com.financetracker.repository.BudgetRepository;
+import com.financetracker.repository.SchedulerLockRepository;
+import com.financetracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class BudgetRolloverServiceTest {
+
+    @Autowired
+    private BudgetRolloverService budgetRolloverService;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void expiredBudgetsRollIntoTheCurrentPeriodOnce() {
+        User user = newUser(userRepository, "rollover@example.com");
+        LocalDate today = LocalDate.of(2024, 5, 15);
+        Budget monthly = newBudget(user, Budget.BudgetPeriod.MONTHLY,
+                LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30));
+        Budget weekly = newBudget(user, Budget.BudgetPeriod.WEEKLY,
+                LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 7));
+        Budget current = newBudget(user, Budget.BudgetPeriod.YEARLY,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        entityManager.flush();
+
+        assertThat(budgetRolloverService.rollOverExpiredBudgets(today)).isEqualTo(2);
+        assertThat(budgetRolloverService.rollOverExpiredBudgets(today)).isZero();
+        entityManager.clear();
+
+        List<Budget> active = budgetRepository.findByUserAndIsActiveTrueOrderByStartDateDesc(user);
+        assertThat(active).hasSize(3);
+        assertThat(active).extracting(Budget::getId).contains(current.getId())
+                .doesNotContain(monthly.getId(), weekly.getId());
+        assertThat(active).anySatisfy(budget -> {
+            assertThat(budget.getPeriod()).isEqualTo(Budget.BudgetPeriod.MONTHLY);
+            assertThat(budget.getStartDate()).isEqualTo(LocalDate.of(2024, 5, 1));
+            assertThat(budget.getEndDate()).isEqualTo(LocalDate.of(2024, 5, 31));
+        });
+        assertThat(active).anySatisfy(budget -> {
+            assertThat(budget.getPeriod()).isEqualTo(Budget.BudgetPeriod.WEEKLY);
+            assertThat(budget.getStartDate()).isEqualTo(LocalDate.of(2024, 5, 13));
+            assertThat(budget.getEndDate()).isEqualTo(LocalDate.of(2024, 5, 19));
+        });
+    }
+
+    @Test
+    void existingSuccessorIsNotDuplicated() {
+        User user = newUser(userRepository, "rollover-existing@example.com");
+        LocalDate today = LocalDate.of(2024, 5, 15);
+        newBudget(user, Budget.BudgetPeriod.MONTHLY, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30));
+        newBudget(user, Budget.BudgetPeriod.MONTHLY, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31));
+        entityManager.flush();
+
+        budgetRolloverService.rollOverExpiredBudgets(today);
+        entityManager.clear();
+
+        assertThat(budgetRepository.findByUserOrderByStartDateDesc(user)).hasSize(2);
+        assertThat(budgetRepository.findByUserAndIsActiveTrueOrderByStartDateDesc(user)).hasSize(1);
+    }
+
+    @Test
+    void lockIsExclusiveUntilReleased() {
+        String lockName = "rollover-test-lock";
+        SchedulerLockService otherNode = new SchedulerLockService(schedulerLockRepository, transactionManager, jdbcTemplate);
+        ReflectionTestUtils.setField(otherNode, "nodeId", "other-node");
+        otherNode.init();
+
+        assertThat(schedulerLockService.tryLock(lockName, Duration.ofMinutes(5))).isTrue();
+        assertThat(otherNode.tryLock(lockName, Duration.ofMinutes(5))).isFalse();
+
+        schedulerLockService.unlock(lockName);
+        assertThat(otherNode.tryLock(lockName, Duration.ofMinutes(5))).isTrue();
+        assertThat(schedulerLockService.tryLock(lockName, Duration.ofMinutes(5))).isFalse();
+        otherNode.unlock(lockName);
+    }
+
+
+    private Budget newBudget(User user, Budget.BudgetPeriod period, LocalDate startDate, LocalDate endDate) {
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setName(period.name() + " budget");
+        budget.setAmount(new BigDecimal("100.00"));
+        budget.setPeriod(period);
+        budget.setStartDate(startDate);
+        budget.setEndDate(endDate);
+        return budgetRepository.save(budget);
+    }
+}
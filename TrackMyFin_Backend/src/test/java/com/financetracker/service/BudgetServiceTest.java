@@ -0,0 +1,145 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.BudgetStatusResponse;
+import com.financetracker.entity.Budget;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.BudgetRepository;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.support.QueryCountingConfig;
+import com.financetracker.support.SqlCapture;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(QueryCountingConfig.class)
+@Transactional
+class BudgetServiceTest {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Test
+    void currentBudgetStatusesAreComputedInOneStatement() {
+        User user = newUser(userRepository, "budget-status@example.com");
+        User otherUser = newUser(userRepository, "budget-status-other@example.com");
+        Category food = categoryRepository.findByTypeOrderByName(Category.CategoryType.EXPENSE).stream()
+                .filter(category -> category.getName().equals("Food"))
+                .findFirst()
+                .orElseThrow();
+        Category bills = categoryRepository.findByTypeOrderByName(Category.CategoryType.EXPENSE).stream()
+                .filter(category -> category.getName().equals("Bills"))
+                .findFirst()
+                .orElseThrow();
+
+        LocalDate today = LocalDate.now();
+        Budget foodBudget = newBudget(user, food, "Food", "200.00", today.minusDays(5), today.plusDays(5));
+        Budget overall = newBudget(user, null, "Everything", "1000.00", today.minusDays(5), today.plusDays(5));
+        newBudget(user, bills, "Old bills", "50.00", today.minusMonths(2), today.minusMonths(1));
+
+        newTransaction(user, food, Transaction.TransactionType.EXPENSE, "40.00", today.atTime(9, 0));
+        newTransaction(user, food, Transaction.TransactionType.EXPENSE, "10.00", today.plusDays(5).atTime(23, 30));
+        newTransaction(user, bills, Transaction.TransactionType.EXPENSE, "25.00", today.minusDays(1).atStartOfDay());
+        newTransaction(user, food, Transaction.TransactionType.EXPENSE, "99.00", today.minusDays(6).atTime(12, 0));
+        newTransaction(user, null, Transaction.TransactionType.INCOME, "500.00", today.atTime(8, 0));
+        newTransaction(otherUser, food, Transaction.TransactionType.EXPENSE, "70.00", today.atTime(10, 0));
+
+        entityManager.flush();
+        entityManager.clear();
+        sqlCapture.reset();
+
+        List<BudgetStatusResponse> statuses = budgetService.getCurrentBudgetStatuses(user);
+
+        assertThat(sqlCapture.count()).as("statements: %s", sqlCapture.statements()).isEqualTo(1);
+        Map<Long, BudgetStatusResponse> byId = statuses.stream()
+                .collect(Collectors.toMap(BudgetStatusResponse::getId, status -> status));
+        assertThat(byId).containsOnlyKeys(foodBudget.getId(), overall.getId());
+
+        BudgetStatusResponse foodStatus = byId.get(foodBudget.getId());
+        assertThat(foodStatus.getCategoryName()).isEqualTo("Food");
+        assertThat(foodStatus.getSpentAmount()).isEqualByComparingTo("50.00");
+        assertThat(foodStatus.getRemainingAmount()).isEqualByComparingTo("150.00");
+        assertThat(foodStatus.getSpentPercentage()).isEqualTo(25.0);
+
+        BudgetStatusResponse overallStatus = byId.get(overall.getId());
+        assertThat(overallStatus.getCategoryId()).isNull();
+        assertThat(overallStatus.getSpentAmount()).isEqualByComparingTo("75.00");
+    }
+
+    @Test
+    void budgetWithoutSpendReportsZero() {
+        User user = newUser(userRepository, "budget-status-empty@example.com");
+        LocalDate today = LocalDate.now();
+        newBudget(user, null, "Quiet month", "300.00", today.minusDays(1), today.plusDays(1));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BudgetStatusResponse> statuses = budgetService.getCurrentBudgetStatuses(user);
+
+        assertThat(statuses).hasSize(1);
+        assertThat(statuses.get(0).getSpentAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(statuses.get(0).getSpentPercentage()).isZero();
+    }
+
+
+    private Budget newBudget(User user, Category category, String name, String amount,
+                             LocalDate startDate, LocalDate endDate) {
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setCategory(category);
+        budget.setName(name);
+        budget.setAmount(new BigDecimal(amount));
+        budget.setPeriod(Budget.BudgetPeriod.MONTHLY);
+        budget.setStartDate(startDate);
+        budget.setEndDate(endDate);
+        return budgetRepository.save(budget);
+    }
+
+    private void newTransaction(User user, Category category, Transaction.TransactionType type,
+                                String amount, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setCategory(category);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription("test");
+        transaction.setTransactionDate(date);
+        transactionRepository.save(transaction);
+    }
+}
@@ -0,0 +1,231 @@
+package com.financetracker.service;
+
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.categorization.AutoCategorizationService;
+import com.financetracker.dto.CategoryMergeResponse;
+import com.financetracker.entity.Budget;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.RecurringSchedule;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.BudgetRepository;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.RecurringScheduleRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the merge commits each chunk in its own transaction, and rows written while it runs have to
+// come from other transactions
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:category-merge;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class CategoryServiceTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private AutoCategorizationService autoCategorizationService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @SpyBean
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private RecurringScheduleRepository recurringScheduleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void restoreChunkSize() {
+        ReflectionTestUtils.setField(categoryService, "mergeChunkSize", 1000);
+    }
+
+    @Test
+    void mergeMovesTransactionsBudgetsAndRulesInChunks() {
+        ReflectionTestUtils.setField(categoryService, "mergeChunkSize", CHUNK_SIZE);
+        User user = newUser(userRepository, "merge@example.com");
+        Category source = newCategory("Dining out");
+        Category target = categoryCache.findByNameAndType("Food", Category.CategoryType.EXPENSE).orElseThrow();
+        for (int i = 0; i < 5; i++) {
+            newTransaction(user, source);
+        }
+        Budget budget = newBudget(user, source);
+        autoCategorizationService.createRule(user, "bistro", source.getId(), 0);
+
+        CategoryMergeResponse response = categoryService.mergeCategory(source.getId(), target.getId());
+
+        assertThat(response.getTransactionsMoved()).isEqualTo(5);
+        assertThat(response.getBudgetsMoved()).isEqualTo(1);
+        assertThat(response.getRulesMoved()).isEqualTo(1);
+        assertThat(categoryRepository.findById(source.getId())).isEmpty();
+        assertThat(categoryCache.findById(source.getId())).isEmpty();
+        List<Transaction> transactions = transactionRepository.findByUserOrderByTransactionDateDesc(user);
+        assertThat(transactions).hasSize(5)
+                .allSatisfy(transaction -> assertThat(transaction.getCategory().getId()).isEqualTo(target.getId()));
+        assertThat(budgetRepository.findById(budget.getId()).orElseThrow().getCategory().getId())
+                .isEqualTo(target.getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mergeSweepsEveryRowWrittenWhileTheChunksRan() {
+        ReflectionTestUtils.setField(categoryService, "mergeChunkSize", CHUNK_SIZE);
+        User user = newUser(userRepository, "merge-late@example.com");
+        Category source = newCategory("Coffee shops");
+        Category target = categoryCache.findByNameAndType("Food", Category.CategoryType.EXPENSE).orElseThrow();
+        for (int i = 0; i < 3; i++) {
+            newTransaction(user, source);
+        }
+        // Once the chunks have drained the category, more than a chunk of rows commits before the final sweep
+        AtomicBoolean written = new AtomicBoolean();
+        // Spring Data repositories are interface proxies, so the spy delegates instead of calling a real method
+        Answer<?> delegate = mockingDetails(transactionRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            List<Long> ids = (List<Long>) delegate.answer(invocation);
+            if (ids.isEmpty() && written.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 2 * CHUNK_SIZE + 1; i++) {
+                        newTransaction(user, source);
+                    }
+                }).join();
+            }
+            return ids;
+        }).when(transactionRepository).findIdsByCategoryId(eq(source.getId()), any());
+
+        CategoryMergeResponse response = categoryService.mergeCategory(source.getId(), target.getId());
+
+        assertThat(written).isTrue();
+        assertThat(response.getTransactionsMoved()).isEqualTo(3 + 2 * CHUNK_SIZE + 1);
+        assertThat(categoryRepository.findById(source.getId())).isEmpty();
+        assertThat(transactionRepository.findByUserOrderByTransactionDateDesc(user)).hasSize(3 + 2 * CHUNK_SIZE + 1)
+                .allSatisfy(transaction -> assertThat(transaction.getCategory().getId()).isEqualTo(target.getId()));
+    }
+
+    @Test
+    void mergeMovesRecurringSchedules() {
+        User user = newUser(userRepository, "merge-schedule@example.com");
+        Category source = newCategory("Subscriptions");
+        Category target = categoryCache.findByNameAndType("Entertainment", Category.CategoryType.EXPENSE).orElseThrow();
+        newTransaction(user, source);
+        RecurringSchedule schedule = newSchedule(user, source);
+
+        CategoryMergeResponse response = categoryService.mergeCategory(source.getId(), target.getId());
+
+        assertThat(response.getTransactionsMoved()).isEqualTo(1);
+        assertThat(response.getSchedulesMoved()).isEqualTo(1);
+        assertThat(categoryRepository.findById(source.getId())).isEmpty();
+        assertThat(recurringScheduleRepository.findById(schedule.getId()).orElseThrow().getCategory().getId())
+                .isEqualTo(target.getId());
+    }
+
+    @Test
+    void mergeEndpointIsRestrictedToAdmins() throws Exception {
+        User user = newUser(userRepository, "merge-forbidden@example.com");
+        Category source = newCategory("Vending machines");
+        Category target = categoryCache.findByNameAndType("Food", Category.CategoryType.EXPENSE).orElseThrow();
+        String path = "/api/categories/" + source.getId() + "/merge";
+
+        mockMvc.perform(post(path).param("targetId", target.getId().toString()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post(path).param("targetId", target.getId().toString()).with(user(user)))
+                .andExpect(status().isForbidden());
+        assertThat(categoryRepository.findById(source.getId())).isPresent();
+    }
+
+    @Test
+    void mergeRejectsCategoriesOfDifferentTypes() {
+        Category expense = newCategory("Gadgets");
+        Category income = categoryCache.findByNameAndType("Salary", Category.CategoryType.INCOME).orElseThrow();
+
+        assertThatThrownBy(() -> categoryService.mergeCategory(expense.getId(), income.getId()))
+                .hasMessageContaining("same type");
+        assertThat(categoryRepository.findById(expense.getId())).isPresent();
+    }
+
+    private Category newCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setColor("#000000");
+        category.setIcon("x");
+        category.setType(Category.CategoryType.EXPENSE);
+        return categoryService.createCategory(category);
+    }
+
+    private void newTransaction(User user, Category category) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setCategory(category);
+        transaction.setType(Transaction.TransactionType.EXPENSE);
+        transaction.setAmount(new BigDecimal("15.00"));
+        transaction.setDescription("Dinner");
+        transaction.setTransactionDate(LocalDateTime.now());
+        transactionRepository.save(transaction);
+    }
+
+    private Budget newBudget(User user, Category category) {
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setCategory(category);
+        budget.setName("Dining");
+        budget.setAmount(new BigDecimal("100.00"));
+        budget.setPeriod(Budget.BudgetPeriod.MONTHLY);
+        budget.setStartDate(LocalDate.now().withDayOfMonth(1));
+        budget.setEndDate(LocalDate.now().withDayOfMonth(1).plusMonths(1).minusDays(1));
+        return budgetRepository.save(budget);
+    }
+
+    private RecurringSchedule newSchedule(User user, Category category) {
+        RecurringSchedule schedule = new RecurringSchedule();
+        schedule.setUser(user);
+        schedule.setCategory(category);
+        schedule.setKind(RecurringSchedule.ScheduleKind.TRANSACTION);
+        schedule.setType(Transaction.TransactionType.EXPENSE);
+        schedule.setAmount(new BigDecimal("9.99"));
+        schedule.setDescription("Streaming");
+        schedule.setFrequency(RecurringSchedule.Frequency.MONTHLY);
+        schedule.setStartDate(LocalDate.now().plusDays(1));
+        schedule.setNextOccurrence(schedule.firstOccurrence());
+        return recurringScheduleRepository.save(schedule);
+    }
+}
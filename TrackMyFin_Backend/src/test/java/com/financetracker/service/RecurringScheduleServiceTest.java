@@ -0,0 +1,144 @@
+package com.financetracker.service;
+
+import com.financetracker.entity.RecurringSchedule;
+import com.financetracker.entity.Salary;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.RecurringScheduleRepository;
+import com.financetracker.repository.SalaryRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class RecurringScheduleServiceTest {
+
+    @Autowired
+    private RecurringScheduleService recurringScheduleService;
+
+    @Autowired
+    private RecurringScheduleRepository recurringScheduleRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SalaryRepository salaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void dueOccurrencesAreMaterializedOnceAcrossUsers() {
+        User first = newUser(userRepository, "recurring-1@example.com");
+        User second = newUser(userRepository, "recurring-2@example.com");
+        RecurringSchedule salary = newSchedule(first, RecurringSchedule.ScheduleKind.SALARY,
+                RecurringSchedule.Frequency.MONTHLY, null, LocalDate.of(2024, 1, 31));
+        RecurringSchedule rent = newSchedule(second, RecurringSchedule.ScheduleKind.TRANSACTION,
+                RecurringSchedule.Frequency.DAY_OF_MONTH, 15, LocalDate.of(2024, 1, 20));
+        entityManager.flush();
+
+        LocalDate today = LocalDate.of(2024, 4, 20);
+        assertThat(recurringScheduleService.materializeDueSchedules(today)).isEqualTo(6);
+        assertThat(recurringScheduleService.materializeDueSchedules(today)).isZero();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(salaryRepository.findByUserOrderBySalaryDateDesc(first))
+                .extracting(s -> s.getSalaryDate().toLocalDate())
+                .containsExactly(LocalDate.of(2024, 3, 31), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 1, 31));
+        assertThat(transactionRepository.findByUserOrderByTransactionDateDesc(second))
+                .extracting(t -> t.getTransactionDate().toLocalDate())
+                .containsExactly(LocalDate.of(2024, 4, 15), LocalDate.of(2024, 3, 15), LocalDate.of(2024, 2, 15));
+        assertThat(recurringScheduleRepository.findById(salary.getId()).orElseThrow().getNextOccurrence())
+                .isEqualTo(LocalDate.of(2024, 4, 30));
+        assertThat(recurringScheduleRepository.findById(rent.getId()).orElseThrow().getNextOccurrence())
+                .isEqualTo(LocalDate.of(2024, 5, 15));
+    }
+
+    @Test
+    void replayingAnOccurrenceDoesNotDuplicateIt() {
+        User user = newUser(userRepository, "recurring-replay@example.com");
+        RecurringSchedule weekly = newSchedule(user, RecurringSchedule.ScheduleKind.TRANSACTION,
+                RecurringSchedule.Frequency.WEEKLY, null, LocalDate.of(2024, 4, 1));
+        entityManager.flush();
+        recurringScheduleService.materializeDueSchedules(LocalDate.of(2024, 4, 10));
+
+        // Rewind the schedule as if a crashed run had not recorded its progress
+        entityManager.clear();
+        RecurringSchedule rewound = recurringScheduleRepository.findById(weekly.getId()).orElseThrow();
+        rewound.setNextOccurrence(LocalDate.of(2024, 4, 1));
+        entityManager.flush();
+
+        assertThat(recurringScheduleService.materializeDueSchedules(LocalDate.of(2024, 4, 10))).isZero();
+        assertThat(transactionRepository.findByUserOrderByTransactionDateDesc(user)).hasSize(2);
+    }
+
+    @Test
+    void scheduleEndsAfterItsEndDate() {
+        User user = newUser(userRepository, "recurring-end@example.com");
+        RecurringSchedule daily = newSchedule(user, RecurringSchedule.ScheduleKind.TRANSACTION,
+                RecurringSchedule.Frequency.DAILY, null, LocalDate.of(2024, 4, 1));
+        daily.setEndDate(LocalDate.of(2024, 4, 3));
+        entityManager.flush();
+
+        assertThat(recurringScheduleService.materializeDueSchedules(LocalDate.of(2024, 4, 10))).isEqualTo(3);
+        entityManager.clear();
+
+        RecurringSchedule finished = recurringScheduleRepository.findById(daily.getId()).orElseThrow();
+        assertThat(finished.isActive()).isFalse();
+        assertThat(finished.getNextOccurrence()).isNull();
+    }
+
+    @Test
+    void creatingAScheduleMaterializesTodaysOccurrence() {
+        User user = newUser(userRepository, "recurring-create@example.com");
+        RecurringSchedule schedule = new RecurringSchedule();
+        schedule.setUser(user);
+        schedule.setKind(RecurringSchedule.ScheduleKind.SALARY);
+        schedule.setAmount(new BigDecimal("5000.00"));
+        schedule.setDescription("Salary");
+        schedule.setFrequency(RecurringSchedule.Frequency.MONTHLY);
+
+        RecurringSchedule saved = recurringScheduleService.createSchedule(schedule);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Salary> salaries = salaryRepository.findByUserOrderBySalaryDateDesc(user);
+        assertThat(salaries).hasSize(1);
+        assertThat(salaries.get(0).getOccurrenceKey()).isEqualTo(saved.occurrenceKey(LocalDate.now()));
+        assertThat(recurringScheduleRepository.findById(saved.getId()).orElseThrow().getNextOccurrence())
+                .isEqualTo(LocalDate.now().plusMonths(1));
+    }
+
+    private RecurringSchedule newSchedule(User user, RecurringSchedule.ScheduleKind kind,
+                                          RecurringSchedule.Frequency frequency, Integer dayOfMonth,
+                                          LocalDate startDate) {
+        RecurringSchedule schedule = new RecurringSchedule();
+        schedule.setUser(user);
+        schedule.setKind(kind);
+        schedule.setAmount(new BigDecimal("250.00"));
+        schedule.setDescription(kind == RecurringSchedule.ScheduleKind.SALARY ? "Salary" : "Rent");
+        schedule.setType(kind == RecurringSchedule.ScheduleKind.SALARY ? null : Transaction.TransactionType.EXPENSE);
+        schedule.setFrequency(frequency);
+        schedule.setDayOfMonth(dayOfMonth);
+        schedule.setStartDate(startDate);
+        schedule.setNextOccurrence(schedule.firstOccurrence());
+        return recurringScheduleRepository.save(schedule);
+    }
+}
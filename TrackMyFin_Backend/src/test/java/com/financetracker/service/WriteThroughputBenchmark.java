@@ -0,0 +1,173 @@
+package com.financetracker.service;
+
+import com.financetracker.entity.Budget;
+import com.financetracker.entity.RecurringSchedule;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.BudgetRepository;
+import com.financetracker.repository.RecurringScheduleRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.support.QueryCountingConfig;
+import com.financetracker.support.SqlCapture;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Run with: mvn test -Pbenchmark -Dtest=WriteThroughputBenchmark
+@Tag("benchmark")
+@SpringBootTest
+@Import(QueryCountingConfig.class)
+@DirtiesContext
+class WriteThroughputBenchmark {
+
+    private static final int USERS = 200;
+    private static final int BUDGETS_PER_USER = 25;
+    private static final int IMPORT_ROWS = 20_000;
+    private static final int SCHEDULES = 500;
+    private static final int SCHEDULE_DAYS = 30;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RecurringScheduleService recurringScheduleService;
+
+    @Autowired
+    private RecurringScheduleRepository recurringScheduleRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Test
+    void createHeavyWorkloads() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<User> users = transactionTemplate.execute(status -> {
+            List<User> created = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                created.add(newUser("bench-" + i + "@example.com"));
+            }
+            return userRepository.saveAll(created);
+        });
+
+        // Warm up Hibernate and the JIT on a small import before measuring
+        transactionTemplate.executeWithoutResult(status ->
+                transactionService.createTransactions(newTransactions(users, 2_000)));
+
+        for (Integer batchSize : new Integer[]{1, null}) {
+            String label = batchSize == null ? "batched" : "unbatched";
+            measure("seeding budgets, " + label, USERS * BUDGETS_PER_USER, () ->
+                    transactionTemplate.executeWithoutResult(status -> {
+                        session().setJdbcBatchSize(batchSize);
+                        budgetRepository.saveAll(newBudgets(users));
+                    }));
+            measure("importing transactions, " + label, IMPORT_ROWS, () ->
+                    transactionTemplate.executeWithoutResult(status -> {
+                        session().setJdbcBatchSize(batchSize);
+                        transactionService.createTransactions(newTransactions(users, IMPORT_ROWS));
+                    }));
+        }
+
+        LocalDate start = LocalDate.now().minusDays(SCHEDULE_DAYS - 1);
+        transactionTemplate.executeWithoutResult(status -> recurringScheduleRepository.saveAll(newSchedules(users, start)));
+        measure("recurring generation, batched", SCHEDULES * SCHEDULE_DAYS, () ->
+                recurringScheduleService.materializeDueSchedules(LocalDate.now()));
+    }
+
+    private void measure(String label, int rows, Runnable workload) {
+        sqlCapture.reset();
+        long started = System.nanoTime();
+        workload.run();
+        long nanos = System.nanoTime() - started;
+        long inserts = sqlCapture.executions("insert").size();
+        System.out.printf("%-36s %6d rows in %7.1f ms  %9.0f rows/s  %6d insert executions%n",
+                label, rows, nanos / 1e6, rows / (nanos / 1e9), inserts);
+    }
+
+    private Session session() {
+        return entityManager.unwrap(Session.class);
+    }
+
+    private List<Budget> newBudgets(List<User> users) {
+        List<Budget> budgets = new ArrayList<>(users.size() * BUDGETS_PER_USER);
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        for (User user : users) {
+            for (int i = 0; i < BUDGETS_PER_USER; i++) {
+                Budget budget = new Budget();
+                budget.setUser(user);
+                budget.setName("Budget " + i);
+                budget.setAmount(new BigDecimal("500.00"));
+                budget.setPeriod(Budget.BudgetPeriod.MONTHLY);
+                budget.setStartDate(monthStart);
+                budget.setEndDate(monthStart.plusMonths(1).minusDays(1));
+                budgets.add(budget);
+            }
+        }
+        return budgets;
+    }
+
+    private List<Transaction> newTransactions(List<User> users, int rows) {
+        List<Transaction> transactions = new ArrayList<>(rows);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(users.get(i % users.size()));
+            transaction.setType(Transaction.TransactionType.EXPENSE);
+            transaction.setAmount(new BigDecimal("12.50"));
+            transaction.setDescription(i % 3 == 0 ? "Grocery store " + i : "Card payment " + i);
+            transaction.setTransactionDate(now.minusMinutes(i));
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    private List<RecurringSchedule> newSchedules(List<User> users, LocalDate start) {
+        List<RecurringSchedule> schedules = new ArrayList<>(SCHEDULES);
+        for (int i = 0; i < SCHEDULES; i++) {
+            RecurringSchedule schedule = new RecurringSchedule();
+            schedule.setUser(users.get(i % users.size()));
+            schedule.setKind(RecurringSchedule.ScheduleKind.TRANSACTION);
+            schedule.setType(Transaction.TransactionType.EXPENSE);
+            schedule.setAmount(new BigDecimal("3.00"));
+            schedule.setDescription("Daily coffee " + i);
+            schedule.setFrequency(RecurringSchedule.Frequency.DAILY);
+            schedule.setStartDate(start);
+            schedule.setNextOccurrence(start);
+            schedules.add(schedule);
+        }
+        return schedules;
+    }
+
+    private User newUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setFirstName("Bench");
+        user.setLastName("User");
+        return user;
+    }
+}
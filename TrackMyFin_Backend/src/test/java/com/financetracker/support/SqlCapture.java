@@ -0,0 +1,63 @@
+package com.financetracker.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class SqlCapture implements QueryExecutionListener {
+
+    private final List<Execution> executions = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            int rows = execInfo.isBatch() ? queryInfo.getParametersList().size() : 1;
+            executions.add(new Execution(queryInfo.getQuery(), execInfo.isBatch(), rows));
+        }
+    }
+
+    public void reset() {
+        executions.clear();
+    }
+
+    public int count() {
+        return executions.size();
+    }
+
+    public List<String> statements() {
+        return executions.stream().map(Execution::query).toList();
+    }
+
+    // Numbered statements, for assertion messages
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        for (int i = 0; i < executions.size(); i++) {
+            Execution execution = executions.get(i);
+            report.append(String.format("%3d. %s%s%n", i + 1, execution.query(),
+                    execution.batch() ? " [batch of " + execution.rows() + "]" : ""));
+        }
+        return report.toString();
+    }
+
+    // Executions whose SQL starts with the given prefix, ignoring case
+    public List<Execution> executions(String prefix) {
+        List<Execution> matching = new ArrayList<>();
+        for (Execution execution : executions) {
+            if (execution.query().regionMatches(true, 0, prefix, 0, prefix.length())) {
+                matching.add(execution);
+            }
+        }
+        return matching;
+    }
+
+    public record Execution(String query, boolean batch, int rows) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.financetracker.support;
+
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static User newUser(UserRepository userRepository, String email) {
+        return newUser(userRepository, email, User.Role.USER);
+    }
+
+    public static User newUser(UserRepository userRepository, String email, User.Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
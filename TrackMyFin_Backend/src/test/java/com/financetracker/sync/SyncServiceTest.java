@@ -0,0 +1,246 @@
+package com.financetracker.sync;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.cache.CategoryCache;
+import com.financetracker.entity.Budget;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Salary;
+import com.financetracker.entity.Transaction;
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.BudgetService;
+import com.financetracker.service.CategoryService;
+import com.financetracker.service.SalaryService;
+import com.financetracker.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.financetracker.support.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:delta-sync;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@DirtiesContext
+class SyncServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SalaryService salaryService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void firstSyncIsFullAndLaterOnesCarryOnlyTheChanges() throws Exception {
+        User user = newUser(userRepository, "sync-delta@example.com");
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            transactions.add(newTransaction(user, null, "Groceries " + i));
+        }
+        newSalary(user);
+        newBudget(user, null);
+
+        JsonNode first = sync(user, 0);
+        assertThat(first.get("full").asBoolean()).isTrue();
+        assertThat(first.get("transactions")).hasSize(3);
+        assertThat(first.get("salaries")).hasSize(1);
+        assertThat(first.get("budgets")).hasSize(1);
+        long since = first.get("sequence").asLong();
+        assertThat(since).isPositive();
+
+        Transaction edited = transactions.get(1);
+        edited.setDescription("Groceries (edited)");
+        transactionService.updateTransaction(edited);
+        Transaction added = newTransaction(user, null, "Coffee");
+
+        JsonNode delta = sync(user, since);
+        assertThat(delta.get("full").asBoolean()).isFalse();
+        assertThat(ids(delta.get("transactions"))).containsExactlyInAnyOrder(edited.getId(), added.getId());
+        assertThat(delta.get("salaries")).isEmpty();
+        assertThat(delta.get("budgets")).isEmpty();
+        assertThat(delta.get("sequence").asLong()).isGreaterThan(since);
+
+        JsonNode unchanged = sync(user, delta.get("sequence").asLong());
+        assertThat(unchanged.get("full").asBoolean()).isFalse();
+        assertThat(unchanged.get("transactions")).isEmpty();
+        assertThat(unchanged.get("sequence").asLong()).isEqualTo(delta.get("sequence").asLong());
+    }
+
+    @Test
+    void deletesComeBackAsTombstones() throws Exception {
+        User user = newUser(userRepository, "sync-deletes@example.com");
+        Transaction transaction = newTransaction(user, null, "Taxi");
+        Salary salary = newSalary(user);
+        Budget budget = newBudget(user, null);
+        long since = sync(user, 0).get("sequence").asLong();
+
+        transactionService.deleteTransaction(transaction.getId());
+        salaryService.deleteSalary(salary.getId());
+        budgetService.deleteBudget(budget.getId());
+
+        JsonNode delta = sync(user, since);
+        assertThat(delta.get("full").asBoolean()).isFalse();
+        assertThat(delta.get("transactions")).isEmpty();
+        assertThat(ids(delta.get("deleted").get("transactions"))).containsExactly(transaction.getId());
+        assertThat(delta.get("deleted").get("salaries").get(0).asText()).isEqualTo(salary.getId().toString());
+        assertThat(ids(delta.get("deleted").get("budgets"))).containsExactly(budget.getId());
+    }
+
+    @Test
+    void clientsOlderThanCompactedTombstonesGetAFullResync() throws Exception {
+        User user = newUser(userRepository, "sync-compaction@example.com");
+        Transaction transaction = newTransaction(user, null, "Cinema");
+        newTransaction(user, null, "Lunch");
+        long since = sync(user, 0).get("sequence").asLong();
+        transactionService.deleteTransaction(transaction.getId());
+        long current = sync(user, since).get("sequence").asLong();
+
+        assertThat(syncService.compactTombstones(LocalDateTime.now().plusMinutes(1))).isGreaterThanOrEqualTo(1);
+
+        JsonNode stale = sync(user, since);
+        assertThat(stale.get("full").asBoolean()).isTrue();
+        assertThat(stale.get("transactions")).hasSize(1);
+        assertThat(stale.get("deleted").get("transactions")).isEmpty();
+        assertThat(sync(user, current).get("full").asBoolean()).isFalse();
+    }
+
+    @Test
+    void categoryMergeStampsTheRowsItMoves() throws Exception {
+        User user = newUser(userRepository, "sync-merge@example.com");
+        Category source = newCategory("Takeaway");
+        Category target = categoryCache.findByNameAndType("Food", Category.CategoryType.EXPENSE).orElseThrow();
+        Transaction moved = newTransaction(user, source, "Pizza");
+        newTransaction(user, null, "Bus");
+        Budget budget = newBudget(user, source);
+        long since = sync(user, 0).get("sequence").asLong();
+
+        categoryService.mergeCategory(source.getId(), target.getId());
+
+        JsonNode delta = sync(user, since);
+        assertThat(delta.get("full").asBoolean()).isFalse();
+        assertThat(ids(delta.get("transactions"))).containsExactly(moved.getId());
+        assertThat(delta.get("transactions").get(0).get("categoryId").asLong()).isEqualTo(target.getId());
+        assertThat(ids(delta.get("budgets"))).containsExactly(budget.getId());
+    }
+
+    @Test
+    void deltaIsAFractionOfTheFullPayload() throws Exception {
+        User user = newUser(userRepository, "sync-bandwidth@example.com");
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setType(Transaction.TransactionType.EXPENSE);
+            transaction.setAmount(new BigDecimal("12.50"));
+            transaction.setDescription("Purchase " + i);
+            transaction.setTransactionDate(LocalDateTime.now().minusHours(i));
+            transactions.add(transaction);
+        }
+        transactionService.createTransactions(transactions);
+        String full = syncBody(user, 0);
+        long since = objectMapper.readTree(full).get("sequence").asLong();
+
+        Transaction edited = transactions.get(42);
+        edited.setNotes("split with a friend");
+        transactionService.updateTransaction(edited);
+        String delta = syncBody(user, since);
+
+        assertThat(objectMapper.readTree(full).get("transactions")).hasSize(500);
+        assertThat(objectMapper.readTree(delta).get("transactions")).hasSize(1);
+        assertThat(delta.length() * 100).isLessThan(full.length());
+    }
+
+    private JsonNode sync(User user, long since) throws Exception {
+        return objectMapper.readTree(syncBody(user, since));
+    }
+
+    private String syncBody(User user, long since) throws Exception {
+        return mockMvc.perform(get("/api/sync").param("since", Long.toString(since)).with(user(user)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private static List<Long> ids(JsonNode nodes) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode node : nodes) {
+            ids.add(node.isObject() ? node.get("id").asLong() : node.asLong());
+        }
+        return ids;
+    }
+
+
+    private Category newCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setColor("#000000");
+        category.setIcon("x");
+        category.setType(Category.CategoryType.EXPENSE);
+        return categoryService.createCategory(category);
+    }
+
+    private Transaction newTransaction(User user, Category category, String description) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setCategory(category);
+        transaction.setType(Transaction.TransactionType.EXPENSE);
+        transaction.setAmount(new BigDecimal("15.00"));
+        transaction.setDescription(description);
+        transaction.setTransactionDate(LocalDateTime.now());
+        return transactionService.createTransaction(transaction);
+    }
+
+    private Salary newSalary(User user) {
+        Salary salary = new Salary();
+        salary.setUser(user);
+        salary.setAmount(new BigDecimal("2500.00"));
+        salary.setDescription("Salary");
+        salary.setSalaryDate(LocalDateTime.now());
+        return salaryService.createSalary(salary);
+    }
+
+    private Budget newBudget(User user, Category category) {
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setCategory(category);
+        budget.setName("Monthly");
+        budget.setAmount(new BigDecimal("300.00"));
+        budget.setPeriod(Budget.BudgetPeriod.MONTHLY);
+        budget.setStartDate(LocalDate.now().withDayOfMonth(1));
+        budget.setEndDate(LocalDate.now().withDayOfMonth(1).plusMonths(1).minusDays(1));
+        return budgetService.createBudget(budget);
+    }
+}